@@ -0,0 +1,100 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.benchmark.noise;
+
+import com.azortis.orbis.generator.noise.FastNoise;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the batch domain warp of {@link FastNoise} for every warp type, without fractal and with both domain
+ * warp fractal types. Scores are in warped positions per microsecond.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DomainWarpBenchmark {
+
+    private static final int SIZE = 16;
+
+    @Param({"OpenSimplex2", "OpenSimplex2Reduced", "BasicGrid"})
+    public FastNoise.DomainWarpType warpType;
+
+    @Param({"None", "DomainWarpProgressive", "DomainWarpIndependent"})
+    public FastNoise.FractalType fractalType;
+
+    private FastNoise warp;
+    private double[] gridX;
+    private double[] gridY;
+    private double[] gridZ;
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+
+    @Setup
+    public void setup() {
+        warp = new FastNoise(1337);
+        warp.setDomainWarpType(warpType);
+        warp.setFractalType(fractalType);
+        warp.setDomainWarpAmp(30);
+        warp.setFrequency(0.005);
+
+        final int size = SIZE * SIZE * SIZE;
+        gridX = new double[size];
+        gridY = new double[size];
+        gridZ = new double[size];
+        for (int y = 0, i = 0; y < SIZE; y++) {
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++, i++) {
+                    gridX[i] = 1024 + x;
+                    gridY[i] = -64 + y;
+                    gridZ[i] = -2048 + z;
+                }
+            }
+        }
+        xs = new double[size];
+        ys = new double[size];
+        zs = new double[size];
+    }
+
+    // The warp is in place, so the grid is copied first. Copying is cheap compared to the warp itself.
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public double[] warp2D() {
+        System.arraycopy(gridX, 0, xs, 0, SIZE * SIZE);
+        System.arraycopy(gridZ, 0, zs, 0, SIZE * SIZE);
+        warp.domainWarp(xs, zs, SIZE * SIZE);
+        return xs;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public double[] warp3D() {
+        System.arraycopy(gridX, 0, xs, 0, xs.length);
+        System.arraycopy(gridY, 0, ys, 0, ys.length);
+        System.arraycopy(gridZ, 0, zs, 0, zs.length);
+        warp.domainWarp(xs, ys, zs, xs.length);
+        return xs;
+    }
+
+}
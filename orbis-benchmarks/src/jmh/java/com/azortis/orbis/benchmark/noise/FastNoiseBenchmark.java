@@ -0,0 +1,105 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.benchmark.noise;
+
+import com.azortis.orbis.generator.noise.FastNoise;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every {@link FastNoise.NoiseType} with every fractal type that shapes the noise, sampling a chunk sized
+ * area point by point versus filling it as a grid. The domain warp fractal types are covered by
+ * {@link DomainWarpBenchmark}. Scores are in sampled points per microsecond.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FastNoiseBenchmark {
+
+    private static final int SIZE = 16;
+
+    @Param({"OpenSimplex2", "OpenSimplex2S", "Cellular", "Perlin", "ValueCubic", "Value"})
+    public FastNoise.NoiseType noiseType;
+
+    @Param({"None", "FBm", "Ridged", "PingPong"})
+    public FastNoise.FractalType fractalType;
+
+    private FastNoise noise;
+    private double originX;
+    private double originY;
+    private double originZ;
+    private double[] out2D;
+    private double[] out3D;
+
+    @Setup
+    public void setup() {
+        noise = new FastNoise(1337);
+        noise.setNoiseType(noiseType);
+        noise.setFractalType(fractalType);
+        noise.setFrequency(0.01);
+        originX = 1024;
+        originY = -64;
+        originZ = -2048;
+        out2D = new double[SIZE * SIZE];
+        out3D = new double[SIZE * SIZE * SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public double[] single2D() {
+        for (int z = 0, i = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++, i++) {
+                out2D[i] = noise.getNoise(originX + x, originZ + z);
+            }
+        }
+        return out2D;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public double[] grid2D() {
+        noise.fillGrid2D(originX, originZ, SIZE, SIZE, 1, out2D);
+        return out2D;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public double[] single3D() {
+        for (int y = 0, i = 0; y < SIZE; y++) {
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++, i++) {
+                    out3D[i] = noise.getNoise(originX + x, originY + y, originZ + z);
+                }
+            }
+        }
+        return out3D;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public double[] grid3D() {
+        noise.fillGrid3D(originX, originY, originZ, SIZE, SIZE, SIZE, 1, out3D);
+        return out3D;
+    }
+
+}
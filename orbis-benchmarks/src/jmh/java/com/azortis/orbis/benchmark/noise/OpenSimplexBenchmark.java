@@ -0,0 +1,149 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.benchmark.noise;
+
+import com.azortis.orbis.generator.noise.FastNoise;
+import com.azortis.orbis.generator.noise.FloatFastNoise;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares OpenSimplex2 with OpenSimplex2S, the two noise types packs use, across the implementations of
+ * {@link FastNoise}: scalar double, the SIMD kernels (only when {@code jdk.incubator.vector} is available, otherwise
+ * this is the same as scalar) and {@link FloatFastNoise}. Scores are in sampled points per microsecond.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpenSimplexBenchmark {
+
+    private static final int SIZE = 16;
+
+    @Param({"OpenSimplex2", "OpenSimplex2S"})
+    public FastNoise.NoiseType noiseType;
+
+    @Param({"SCALAR", "VECTOR", "FLOAT"})
+    public Implementation implementation;
+
+    private FastNoise noise;
+    private FloatFastNoise floatNoise;
+    private double originX;
+    private double originY;
+    private double originZ;
+    private double[] out2D;
+    private double[] out3D;
+    private float[] floatOut2D;
+    private float[] floatOut3D;
+
+    @Setup
+    public void setup() {
+        if (implementation == Implementation.FLOAT) {
+            floatNoise = new FloatFastNoise(1337);
+            floatNoise.setNoiseType(noiseType);
+            floatNoise.setFrequency(0.01);
+        } else {
+            noise = new FastNoise(1337);
+            noise.setNoiseType(noiseType);
+            noise.setFrequency(0.01);
+            noise.setVectorized(implementation == Implementation.VECTOR);
+        }
+        originX = 1024;
+        originY = -64;
+        originZ = -2048;
+        out2D = new double[SIZE * SIZE];
+        out3D = new double[SIZE * SIZE * SIZE];
+        floatOut2D = new float[SIZE * SIZE];
+        floatOut3D = new float[SIZE * SIZE * SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public Object single2D() {
+        if (floatNoise != null) {
+            for (int z = 0, i = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++, i++) {
+                    floatOut2D[i] = floatNoise.getNoise(originX + x, originZ + z);
+                }
+            }
+            return floatOut2D;
+        }
+        for (int z = 0, i = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++, i++) {
+                out2D[i] = noise.getNoise(originX + x, originZ + z);
+            }
+        }
+        return out2D;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public Object grid2D() {
+        if (floatNoise != null) {
+            floatNoise.fillGrid2D(originX, originZ, SIZE, SIZE, 1, floatOut2D);
+            return floatOut2D;
+        }
+        noise.fillGrid2D(originX, originZ, SIZE, SIZE, 1, out2D);
+        return out2D;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public Object single3D() {
+        if (floatNoise != null) {
+            for (int y = 0, i = 0; y < SIZE; y++) {
+                for (int z = 0; z < SIZE; z++) {
+                    for (int x = 0; x < SIZE; x++, i++) {
+                        floatOut3D[i] = floatNoise.getNoise(originX + x, originY + y, originZ + z);
+                    }
+                }
+            }
+            return floatOut3D;
+        }
+        for (int y = 0, i = 0; y < SIZE; y++) {
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++, i++) {
+                    out3D[i] = noise.getNoise(originX + x, originY + y, originZ + z);
+                }
+            }
+        }
+        return out3D;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public Object grid3D() {
+        if (floatNoise != null) {
+            floatNoise.fillGrid3D(originX, originY, originZ, SIZE, SIZE, SIZE, 1, floatOut3D);
+            return floatOut3D;
+        }
+        noise.fillGrid3D(originX, originY, originZ, SIZE, SIZE, SIZE, 1, out3D);
+        return out3D;
+    }
+
+    public enum Implementation {
+        SCALAR,
+        VECTOR,
+        FLOAT
+    }
+
+}
@@ -29,6 +29,12 @@ sourceSets.main {
     java.setSrcDirs(listOf("src/main/java", "src/generated/java"))
 }
 
+// SIMD noise kernels, compiled against the incubating Vector API and only loaded when it's present at runtime.
+val vector: SourceSet by sourceSets.creating {
+    java.setSrcDirs(listOf("src/vector/java"))
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
 repositories {
     mavenLocal()
     mavenCentral()
@@ -110,10 +116,20 @@ tasks {
         options.encoding = Charsets.UTF_8.name()
         options.release.set(17)
     }
+    named<JavaCompile>(vector.compileJavaTaskName) {
+        options.encoding = Charsets.UTF_8.name()
+        options.release.set(17)
+        options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+    }
+    jar {
+        from(vector.output)
+    }
     javadoc {
         options.encoding = Charsets.UTF_8.name()
     }
     test {
         useJUnitPlatform()
+        classpath += vector.output
+        jvmArgs("--add-modules", "jdk.incubator.vector")
     }
 }
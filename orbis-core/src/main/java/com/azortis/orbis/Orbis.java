@@ -27,6 +27,7 @@ import com.azortis.orbis.generator.biome.Distributor;
 import com.azortis.orbis.generator.framework.ChunkStage;
 import com.azortis.orbis.generator.framework.WorldStage;
 import com.azortis.orbis.generator.noise.Noise;
+import com.azortis.orbis.generator.noise.expression.Expression;
 import com.azortis.orbis.generator.surface.Surface;
 import com.azortis.orbis.pack.PackManager;
 import com.azortis.orbis.pack.adapter.BlockAdapter;
@@ -38,6 +39,7 @@ import com.azortis.orbis.pack.data.DataAccess;
 import com.azortis.orbis.pack.studio.ProjectManager;
 import com.azortis.orbis.util.Location;
 import com.azortis.orbis.util.maven.Dependency;
+import com.azortis.orbis.world.World;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializer;
@@ -126,6 +128,7 @@ public final class Orbis {
                     .registerTypeAdapter(ChunkStage.class, new TypeAdapter<>(ChunkStage.class))
                     .registerTypeAdapter(WorldStage.class, new TypeAdapter<>(WorldStage.class))
                     .registerTypeAdapter(Noise.class, new TypeAdapter<>(Noise.class))
+                    .registerTypeAdapter(Expression.class, new TypeAdapter<>(Expression.class))
                     .registerTypeAdapter(Distributor.class, new TypeAdapter<>(Distributor.class))
                     .registerTypeAdapter(Surface.class, new TypeAdapter<>(Surface.class));
 
@@ -164,6 +167,7 @@ public final class Orbis {
     public static void shutdown() {
         if (initialized) {
             projectManager.closeProject();
+            platform.worlds().forEach(World::close);
         }
     }
 
@@ -20,15 +20,32 @@ package com.azortis.orbis;
 
 import com.azortis.orbis.generator.biome.Distributor;
 import com.azortis.orbis.generator.biome.SingleDistributor;
+import com.azortis.orbis.generator.biome.cellular.CellularDistributor;
+import com.azortis.orbis.generator.biome.climate.ClimateDistributor;
 import com.azortis.orbis.generator.biome.complex.ComplexDistributor;
 import com.azortis.orbis.generator.framework.ChunkStage;
 import com.azortis.orbis.generator.framework.WorldStage;
+import com.azortis.orbis.generator.framework.biome.BiomeSurfaceStage;
+import com.azortis.orbis.generator.noise.CellularNoise;
+import com.azortis.orbis.generator.noise.ExpressionNoise;
 import com.azortis.orbis.generator.noise.Noise;
 import com.azortis.orbis.generator.noise.OpenSimplex2;
 import com.azortis.orbis.generator.noise.OpenSimplex2S;
+import com.azortis.orbis.generator.noise.WarpedNoise;
+import com.azortis.orbis.generator.noise.expression.AbsExpression;
+import com.azortis.orbis.generator.noise.expression.AddExpression;
+import com.azortis.orbis.generator.noise.expression.ClampExpression;
+import com.azortis.orbis.generator.noise.expression.ConstantExpression;
+import com.azortis.orbis.generator.noise.expression.Expression;
+import com.azortis.orbis.generator.noise.expression.MulExpression;
+import com.azortis.orbis.generator.noise.expression.NoiseExpression;
+import com.azortis.orbis.generator.noise.expression.ScaleExpression;
+import com.azortis.orbis.generator.noise.expression.SplineExpression;
+import com.azortis.orbis.generator.noise.expression.WarpExpression;
 import com.azortis.orbis.generator.surface.Surface;
 import com.azortis.orbis.generator.surface.defaults.ConfigSurface;
 import com.azortis.orbis.generator.surface.defaults.PlainsSurface;
+import com.azortis.orbis.generator.terrain.DensityStage;
 import com.azortis.orbis.pack.data.DataAccess;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
@@ -42,15 +59,29 @@ import java.util.Set;
 
 public final class Registry<T> {
 
-    public static final Registry<ChunkStage> CHUNK_STAGE = new Registry<>(ChunkStage.class, Map.of());
+    public static final Registry<ChunkStage> CHUNK_STAGE = new Registry<>(ChunkStage.class, Map.of(
+            Key.key("orbis:density"), DensityStage.class, Key.key("orbis:biome_surface"), BiomeSurfaceStage.class
+    ));
     public static final Registry<WorldStage> WORLD_STAGE = new Registry<>(WorldStage.class, Map.of());
     public static final Registry<Noise> NOISE = new Registry<>(Noise.class, Map.of(
             Key.key("fastnoise:opensimplex2"), OpenSimplex2.class,
-            Key.key("fastnoise:opensimplex2s"), OpenSimplex2S.class
+            Key.key("fastnoise:opensimplex2s"), OpenSimplex2S.class,
+            Key.key("fastnoise:cellular"), CellularNoise.class,
+            Key.key("orbis:expression"), ExpressionNoise.class,
+            Key.key("orbis:warped"), WarpedNoise.class
+    ));
+    public static final Registry<Expression> EXPRESSION = new Registry<>(Expression.class, Map.of(
+            ConstantExpression.TYPE, ConstantExpression.class, NoiseExpression.TYPE, NoiseExpression.class,
+            AddExpression.TYPE, AddExpression.class, MulExpression.TYPE, MulExpression.class,
+            ScaleExpression.TYPE, ScaleExpression.class, ClampExpression.TYPE, ClampExpression.class,
+            AbsExpression.TYPE, AbsExpression.class, WarpExpression.TYPE, WarpExpression.class,
+            SplineExpression.TYPE, SplineExpression.class
     ));
     public static final Registry<Distributor> DISTRIBUTOR = new Registry<>(Distributor.class, Map.of(
             Key.key("orbis:single"), SingleDistributor.class,
-            Key.key("orbis:complex"), ComplexDistributor.class
+            Key.key("orbis:complex"), ComplexDistributor.class,
+            Key.key("orbis:climate"), ClimateDistributor.class,
+            Key.key("orbis:cellular"), CellularDistributor.class
     ));
     public static final Registry<Surface> SURFACE = new Registry<>(Surface.class, Map.of(
             Key.key("orbis:config"), ConfigSurface.class, Key.key("orbis:plains"), PlainsSurface.class
@@ -61,6 +92,7 @@ public final class Registry<T> {
         addRegistry(ChunkStage.class, CHUNK_STAGE);
         addRegistry(WorldStage.class, WORLD_STAGE);
         addRegistry(Noise.class, NOISE);
+        addRegistry(Expression.class, EXPRESSION);
         addRegistry(Distributor.class, DISTRIBUTOR);
         addRegistry(Surface.class, SURFACE);
     }
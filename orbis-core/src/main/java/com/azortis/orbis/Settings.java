@@ -36,6 +36,7 @@ import java.lang.ref.WeakReference;
 public class Settings {
 
     private final Studio studio;
+    private final BiomeCache biomeCache;
 
     /**
      * Used for Platform implementations of default settings
@@ -44,20 +45,31 @@ public class Settings {
      */
     public Settings(@NotNull Settings settings) {
         this.studio = settings.studio;
+        this.biomeCache = settings.biomeCache;
     }
 
     public Settings(@NotNull Studio studio) {
+        this(studio, BiomeCache.defaultBiomeCacheSettings());
+    }
+
+    public Settings(@NotNull Studio studio, @NotNull BiomeCache biomeCache) {
         this.studio = studio;
+        this.biomeCache = biomeCache;
     }
 
     public static Settings defaultSettings() {
-        return new Settings(Studio.defaultStudioSettings());
+        return new Settings(Studio.defaultStudioSettings(), BiomeCache.defaultBiomeCacheSettings());
     }
 
     public Studio studio() {
         return studio;
     }
 
+    public BiomeCache biomeCache() {
+        // Settings files from before the biome cache settings existed won't have it.
+        return biomeCache != null ? biomeCache : BiomeCache.defaultBiomeCacheSettings();
+    }
+
     public static class Studio {
         private final boolean openVSCode;
         private final Location fallBackLocation;
@@ -86,4 +98,81 @@ public class Settings {
         }
     }
 
+    /**
+     * Settings for the biome caches of each {@link com.azortis.orbis.generator.biome.Distributor}.
+     * In adaptive mode the fixed sizes are only used as initial size, after which the caches are sized from the
+     * amount of online players, their view distance and the observed hit rate, but never above the memory cap.
+     */
+    public static class BiomeCache {
+        private final boolean adaptive;
+        private final boolean persistent;
+        private final long expireAfterAccess;
+        private final long mapCacheSize;
+        private final long columnCacheSize;
+        private final long memoryCap;
+        private final double targetHitRate;
+        private final long adaptInterval;
+
+        public BiomeCache(boolean adaptive, boolean persistent, long expireAfterAccess, long mapCacheSize, long columnCacheSize,
+                          long memoryCap, double targetHitRate, long adaptInterval) {
+            this.adaptive = adaptive;
+            this.persistent = persistent;
+            this.expireAfterAccess = expireAfterAccess;
+            this.mapCacheSize = mapCacheSize;
+            this.columnCacheSize = columnCacheSize;
+            this.memoryCap = memoryCap;
+            this.targetHitRate = targetHitRate;
+            this.adaptInterval = adaptInterval;
+        }
+
+        public static BiomeCache defaultBiomeCacheSettings() {
+            return new BiomeCache(true, true, 5L, 1600L, 1600L, 256L, 0.95, 30L);
+        }
+
+        public boolean adaptive() {
+            return adaptive;
+        }
+
+        /**
+         * @return If computed biomes should be persisted in the world directory, see
+         * {@link com.azortis.orbis.generator.biome.BiomeTileCache}.
+         */
+        public boolean persistent() {
+            return persistent;
+        }
+
+        /**
+         * @return The time in seconds after which an entry that hasn't been accessed is evicted.
+         */
+        public long expireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public long mapCacheSize() {
+            return mapCacheSize;
+        }
+
+        public long columnCacheSize() {
+            return columnCacheSize;
+        }
+
+        /**
+         * @return The estimated amount of memory in megabytes all caches of a distributor may use in adaptive mode.
+         */
+        public long memoryCap() {
+            return memoryCap;
+        }
+
+        public double targetHitRate() {
+            return targetHitRate;
+        }
+
+        /**
+         * @return The minimum time in seconds between two adaptive resizes.
+         */
+        public long adaptInterval() {
+            return adaptInterval;
+        }
+    }
+
 }
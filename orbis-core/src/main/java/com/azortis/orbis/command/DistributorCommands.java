@@ -0,0 +1,156 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.command;
+
+import cloud.commandframework.annotations.Argument;
+import cloud.commandframework.annotations.CommandDescription;
+import cloud.commandframework.annotations.CommandMethod;
+import cloud.commandframework.annotations.CommandPermission;
+import cloud.commandframework.annotations.processing.CommandContainer;
+import cloud.commandframework.annotations.suggestions.Suggestions;
+import cloud.commandframework.context.CommandContext;
+import com.azortis.orbis.Orbis;
+import com.azortis.orbis.generator.biome.Biome;
+import com.azortis.orbis.generator.biome.Distributor;
+import com.azortis.orbis.generator.biome.DistributorCache;
+import com.azortis.orbis.pack.studio.Project;
+import com.azortis.orbis.util.math.Point2i;
+import com.azortis.orbis.world.World;
+import com.google.common.cache.CacheStats;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@CommandContainer
+@CommandPermission("orbis.admin")
+@CommandMethod(value = "orbis|o distributor", requiredSender = CommandSender.class)
+public final class DistributorCommands {
+
+    private final MiniMessage miniMessage = Orbis.getMiniMessage();
+
+    @CommandDescription("Shows the cache statistics of the distributor of specified world.")
+    @CommandMethod("cache <world>")
+    public void cacheStats(final @NotNull CommandSender sender,
+                           final @NotNull @Argument(value = "world", suggestions = "worlds",
+                                   description = "The name of the world") String worldName) {
+        final World world = getWorld(worldName);
+        if (world == null || !world.isLoaded()) {
+            sender.sendMessage(miniMessage.deserialize("<prefix> <red>There is no loaded Orbis world by name <dark_red>"
+                    + worldName + "<red>!"));
+            return;
+        }
+        final Distributor distributor = world.getDimension().distributor();
+        final TextComponent.Builder builder = Component.text().append(miniMessage.deserialize("<prefix> <grey>Caches of " +
+                "distributor <green>" + distributor.name() + " <grey>in world <green>" + world.name() + "<grey>:"));
+        for (DistributorCache<?, ?> cache : distributor.caches()) {
+            final CacheStats stats = cache.stats();
+            builder.append(miniMessage.deserialize("<newline><dark_grey>* <green>" + cache.name() + "<grey>: size <green>"
+                    + cache.size() + "<grey>/<green>" + cache.maximumSize() + "<grey>, hit rate <green>"
+                    + String.format(Locale.ROOT, "%.2f%%", stats.hitRate() * 100) + "<grey>, hits <green>"
+                    + stats.hitCount() + "<grey>, misses <green>" + stats.missCount() + "<grey>, evictions <green>"
+                    + stats.evictionCount() + "<grey>, avg load <green>"
+                    + String.format(Locale.ROOT, "%.3fms", stats.averageLoadPenalty() / 1e6)));
+        }
+        sender.sendMessage(builder.build());
+    }
+
+    @CommandDescription("Locates the nearest biome from given coordinates without generating any chunks.")
+    @CommandMethod("locate <world> <biome> <x> <z> [radius]")
+    public void locate(final @NotNull CommandSender sender,
+                       final @NotNull @Argument(value = "world", suggestions = "worlds",
+                               description = "The name of the world") String worldName,
+                       final @NotNull @Argument(value = "biome", suggestions = "biomes",
+                               description = "The name of the biome") String biomeName,
+                       final @Argument(value = "x", description = "The x-coordinate to search from") int x,
+                       final @Argument(value = "z", description = "The z-coordinate to search from") int z,
+                       final @Argument(value = "radius", defaultValue = "5000",
+                               description = "The maximum search radius in blocks") int radius) {
+        final World world = getWorld(worldName);
+        if (world == null || !world.isLoaded()) {
+            sender.sendMessage(miniMessage.deserialize("<prefix> <red>There is no loaded Orbis world by name <dark_red>"
+                    + worldName + "<red>!"));
+            return;
+        }
+        final Distributor distributor = world.getDimension().distributor();
+        final Biome biome;
+        try {
+            biome = distributor.getBiome(biomeName);
+        } catch (IllegalArgumentException ex) {
+            sender.sendMessage(miniMessage.deserialize("<prefix> <red>Distributor <dark_red>" + distributor.name() +
+                    " <red>has no biome by name <dark_red>" + biomeName + "<red>!"));
+            return;
+        }
+        if (!distributor.layout().hasBiomeMap()) {
+            sender.sendMessage(miniMessage.deserialize("<prefix> <red>Distributor <dark_red>" + distributor.name() +
+                    " <red>doesn't have a 2d biome map!"));
+            return;
+        }
+        sender.sendMessage(miniMessage.deserialize("<prefix> <grey>Locating biome <green>" + biome.name() +
+                "<grey>..."));
+        Orbis.getPlatform().scheduler().runTaskAsync(() -> {
+            final long start = System.nanoTime();
+            final Point2i location = distributor.locate(biome, x, z, radius);
+            final String time = String.format(Locale.ROOT, "%.1fms", (System.nanoTime() - start) / 1e6);
+            if (location == null) {
+                sender.sendMessage(miniMessage.deserialize("<prefix> <red>Couldn't find biome <dark_red>" +
+                        biome.name() + " <red>within <dark_red>" + radius + " <red>blocks <grey>(" + time + ")"));
+            } else {
+                final long distance = Math.round(Math.hypot(location.x() - x, location.z() - z));
+                sender.sendMessage(miniMessage.deserialize("<prefix> <grey>Found biome <green>" + biome.name() +
+                        " <grey>at <green>" + location.x() + ", " + location.z() + " <grey>(<green>" + distance +
+                        " <grey>blocks away, " + time + ")"));
+            }
+        });
+    }
+
+    @Suggestions("biomes")
+    public @NotNull List<String> biomeNames(CommandContext<CommandSender> context, String input) {
+        final String worldName = context.getOrDefault("world", "");
+        final World world = getWorld(worldName);
+        if (world == null || !world.isLoaded()) return List.of();
+        return world.getDimension().distributor().biomeList().stream().map(Biome::name).toList();
+    }
+
+    @Suggestions("worlds")
+    public @NotNull List<String> worldNames(CommandContext<CommandSender> context, String input) {
+        final List<String> worldNames = new ArrayList<>();
+        Orbis.getPlatform().worlds().forEach(world -> worldNames.add(world.name()));
+        final Project project = Orbis.getProjectManager().getActiveProject();
+        if (project != null && project.hasWorld()) worldNames.add(project.studioWorld().name());
+        return worldNames;
+    }
+
+    // The studio world isn't registered with the platform, so check the active project as well.
+    private @Nullable World getWorld(@NotNull String name) {
+        final World world = Orbis.getPlatform().getWorld(name);
+        if (world != null) return world;
+        final Project project = Orbis.getProjectManager().getActiveProject();
+        if (project != null && project.hasWorld() && project.studioWorld().name().equals(name)) {
+            return project.studioWorld();
+        }
+        return null;
+    }
+
+}
@@ -38,6 +38,9 @@ public final class Biome {
     @Inject(fieldName = "terrainName")
     private transient Surface surface;
 
+    // Dense id assigned by the distributor at load time, see Distributor#getBiome(int)
+    private transient int id = -1;
+
     public Biome(String name, Key derivative, String surfaceName, int baseHeight, ConfiguredBlock surfaceBlock,
                  ConfiguredBlock belowSurfaceBlock) {
         this.name = name;
@@ -75,4 +78,18 @@ public final class Biome {
     public Surface surface() {
         return this.surface;
     }
+
+    /**
+     * The dense id of this biome within its {@link Distributor}, ids range from 0 to
+     * {@link Distributor#biomeCount()} exclusive and are stable for the same set of biome names.
+     *
+     * @return The dense id of this biome.
+     */
+    public int id() {
+        return this.id;
+    }
+
+    void id(int id) {
+        this.id = id;
+    }
 }
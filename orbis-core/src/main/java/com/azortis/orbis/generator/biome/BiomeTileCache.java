@@ -0,0 +1,305 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome;
+
+import com.azortis.orbis.Orbis;
+import com.azortis.orbis.util.annotations.SectionCoords;
+import com.azortis.orbis.util.math.Point2i;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * <p>Persists the biome ids of computed biome sections in the world directory, so biome queries from the
+ * platform don't have to sample the {@link Distributor} again after a restart.</p>
+ *
+ * <p>The cache is split up in tiles of 128x128 sections(512x512 blocks), each tile is a separate memory-mapped
+ * file. A tile starts with a fixed size header containing the format version, the seed, the hash of the pack and
+ * the biome layout. If any of those don't match the tile is discarded. Every distributor stores its tiles in its own
+ * directory, so distributors of the same world never read each other's ids. After the header come the biome ids of the
+ * 2D biome map, followed by the ids of each 3D column ordered from the lowest section to the highest.
+ * Every id is stored as an unsigned short, where 0 means the section hasn't been computed yet.</p>
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@API(status = API.Status.INTERNAL, since = "0.3-Alpha")
+public final class BiomeTileCache {
+
+    /**
+     * The name of the directory within the world directory that contains the tiles, the tiles of a distributor are
+     * stored in a subdirectory named after the distributor.
+     */
+    public static final String DIRECTORY_NAME = "biome-cache";
+
+    private static final int MAGIC = 0x4F425443; // OBTC
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+
+    private static final int TILE_SHIFT = 7;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    // Amount of tiles kept mapped, a tile is a single region-sized area so this covers a lot of ground.
+    private static final int MAX_OPEN_TILES = 64;
+
+    private static final Tile DISABLED_TILE = new Tile(null);
+
+    private final Path directory;
+    private final long seed;
+    private final long packHash;
+    private final int biomeCount;
+    private final BiomeLayout layout;
+    private final int minSectionY;
+    private final int columnHeight;
+
+    private final int mapOffset;
+    private final int columnOffset;
+    private final int tileLength;
+
+    private final LoadingCache<Point2i, Tile> tiles;
+
+    BiomeTileCache(@NotNull File directory, @NotNull String distributorName, long seed, long packHash, int biomeCount, @NotNull BiomeLayout layout,
+                   int minSectionY, int columnHeight) {
+        this.directory = directory.toPath().resolve(distributorName);
+        this.seed = seed;
+        this.packHash = packHash;
+        this.biomeCount = biomeCount;
+        this.layout = layout;
+        this.minSectionY = minSectionY;
+        this.columnHeight = columnHeight;
+
+        final int sectionsPerTile = TILE_SIZE * TILE_SIZE;
+        this.mapOffset = HEADER_SIZE;
+        this.columnOffset = mapOffset + (layout.hasBiomeMap() ? sectionsPerTile * 2 : 0);
+        this.tileLength = columnOffset + (layout.hasFullBiomes() ? sectionsPerTile * columnHeight * 2 : 0);
+
+        this.tiles = CacheBuilder.newBuilder()
+                .maximumSize(MAX_OPEN_TILES)
+                .expireAfterAccess(60L, TimeUnit.SECONDS)
+                .removalListener((RemovalListener<Point2i, Tile>) notification -> {
+                    if (notification.getValue() != null) notification.getValue().flush();
+                })
+                .build(new CacheLoader<>() {
+                    @Override
+                    public @NotNull Tile load(@NotNull Point2i pos) {
+                        return openTile(pos.x(), pos.z());
+                    }
+                });
+    }
+
+    /**
+     * Computes a hash over all the files in given pack directory and the Orbis version, so any change in the pack
+     * or in the generator itself invalidates previously stored tiles.
+     *
+     * @param packDirectory The directory containing the pack files.
+     * @return The hash of the pack.
+     * @throws IOException If a file in the pack couldn't be read.
+     */
+    static long hashPack(@NotNull File packDirectory) throws IOException {
+        final Path root = packDirectory.toPath();
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(Orbis.VERSION, StandardCharsets.UTF_8);
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            hasher.putString(root.relativize(file).toString().replace(File.separatorChar, '/'),
+                    StandardCharsets.UTF_8);
+            hasher.putBytes(Files.readAllBytes(file));
+        }
+        return hasher.hash().asLong();
+    }
+
+    /**
+     * Flushes and unmaps every open tile, called when the world unloads. Tiles that are requested afterwards are
+     * opened again, so a late query won't fail.
+     */
+    void close() {
+        tiles.invalidateAll();
+        tiles.cleanUp();
+    }
+
+    /**
+     * Get the stored biome id of a section of the 2D biome map. Only tiles that are open or stored on disk are read,
+     * querying an area that was never generated doesn't create a tile.
+     *
+     * @param x The section x-coordinate.
+     * @param z The section z-coordinate.
+     * @return The biome id, or -1 if it hasn't been stored.
+     */
+    @SectionCoords
+    int getBiomeId(int x, int z) {
+        final Tile tile = readTile(x, z);
+        return tile != null ? tile.get(mapOffset + mapIndex(x, z)) : -1;
+    }
+
+    /**
+     * Get the stored biome id of a section of the 2D biome map, only if its tile is already open.
+     * Used by bulk queries that shouldn't create tiles for areas that were never generated.
+     *
+     * @param x The section x-coordinate.
+     * @param z The section z-coordinate.
+     * @return The biome id, or -1 if it hasn't been stored or the tile isn't open.
+     */
+    @SectionCoords
+    int peekBiomeId(int x, int z) {
+        final Tile tile = tiles.getIfPresent(new Point2i(x >> TILE_SHIFT, z >> TILE_SHIFT));
+        return tile != null ? tile.get(mapOffset + mapIndex(x, z)) : -1;
+    }
+
+    @SectionCoords
+    void putBiomeId(int x, int z, int id) {
+        getTile(x, z).put(mapOffset + mapIndex(x, z), id);
+    }
+
+    /**
+     * Get the stored biome id of a 3D section. Like {@link #getBiomeId(int, int)} this never creates a tile.
+     *
+     * @param x      The section x-coordinate.
+     * @param yIndex The index of the section in the column, starting from the lowest section of the dimension.
+     * @param z      The section z-coordinate.
+     * @return The biome id, or -1 if it hasn't been stored.
+     */
+    @SectionCoords
+    int getBiomeId(int x, int yIndex, int z) {
+        final Tile tile = readTile(x, z);
+        return tile != null ? tile.get(columnOffset + columnIndex(x, yIndex, z)) : -1;
+    }
+
+    @SectionCoords
+    void putBiomeId(int x, int yIndex, int z, int id) {
+        getTile(x, z).put(columnOffset + columnIndex(x, yIndex, z), id);
+    }
+
+    private static int mapIndex(int x, int z) {
+        return (((z & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK)) << 1;
+    }
+
+    private int columnIndex(int x, int yIndex, int z) {
+        return ((((z & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK)) * columnHeight + yIndex) << 1;
+    }
+
+    private @NotNull Tile getTile(int x, int z) {
+        try {
+            return tiles.get(new Point2i(x >> TILE_SHIFT, z >> TILE_SHIFT));
+        } catch (ExecutionException ex) {
+            return DISABLED_TILE;
+        }
+    }
+
+    // Tiles are only created by writes, reads open a tile if it's already open or its file exists.
+    private @Nullable Tile readTile(int x, int z) {
+        final Point2i pos = new Point2i(x >> TILE_SHIFT, z >> TILE_SHIFT);
+        final Tile tile = tiles.getIfPresent(pos);
+        if (tile != null || !Files.exists(tileFile(pos.x(), pos.z()))) return tile;
+        return getTile(x, z);
+    }
+
+    private @NotNull Path tileFile(int tileX, int tileZ) {
+        return directory.resolve(tileX + "." + tileZ + ".tile");
+    }
+
+    private @NotNull Tile openTile(int tileX, int tileZ) {
+        final Path file = tileFile(tileX, tileZ);
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(file) && !isValid(file)) {
+                // Delete instead of truncate, so a mapping that is still held by a previous load stays intact.
+                Files.delete(file);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                final boolean created = channel.size() == 0;
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, tileLength);
+                if (created) writeHeader(buffer);
+                return new Tile(buffer);
+            }
+        } catch (IOException ex) {
+            Orbis.getLogger().error("Failed to open biome tile {}, biomes of this tile won't be persisted!", file);
+            return DISABLED_TILE;
+        }
+    }
+
+    private boolean isValid(@NotNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != tileLength) return false;
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break;
+            }
+            header.flip();
+            return header.remaining() == HEADER_SIZE && header.getInt() == MAGIC
+                    && header.getInt() == FORMAT_VERSION && header.getLong() == seed
+                    && header.getLong() == packHash && header.getInt() == biomeCount
+                    && header.getInt() == layout.ordinal() && header.getInt() == minSectionY
+                    && header.getInt() == columnHeight;
+        }
+    }
+
+    private void writeHeader(@NotNull ByteBuffer buffer) {
+        buffer.putInt(0, MAGIC)
+                .putInt(4, FORMAT_VERSION)
+                .putLong(8, seed)
+                .putLong(16, packHash)
+                .putInt(24, biomeCount)
+                .putInt(28, layout.ordinal())
+                .putInt(32, minSectionY)
+                .putInt(36, columnHeight);
+    }
+
+    private record Tile(MappedByteBuffer buffer) {
+
+        // Only absolute reads & writes are used, so the buffer can be shared between threads.
+        int get(int offset) {
+            if (buffer == null) return -1;
+            return (buffer.getShort(offset) & 0xFFFF) - 1;
+        }
+
+        void put(int offset, int id) {
+            if (buffer != null) buffer.putShort(offset, (short) (id + 1));
+        }
+
+        void flush() {
+            if (buffer != null) buffer.force();
+        }
+    }
+
+}
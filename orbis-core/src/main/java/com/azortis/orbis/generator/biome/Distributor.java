@@ -19,33 +19,49 @@
 package com.azortis.orbis.generator.biome;
 
 import com.azortis.orbis.Orbis;
+import com.azortis.orbis.Settings;
+import com.azortis.orbis.generator.Dimension;
 import com.azortis.orbis.pack.Inject;
 import com.azortis.orbis.pack.Invoke;
 import com.azortis.orbis.pack.studio.annotations.Description;
 import com.azortis.orbis.pack.studio.annotations.Entries;
+import com.azortis.orbis.pack.studio.annotations.Min;
 import com.azortis.orbis.pack.studio.annotations.Required;
 import com.azortis.orbis.pack.studio.annotations.Typed;
 import com.azortis.orbis.util.annotations.AbsoluteCoords;
 import com.azortis.orbis.util.annotations.SectionCoords;
 import com.azortis.orbis.util.math.Point2i;
-import com.azortis.orbis.util.math.Point3i;
-import com.google.common.cache.CacheBuilder;
+import com.azortis.orbis.world.World;
 import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.gson.annotations.SerializedName;
 import net.kyori.adventure.key.Key;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * The generator object responsible for the distribution of biomes. The class caches values from its implementation
- * since multiple calls made for the same coordinates within set timeframe is very common.
+ * <p>The generator object responsible for the distribution of biomes. The class caches values from its implementation
+ * since multiple calls made for the same coordinates within set timeframe is very common.</p>
+ *
+ * <p>The biome ids and the caches are set up during {@link Invoke.Order#MID_INJECTION}, so implementations that look
+ * up biomes by id, use {@link #biomeCount()} or create caches with
+ * {@link #createCache(String, long, long, long, CacheLoader)} must do so from an
+ * {@link Invoke.Order#POST_CLASS_INJECTION} method or later.</p>
  *
  * @author Jake Nijssen
  * @since 0.3-Alpha
@@ -56,6 +72,19 @@ import java.util.concurrent.TimeUnit;
 @Description("Generator object that handles with the distribution of biomes.")
 public abstract class Distributor {
 
+    /**
+     * The minimum amount of entries of a cache in adaptive mode.
+     */
+    static final long MIN_CACHE_SIZE = 256;
+
+    // Rough memory estimates used to keep the adaptive cache sizes within the memory cap.
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long SECTION_BYTES = 192;
+
+    // The lattice spacing of locate in sections, and the amount of lattice rings searched in parallel at once.
+    private static final int LOCATE_STEP = 8;
+    private static final int LOCATE_RINGS_PER_BATCH = 4;
+
     @Required
     @Description("The name of the distributor instance, must be same as file name without the *.json suffix.")
     protected final String name;
@@ -70,12 +99,41 @@ public abstract class Distributor {
     @Description("All the possible biomes from this distributor.")
     private Set<String> biomeNames;
 
+    @Min(0)
+    @Description("""
+            The size in blocks of the coarse grid the biome map is sampled on, only cells whose corners disagree on
+            the biome are refined. Must be a power of two of at least 8, 0 or absent samples every section.""")
+    private int coarseSampling;
+
     // Biomes are separate files, so we inject them here.
     @Inject(fieldName = "biomeNames", collectionType = HashSet.class, parameterizedType = Biome.class)
     private transient Set<Biome> biomes;
 
-    private transient LoadingCache<Point2i, BiomeSection> mapCache;
-    private transient LoadingCache<Point3i, BiomeSection> sectionCache;
+    // Biomes ordered by their dense id, and a lookup table keyed by lower case biome name.
+    private transient Biome[] biomesById;
+    private transient List<Biome> biomeList;
+    private transient Map<String, Biome> biomesByName;
+
+    @Inject
+    private transient Dimension dimension;
+
+    private transient DistributorCache<Point2i, BiomeSection> mapCache;
+
+    // Only used if coarse sampling is enabled, fills the map cache a cell at a time.
+    private transient QuadtreeSampler quadtreeSampler;
+    private transient DistributorCache<Point2i, BiomeSection[]> cellCache;
+
+    // 3D sections are cached per 4x4 column, each entry holds the full vertical range of sections of that column.
+    private transient DistributorCache<Point2i, BiomeSection[]> columnCache;
+    private transient int minSectionY;
+    private transient int columnHeight;
+
+    private transient List<DistributorCache<?, ?>> caches;
+    private transient Settings.BiomeCache cacheSettings;
+    private transient AtomicLong nextAdaptTime;
+
+    // Persisted biome ids, null if persistence is disabled or the pack couldn't be hashed.
+    private transient BiomeTileCache tileCache;
 
     protected Distributor(@NotNull String name, @NotNull Key type) {
         this.name = name;
@@ -88,30 +146,147 @@ public abstract class Distributor {
         this.biomeNames = Set.copyOf(biomeNames);
         this.biomes = Set.copyOf(biomes);
 
-        // Initialize caches
-        // TODO find optimum size & expiry time
+        // Assign dense ids, sort by name so the same set of biomes always gets the same ids.
+        this.biomesById = biomes.stream().sorted(Comparator.comparing(Biome::name)).toArray(Biome[]::new);
+        this.biomeList = List.of(biomesById);
+        Map<String, Biome> biomesByName = new HashMap<>(biomesById.length);
+        for (int id = 0; id < biomesById.length; id++) {
+            Biome biome = biomesById[id];
+            biome.id(id);
+            if (biomesByName.put(biome.name().toLowerCase(Locale.ROOT), biome) != null) {
+                throw new IllegalArgumentException("Biome by name " + biome.name() + " is registered twice!");
+            }
+        }
+        this.biomesByName = Map.copyOf(biomesByName);
+
+        // Initialize caches, in adaptive mode the configured sizes are only the initial sizes.
+        this.cacheSettings = Orbis.getSettings().biomeCache();
+        this.nextAdaptTime = new AtomicLong(System.currentTimeMillis() + cacheSettings.adaptInterval() * 1000L);
+        List<DistributorCache<?, ?>> caches = new ArrayList<>(3);
+        if (layout().hasBiomeMap() && coarseSampling != 0) {
+            if (coarseSampling < 8 || Integer.bitCount(coarseSampling) != 1) {
+                throw new IllegalArgumentException("Coarse sampling size of distributor " + name +
+                        " must be a power of two of at least 8, but is " + coarseSampling);
+            }
+            final int cellSize = coarseSampling >> 2;
+            final int cellSections = cellSize * cellSize;
+            quadtreeSampler = new QuadtreeSampler(this, cellSize);
+            cellCache = new DistributorCache<>("biome cell", ENTRY_OVERHEAD_BYTES + cellSections *
+                    (SECTION_BYTES + 8), Math.max(1, 16 / cellSections), Math.max(MIN_CACHE_SIZE,
+                    cacheSettings.mapCacheSize() / cellSections), cacheSettings.expireAfterAccess(),
+                    new CacheLoader<>() {
+                        @Override
+                        public @NotNull BiomeSection[] load(@NotNull Point2i cell) {
+                            scheduleAdapt();
+                            return quadtreeSampler.sampleCell(cell.x(), cell.z());
+                        }
+                    });
+            caches.add(cellCache);
+        }
         if (layout().hasBiomeMap()) {
-            mapCache = CacheBuilder.newBuilder()
-                    .expireAfterAccess(5L, TimeUnit.SECONDS)
-                    .maximumSize(1600)
-                    .build(new CacheLoader<>() {
+            mapCache = new DistributorCache<>("biome map", ENTRY_OVERHEAD_BYTES + SECTION_BYTES, 16,
+                    cacheSettings.mapCacheSize(), cacheSettings.expireAfterAccess(),
+                    new CacheLoader<>() {
                         @Override
-                        public @NotNull BiomeSection load(@NotNull Point2i pos) {
-                            return sample(pos.x(), pos.z());
+                        public @NotNull BiomeSection load(@NotNull Point2i pos) throws ExecutionException {
+                            scheduleAdapt();
+                            BiomeSection section = quadtreeSampler == null ? sample(pos.x(), pos.z()) :
+                                    cellCache.get(new Point2i(pos.x() >> quadtreeSampler.cellShift(),
+                                            pos.z() >> quadtreeSampler.cellShift()))[quadtreeSampler.index(pos.x(),
+                                            pos.z())];
+                            if (tileCache != null) tileCache.putBiomeId(pos.x(), pos.z(), section.biome().id());
+                            return section;
                         }
                     });
+            caches.add(mapCache);
         }
         if (layout().hasFullBiomes()) {
-            sectionCache = CacheBuilder.newBuilder()
-                    .expireAfterAccess(5L, TimeUnit.SECONDS)
-                    .maximumSize(8000)
-                    .build(new CacheLoader<>() {
+            minSectionY = dimension.minHeight() >> 2;
+            columnHeight = dimension.verticalSize() >> 2;
+            columnCache = new DistributorCache<>("biome column", ENTRY_OVERHEAD_BYTES + columnHeight *
+                    (SECTION_BYTES + 8), 16, cacheSettings.columnCacheSize(), cacheSettings.expireAfterAccess(),
+                    new CacheLoader<>() {
                         @Override
-                        public @NotNull BiomeSection load(@NotNull Point3i pos) {
-                            return sample(pos.x(), pos.y(), pos.z());
+                        public @NotNull BiomeSection[] load(@NotNull Point2i pos) {
+                            scheduleAdapt();
+                            // Sections are sampled lazily, see getSection(int, int, int)
+                            return new BiomeSection[columnHeight];
                         }
                     });
+            caches.add(columnCache);
         }
+        this.caches = List.copyOf(caches);
+
+        if (cacheSettings.persistent()) {
+            final World world = dimension.world();
+            try {
+                final long packHash = BiomeTileCache.hashPack(world.settingsDirectory());
+                this.tileCache = new BiomeTileCache(new File(world.directory(), BiomeTileCache.DIRECTORY_NAME),
+                        name, world.getWorldInfo().seed(), packHash, biomesById.length, layout(), minSectionY,
+                        columnHeight);
+            } catch (IOException ex) {
+                Orbis.getLogger().error("Failed to hash the pack of world {}, biomes won't be persisted!", world.name());
+            }
+        }
+    }
+
+    // Only called on cache misses, if every request is a hit there is no reason to resize anyway.
+    private void scheduleAdapt() {
+        if (!cacheSettings.adaptive()) return;
+        final long now = System.currentTimeMillis();
+        final long adaptTime = nextAdaptTime.get();
+        if (now >= adaptTime && nextAdaptTime.compareAndSet(adaptTime, now + cacheSettings.adaptInterval() * 1000L)) {
+            Orbis.getPlatform().scheduler().runTaskAsync(this::adaptCaches);
+        }
+    }
+
+    private void adaptCaches() {
+        final World world = dimension.world();
+        final long players = Math.max(1, world.getPlayers().size());
+        final long viewDiameter = 2L * world.viewDistance() + 1;
+
+        final long chunksInView = players * viewDiameter * viewDiameter;
+        final long totalEntryBytes = caches.stream().mapToLong(DistributorCache::entryBytes).sum();
+        final long maxEntries = (cacheSettings.memoryCap() << 20) / totalEntryBytes;
+        for (DistributorCache<?, ?> cache : caches) {
+            if (cache.adapt(chunksInView * cache.chunkEntries(), maxEntries, cacheSettings.targetHitRate())) {
+                Orbis.getLogger().debug("Resized {} cache of distributor {} to {} entries", cache.name(), name,
+                        cache.maximumSize());
+            }
+        }
+    }
+
+    /**
+     * Create an additional cache for data a distributor implementation shares between sections, the cache uses
+     * the configured expiry, is adapted together with the biome caches and is listed by {@link #caches()}.
+     * Must be called after the distributor has been set up, so from an {@link Invoke.Order#POST_CLASS_INJECTION}
+     * method or later.
+     *
+     * @param name         The display name of the cache.
+     * @param valueBytes   The estimated size of a single value in bytes.
+     * @param chunkEntries The amount of entries needed to cover a single chunk.
+     * @param maximumSize  The initial maximum amount of entries.
+     * @param loader       The loader of missing values.
+     * @param <K>          The key type.
+     * @param <V>          The value type.
+     * @return The new cache.
+     * @since 0.3-Alpha
+     */
+    protected final <K, V> @NotNull DistributorCache<K, V> createCache(@NotNull String name, long valueBytes,
+                                                                       long chunkEntries, long maximumSize,
+                                                                       @NotNull CacheLoader<K, V> loader) {
+        final DistributorCache<K, V> cache = new DistributorCache<>(name, ENTRY_OVERHEAD_BYTES + valueBytes,
+                chunkEntries, maximumSize, cacheSettings.expireAfterAccess(), new CacheLoader<>() {
+            @Override
+            public @NotNull V load(@NotNull K key) throws Exception {
+                scheduleAdapt();
+                return loader.load(key);
+            }
+        });
+        final List<DistributorCache<?, ?>> caches = new ArrayList<>(this.caches);
+        caches.add(cache);
+        this.caches = List.copyOf(caches);
+        return cache;
     }
 
     public @NotNull String name() {
@@ -122,6 +297,26 @@ public abstract class Distributor {
         return type;
     }
 
+    /**
+     * Get the caches of this distributor, to read their statistics.
+     *
+     * @return An immutable list of the caches this distributor uses for its layout.
+     * @since 0.3-Alpha
+     */
+    public @Unmodifiable @NotNull List<DistributorCache<?, ?>> caches() {
+        return caches;
+    }
+
+    /**
+     * Flushes and releases the biome ids persisted by this distributor, called when its world unloads.
+     *
+     * @since 0.3-Alpha
+     */
+    @API(status = API.Status.INTERNAL, since = "0.3-Alpha", consumers = "com.azortis.orbis.world")
+    public void close() {
+        if (tileCache != null) tileCache.close();
+    }
+
     public @Unmodifiable @NotNull Set<String> biomeNames() {
         return biomeNames;
     }
@@ -130,11 +325,47 @@ public abstract class Distributor {
         return biomes;
     }
 
+    /**
+     * Get all biomes of this distributor ordered by their {@link Biome#id()}.
+     *
+     * @return An immutable list where the index of each biome is equal to its id.
+     * @since 0.3-Alpha
+     */
+    public @Unmodifiable @NotNull List<Biome> biomeList() {
+        return biomeList;
+    }
+
+    /**
+     * Get the amount of biomes in this distributor, which is also the upper bound(exclusive) of the id space.
+     *
+     * @return The amount of biomes.
+     * @since 0.3-Alpha
+     */
+    public int biomeCount() {
+        return biomesById.length;
+    }
+
     public @NotNull Biome getBiome(@NotNull String name) throws IllegalArgumentException {
-        for (Biome biome : biomes) {
-            if (biome.name().equalsIgnoreCase(name)) return biome;
+        Biome biome = biomesByName.get(name.toLowerCase(Locale.ROOT));
+        if (biome == null) {
+            throw new IllegalArgumentException("Biome by name " + name + " is not registered with this distributor!");
+        }
+        return biome;
+    }
+
+    /**
+     * Get a biome by its dense id.
+     *
+     * @param id The id of the biome, see {@link Biome#id()}.
+     * @return The biome with given id.
+     * @throws IllegalArgumentException If there is no biome with given id.
+     * @since 0.3-Alpha
+     */
+    public @NotNull Biome getBiome(int id) throws IllegalArgumentException {
+        if (id < 0 || id >= biomesById.length) {
+            throw new IllegalArgumentException("Biome by id " + id + " is not registered with this distributor!");
         }
-        throw new IllegalArgumentException("Biome by name " + name + " is not registered with this distributor!");
+        return biomesById[id];
     }
 
     @AbsoluteCoords
@@ -142,6 +373,14 @@ public abstract class Distributor {
         if (!layout().hasBiomeMap()) {
             throw new UnsupportedOperationException("This distributor doesn't support 2d biome maps");
         }
+        final BiomeSection cached = mapCache.getIfPresent(new Point2i(x >> 2, z >> 2));
+        if (cached != null) return cached.biome();
+        if (tileCache != null) {
+            // Biome only queries that miss the cache are answered from the persisted tiles if possible, the map
+            // cache loader stores the biome of each section it samples.
+            final int id = tileCache.getBiomeId(x >> 2, z >> 2);
+            if (id >= 0 && id < biomesById.length) return biomesById[id];
+        }
         return getSection(x, z).biome();
     }
 
@@ -161,20 +400,196 @@ public abstract class Distributor {
     @AbsoluteCoords
     public @NotNull Biome getBiome(int x, int y, int z) {
         if (!layout().hasFullBiomes()) return getBiome(x, z);
+        final BiomeSection[] column = columnCache.getIfPresent(new Point2i(x >> 2, z >> 2));
+        if (column != null && column[columnIndex(y)] != null) return column[columnIndex(y)].biome();
+        if (tileCache != null) {
+            final int id = tileCache.getBiomeId(x >> 2, columnIndex(y), z >> 2);
+            if (id >= 0 && id < biomesById.length) return biomesById[id];
+        }
         return getSection(x, y, z).biome();
     }
 
     @AbsoluteCoords
     public @NotNull BiomeSection getSection(int x, int y, int z) {
         if (!layout().hasFullBiomes()) return getSection(x, z);
+        final int sectionX = x >> 2;
+        final int sectionZ = z >> 2;
+        final int index = columnIndex(y);
+        final BiomeSection[] column = getCachedColumn(sectionX, sectionZ);
+
+        // Sampling is deterministic, so if two threads race for the same empty slot they write the same value.
+        BiomeSection section = column[index];
+        if (section == null) {
+            section = sampleColumn(sectionX, index, sectionZ);
+            column[index] = section;
+        }
+        return section;
+    }
+
+    private int columnIndex(int y) {
+        return Math.max(0, Math.min(columnHeight - 1, (y >> 2) - minSectionY));
+    }
+
+    @SectionCoords
+    private @NotNull BiomeSection sampleColumn(int x, int index, int z) {
+        final BiomeSection section = sample(x, index + minSectionY, z);
+        if (tileCache != null) tileCache.putBiomeId(x, index, z, section.biome().id());
+        return section;
+    }
+
+    /**
+     * Get all the 3D {@link BiomeSection}s of the 4x4 column at given block coordinates, ordered from the lowest
+     * section of the dimension to the highest. If the distributor doesn't support full biomes, every index
+     * holds the section of the 2D biome map. The returned array is shared with the cache and must not be modified.
+     *
+     * @param x The x-coordinate.
+     * @param z The z-coordinate.
+     * @return The biome sections of the column.
+     * @since 0.3-Alpha
+     */
+    @AbsoluteCoords
+    public @NotNull BiomeSection[] getColumn(int x, int z) {
+        if (!layout().hasFullBiomes()) {
+            BiomeSection[] column = new BiomeSection[dimension.verticalSize() >> 2];
+            Arrays.fill(column, getSection(x, z));
+            return column;
+        }
+        final int sectionX = x >> 2;
+        final int sectionZ = z >> 2;
+        final BiomeSection[] column = getCachedColumn(sectionX, sectionZ);
+        for (int index = 0; index < columnHeight; index++) {
+            if (column[index] == null) column[index] = sampleColumn(sectionX, index, sectionZ);
+        }
+        return column;
+    }
+
+    @SectionCoords
+    private @NotNull BiomeSection[] getCachedColumn(int x, int z) {
         try {
-            return sectionCache.get(new Point3i(x >> 2, y >> 2, z >> 2));
+            return columnCache.get(new Point2i(x, z));
         } catch (ExecutionException ex) {
-            Orbis.getLogger().error("Failed to load biome section at block coordinates [{},{},{}]", x, y, z);
+            Orbis.getLogger().error("Failed to load biome column at section coordinates [{},{}]", x, z);
             throw new RuntimeException(ex);
         }
     }
 
+    /**
+     * Find the nearest location of a biome on the 2D biome map. A coarse lattice is searched outward ring by ring
+     * in parallel, the lattice points that hit the biome are then refined to the nearest section around them.
+     * Sections are read from the caches if present, and sampled otherwise without being cached.
+     * <p>
+     * Areas of a biome smaller than the lattice spacing of 32 blocks can be missed.
+     *
+     * @param biome     The biome to locate.
+     * @param x         The x-coordinate to search from.
+     * @param z         The z-coordinate to search from.
+     * @param maxRadius The maximum distance to search in blocks.
+     * @return The block coordinates of the center of the nearest section of the biome, or null if it wasn't found.
+     * @throws IllegalArgumentException If the biome isn't part of this distributor.
+     * @since 0.3-Alpha
+     */
+    @AbsoluteCoords
+    public @Nullable Point2i locate(@NotNull Biome biome, int x, int z, int maxRadius)
+            throws IllegalArgumentException {
+        if (!layout().hasBiomeMap()) {
+            throw new UnsupportedOperationException("This distributor doesn't support 2d biome maps");
+        }
+        if (biome.id() < 0 || biome.id() >= biomesById.length || biomesById[biome.id()] != biome) {
+            throw new IllegalArgumentException("Biome " + biome.name() + " is not part of distributor " + name);
+        }
+        final int id = biome.id();
+        final int originX = x >> 2;
+        final int originZ = z >> 2;
+        final long radiusSquared = (long) (maxRadius >> 2) * (maxRadius >> 2);
+        final int rings = (maxRadius >> 2) / LOCATE_STEP + 1;
+
+        final List<Point2i> hits = new ArrayList<>();
+        long nearestSquared = Long.MAX_VALUE;
+        for (int ring = 0; ring <= rings; ring += LOCATE_RINGS_PER_BATCH) {
+            // No lattice point of this ring or further is closer than the ring itself, and refinement can only move
+            // a hit by up to a lattice diagonal, so nothing closer can be found anymore.
+            if (nearestSquared != Long.MAX_VALUE && (long) (ring - 2) * LOCATE_STEP > Math.sqrt(nearestSquared)) {
+                break;
+            }
+            final List<Point2i> lattice = new ArrayList<>();
+            for (int batchRing = ring; batchRing < Math.min(ring + LOCATE_RINGS_PER_BATCH, rings + 1); batchRing++) {
+                addRing(lattice, originX, originZ, batchRing, radiusSquared);
+            }
+            for (Point2i hit : lattice.parallelStream().filter(point -> locateId(point.x(), point.z()) == id)
+                    .toList()) {
+                hits.add(hit);
+                nearestSquared = Math.min(nearestSquared, distanceSquared(hit, originX, originZ));
+            }
+        }
+        if (hits.isEmpty()) return null;
+
+        final double refineDistance = Math.sqrt(nearestSquared) + LOCATE_STEP * Math.sqrt(2);
+        return hits.parallelStream()
+                .filter(hit -> Math.sqrt(distanceSquared(hit, originX, originZ)) <= refineDistance)
+                .map(hit -> refine(id, hit, originX, originZ, radiusSquared))
+                .min(Comparator.comparingLong(section -> distanceSquared(section, originX, originZ)))
+                .map(section -> new Point2i((section.x() << 2) + 2, (section.z() << 2) + 2))
+                .orElse(null);
+    }
+
+    @SectionCoords
+    private static void addRing(@NotNull List<Point2i> lattice, int originX, int originZ, int ring,
+                                long radiusSquared) {
+        if (ring == 0) {
+            lattice.add(new Point2i(originX, originZ));
+            return;
+        }
+        final int offset = ring * LOCATE_STEP;
+        for (int i = -ring; i <= ring; i++) {
+            addLatticePoint(lattice, originX, originZ, i * LOCATE_STEP, -offset, radiusSquared);
+            addLatticePoint(lattice, originX, originZ, i * LOCATE_STEP, offset, radiusSquared);
+        }
+        for (int i = -ring + 1; i < ring; i++) {
+            addLatticePoint(lattice, originX, originZ, -offset, i * LOCATE_STEP, radiusSquared);
+            addLatticePoint(lattice, originX, originZ, offset, i * LOCATE_STEP, radiusSquared);
+        }
+    }
+
+    private static void addLatticePoint(@NotNull List<Point2i> lattice, int originX, int originZ, int dx, int dz,
+                                        long radiusSquared) {
+        if ((long) dx * dx + (long) dz * dz <= radiusSquared) lattice.add(new Point2i(originX + dx, originZ + dz));
+    }
+
+    // Find the nearest section of the biome within a lattice spacing around the hit, which includes the hit itself.
+    @SectionCoords
+    private @NotNull Point2i refine(int id, @NotNull Point2i hit, int originX, int originZ, long radiusSquared) {
+        Point2i nearest = hit;
+        long nearestSquared = distanceSquared(hit, originX, originZ);
+        for (int z = hit.z() - LOCATE_STEP; z <= hit.z() + LOCATE_STEP; z++) {
+            for (int x = hit.x() - LOCATE_STEP; x <= hit.x() + LOCATE_STEP; x++) {
+                final long dx = x - originX;
+                final long dz = z - originZ;
+                final long squared = dx * dx + dz * dz;
+                if (squared < nearestSquared && squared <= radiusSquared && locateId(x, z) == id) {
+                    nearest = new Point2i(x, z);
+                    nearestSquared = squared;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private static long distanceSquared(@NotNull Point2i section, int originX, int originZ) {
+        final long dx = section.x() - originX;
+        final long dz = section.z() - originZ;
+        return dx * dx + dz * dz;
+    }
+
+    @SectionCoords
+    private int locateId(int x, int z) {
+        if (tileCache != null) {
+            final int id = tileCache.peekBiomeId(x, z);
+            if (id >= 0 && id < biomesById.length) return id;
+        }
+        final BiomeSection section = mapCache.getIfPresent(new Point2i(x, z));
+        return (section != null ? section : sample(x, z)).biome().id();
+    }
+
     @AbsoluteCoords
     public @NotNull Biome getBiome(double x, double z) {
         if (!layout().hasBiomeMap()) {
@@ -0,0 +1,195 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A resizable cache used by a {@link Distributor}, that records hit, miss, eviction & load time statistics.
+ * Resizing replaces the backing cache, the statistics of replaced caches are kept so they describe the
+ * full lifetime of the distributor.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3-Alpha")
+public final class DistributorCache<K, V> {
+
+    private static final CacheStats EMPTY_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    // Bounds for the hit rate feedback on top of the estimated working set.
+    private static final double MIN_SCALE = 0.25;
+    private static final double MAX_SCALE = 4.0;
+
+    // Don't adapt based on a handful of requests.
+    private static final long MIN_WINDOW_REQUESTS = 1000;
+
+    private final String name;
+    private final long entryBytes;
+    private final long chunkEntries;
+    private final long expireAfterAccess;
+    private final CacheLoader<K, V> loader;
+
+    private volatile LoadingCache<K, V> cache;
+    private volatile long maximumSize;
+    private CacheStats retiredStats = EMPTY_STATS;
+    private CacheStats windowStart = EMPTY_STATS;
+    private double scale = 1.0;
+
+    DistributorCache(@NotNull String name, long entryBytes, long chunkEntries, long maximumSize,
+                     long expireAfterAccess, @NotNull CacheLoader<K, V> loader) {
+        this.name = name;
+        this.entryBytes = entryBytes;
+        this.chunkEntries = chunkEntries;
+        this.expireAfterAccess = expireAfterAccess;
+        this.loader = loader;
+        this.maximumSize = maximumSize;
+        this.cache = build(maximumSize);
+    }
+
+    private @NotNull LoadingCache<K, V> build(long maximumSize) {
+        return CacheBuilder.newBuilder()
+                .expireAfterAccess(expireAfterAccess, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(loader);
+    }
+
+    /**
+     * Get the value of given key, loading it if it isn't cached.
+     *
+     * @param key The key.
+     * @return The cached or loaded value.
+     * @throws ExecutionException If the loader threw an exception.
+     * @since 0.3-Alpha
+     */
+    public @NotNull V get(@NotNull K key) throws ExecutionException {
+        return cache.get(key);
+    }
+
+    /**
+     * Get the value of given key, only if it's cached.
+     *
+     * @param key The key.
+     * @return The cached value, or null if it isn't cached.
+     * @since 0.3-Alpha
+     */
+    public @Nullable V getIfPresent(@NotNull K key) {
+        return cache.getIfPresent(key);
+    }
+
+    public @NotNull String name() {
+        return name;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * The estimated amount of memory a single entry uses when fully populated.
+     *
+     * @return The estimated size of an entry in bytes.
+     * @since 0.3-Alpha
+     */
+    public long entryBytes() {
+        return entryBytes;
+    }
+
+    /**
+     * The amount of entries needed to cover a single chunk, used to estimate the working set.
+     *
+     * @return The amount of entries per chunk.
+     * @since 0.3-Alpha
+     */
+    public long chunkEntries() {
+        return chunkEntries;
+    }
+
+    /**
+     * Get the statistics of this cache, including the ones of caches replaced by a resize.
+     *
+     * @return The statistics over the lifetime of this cache.
+     * @since 0.3-Alpha
+     */
+    public synchronized @NotNull CacheStats stats() {
+        return retiredStats.plus(cache.stats());
+    }
+
+    /**
+     * Resize the cache, entries are copied over to the new cache until it's full.
+     *
+     * @param maximumSize The new maximum amount of entries.
+     * @since 0.3-Alpha
+     */
+    public synchronized void resize(long maximumSize) {
+        if (maximumSize == this.maximumSize) return;
+        LoadingCache<K, V> oldCache = this.cache;
+        LoadingCache<K, V> newCache = build(maximumSize);
+        newCache.putAll(oldCache.asMap());
+        this.cache = newCache;
+        this.maximumSize = maximumSize;
+        this.retiredStats = retiredStats.plus(oldCache.stats());
+    }
+
+    /**
+     * Adapts the size of the cache to the estimated working set, scaled by the hit rate observed since the
+     * previous call. If the hit rate is below target while entries are being evicted, the cache grows past the
+     * estimate, if the target is met without evictions it slowly shrinks back.
+     *
+     * @param workingSet    The estimated amount of entries in use.
+     * @param maxEntries    The maximum amount of entries allowed by the memory cap.
+     * @param targetHitRate The hit rate to aim for.
+     * @return If the cache has been resized.
+     */
+    synchronized boolean adapt(long workingSet, long maxEntries, double targetHitRate) {
+        CacheStats current = stats();
+        CacheStats window = current.minus(windowStart);
+        if (window.requestCount() >= MIN_WINDOW_REQUESTS) {
+            windowStart = current;
+            if (window.hitRate() < targetHitRate && window.evictionCount() > 0) {
+                scale = Math.min(MAX_SCALE, scale * 1.5);
+            } else if (window.hitRate() >= targetHitRate && window.evictionCount() == 0) {
+                scale = Math.max(MIN_SCALE, scale * 0.9);
+            }
+        }
+        long target = Math.max(Distributor.MIN_CACHE_SIZE, Math.min(maxEntries, (long) (workingSet * scale)));
+
+        // Rebuilding the cache isn't free, so ignore small changes.
+        if (Math.abs(target - maximumSize) * 10 < maximumSize) return false;
+        resize(target);
+        return true;
+    }
+
+}
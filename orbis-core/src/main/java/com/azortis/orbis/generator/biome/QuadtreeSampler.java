@@ -0,0 +1,127 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Samples the biome map of a {@link Distributor} one coarse cell at a time. The corners of a cell are sampled
+ * first, if they all agree on a single biome without any blending the cell is filled from its corners, otherwise
+ * the cell is split in four and every quadrant is refined the same way, down to single sections. So only the
+ * sections along biome borders are sampled individually.
+ * <p>
+ * The sections inside a filled cell reuse the section of the nearest corner, so their strength maps are
+ * approximated. Biomes smaller than a cell can be missed if they don't touch any of its corners.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+final class QuadtreeSampler {
+
+    private final Distributor distributor;
+    private final int cellShift;
+    private final int cellSize;
+
+    /**
+     * @param distributor The distributor to sample.
+     * @param cellSize    The size of a cell in sections, must be a power of two.
+     */
+    QuadtreeSampler(@NotNull Distributor distributor, int cellSize) {
+        this.distributor = distributor;
+        this.cellShift = Integer.numberOfTrailingZeros(cellSize);
+        this.cellSize = cellSize;
+    }
+
+    int cellShift() {
+        return cellShift;
+    }
+
+    /**
+     * Get the index of a section in the array returned by {@link #sampleCell(int, int)}.
+     *
+     * @param x The section x coordinate.
+     * @param z The section z coordinate.
+     * @return The index of the section in its cell.
+     */
+    int index(int x, int z) {
+        final int mask = cellSize - 1;
+        return ((z & mask) << cellShift) | (x & mask);
+    }
+
+    @NotNull BiomeSection[] sampleCell(int cellX, int cellZ) {
+        final Cell cell = new Cell(cellX << cellShift, cellZ << cellShift);
+        cell.fill(0, 0, cellSize);
+        return cell.sections;
+    }
+
+    private static boolean isPure(@NotNull BiomeSection section) {
+        return section.biomeStrength() >= 1d;
+    }
+
+    private final class Cell {
+        private final int baseX;
+        private final int baseZ;
+
+        // Includes the far edges, which are the corners shared with the neighbouring cells.
+        private final BiomeSection[] samples = new BiomeSection[(cellSize + 1) * (cellSize + 1)];
+        private final BiomeSection[] sections = new BiomeSection[cellSize * cellSize];
+
+        private Cell(int baseX, int baseZ) {
+            this.baseX = baseX;
+            this.baseZ = baseZ;
+        }
+
+        private void fill(int x, int z, int size) {
+            if (size == 1) {
+                sections[(z << cellShift) | x] = sample(x, z);
+                return;
+            }
+            final BiomeSection s00 = sample(x, z);
+            final BiomeSection s10 = sample(x + size, z);
+            final BiomeSection s01 = sample(x, z + size);
+            final BiomeSection s11 = sample(x + size, z + size);
+            final int half = size >> 1;
+            if (isPure(s00) && isPure(s10) && isPure(s01) && isPure(s11) && s00.biome() == s10.biome()
+                    && s00.biome() == s01.biome() && s00.biome() == s11.biome()) {
+                for (int dz = 0; dz < size; dz++) {
+                    for (int dx = 0; dx < size; dx++) {
+                        sections[((z + dz) << cellShift) | (x + dx)] = dz < half ? (dx < half ? s00 : s10) :
+                                (dx < half ? s01 : s11);
+                    }
+                }
+                return;
+            }
+            fill(x, z, half);
+            fill(x + half, z, half);
+            fill(x, z + half, half);
+            fill(x + half, z + half, half);
+        }
+
+        private @NotNull BiomeSection sample(int x, int z) {
+            final int index = z * (cellSize + 1) + x;
+            BiomeSection section = samples[index];
+            if (section == null) {
+                section = distributor.sample(baseX + x, baseZ + z);
+                samples[index] = section;
+            }
+            return section;
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome.cellular;
+
+import com.azortis.orbis.generator.biome.Biome;
+import com.azortis.orbis.generator.biome.BiomeLayout;
+import com.azortis.orbis.generator.biome.BiomeSection;
+import com.azortis.orbis.generator.biome.Distributor;
+import com.azortis.orbis.generator.biome.DistributorCache;
+import com.azortis.orbis.generator.point.PointBuffer;
+import com.azortis.orbis.generator.point.PointGatherer;
+import com.azortis.orbis.generator.point.PointGrid;
+import com.azortis.orbis.generator.point.PointRegionCache;
+import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.Invoke;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import com.azortis.orbis.util.math.Point2i;
+import com.azortis.orbis.world.World;
+import com.google.common.cache.CacheLoader;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A distributor that divides the world into cells around the points of a jittered hex grid, every cell gets a
+ * biome picked by the hash of its point. Borders between cells of different biomes are blended by the difference
+ * between the distance to the nearest point and the nearest point of another biome.
+ * <p>
+ * The points that can affect a chunk are gathered once per chunk and cached, so every section in the chunk
+ * only has to find the nearest points in a short list instead of gathering the lattice again.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@Description("Distributor that places biomes in voronoi cells, like a jittered honeycomb.")
+public final class CellularDistributor extends Distributor {
+
+    // Rough memory estimate of a single cached point, its coordinates & hash in the grid and its biome.
+    private static final long POINT_BYTES = 2 * 8 + 4 + 4;
+
+    // Rough memory estimate of a single grid cell, the index its points start at.
+    private static final long CELL_BYTES = 4;
+
+    // Enough chunks for a single player with a view distance of 16, adaptive mode resizes it from there.
+    private static final long INITIAL_CACHE_SIZE = 33 * 33;
+
+    @Required
+    @Min(floating = 0.0001d)
+    @Description("The frequency of the cell points, 1/frequency is roughly the width of a cell in blocks.")
+    private final double frequency;
+
+    @Min(floating = 0d)
+    @Description("""
+            The distance in blocks over which two neighbouring cells of different biomes blend into each other,
+            0 means biomes have hard borders.""")
+    private final double blendDistance;
+
+    @Description("The salt that is applied to the world seed, so different distributors have different cells.")
+    private final long salt;
+
+    @Inject
+    private transient World world;
+
+    private transient long seed;
+    private transient PointRegionCache gatherer;
+    private transient int pointsPerChunk;
+    // The cache loader gathers into a buffer per thread, the grid copies the points out of it.
+    private transient ThreadLocal<PointBuffer> buffers;
+    private transient DistributorCache<Point2i, Cells> cellCache;
+
+    private CellularDistributor(@NotNull String name, @NotNull Key providerKey, double frequency,
+                                double blendDistance, long salt) {
+        super(name, providerKey);
+        this.frequency = frequency;
+        this.blendDistance = blendDistance;
+        this.salt = salt;
+    }
+
+    // Sizes the cell cache with createCache, which needs the caches of the Distributor setup to exist.
+    @Invoke(when = Invoke.Order.POST_CLASS_INJECTION)
+    private void setupCells() {
+        this.seed = world.getWorldInfo().seed() ^ (salt * 0x9E3779B97F4A7C15L);
+
+        // The nearest point is always within this distance, and points further away than the nearest point plus
+        // the blend distance can't affect the blend strength anymore.
+        final double radius = PointGatherer.MAX_GRIDSCALE_DISTANCE_TO_CLOSEST_POINT / frequency + blendDistance;
+        this.gatherer = new PointRegionCache(frequency, radius);
+
+        final PointBuffer points = new PointBuffer(64);
+        gatherer.gatherPointsFromChunkBase(seed, 0, 0, points);
+        this.pointsPerChunk = points.size();
+        this.buffers = ThreadLocal.withInitial(() -> new PointBuffer(pointsPerChunk + 16));
+        final long cellBytes = (PointGrid.of(points, 1 / frequency).cells() + 1L) * CELL_BYTES;
+        this.cellCache = createCache("cell points", pointsPerChunk * POINT_BYTES + cellBytes, 1,
+                INITIAL_CACHE_SIZE, new CacheLoader<>() {
+                    @Override
+                    public @NotNull Cells load(@NotNull Point2i chunk) {
+                        return gather(chunk.x(), chunk.z());
+                    }
+                });
+    }
+
+    private @NotNull Cells gather(int chunkX, int chunkZ) {
+        final PointBuffer points = buffers.get();
+        points.clear();
+        gatherer.gatherPointsFromChunkBase(seed, chunkX << 4, chunkZ << 4, points);
+        final PointGrid grid = PointGrid.of(points, 1 / frequency);
+        final int biomeCount = biomeCount();
+        final int[] biomes = new int[grid.size()];
+        for (int i = 0; i < grid.size(); i++) {
+            biomes[i] = Math.floorMod(grid.hash(i), biomeCount);
+        }
+        return new Cells(grid, biomes);
+    }
+
+    @Override
+    protected @NotNull BiomeSection sample(int x, int z) {
+        final int blockX = x << 2;
+        final int blockZ = z << 2;
+        final Cells cells;
+        try {
+            cells = cellCache.get(new Point2i(blockX >> 4, blockZ >> 4));
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to gather the cells of chunk " + (blockX >> 4) + ", " +
+                    (blockZ >> 4), ex);
+        }
+
+        // Find the nearest point.
+        final int nearest = cells.grid.nearest(blockX, blockZ);
+        final Biome biome = getBiome(cells.biomes[nearest]);
+        if (blendDistance <= 0d) {
+            return new BiomeSection(biome, 1d, Map.of(biome, 1d), Map.of());
+        }
+
+        // Find the nearest point of another biome, neighbouring cells of the same biome don't have a border.
+        final int second = cells.grid.nearestExcluding(blockX, blockZ, cells.biomes, biome.id());
+        if (second < 0) {
+            return new BiomeSection(biome, 1d, Map.of(biome, 1d), Map.of());
+        }
+
+        final double nearestDistance = cells.grid.distanceSquared(nearest, blockX, blockZ);
+        final double secondDistance = cells.grid.distanceSquared(second, blockX, blockZ);
+        final double margin = Math.sqrt(secondDistance) - Math.sqrt(nearestDistance);
+        final double strength = Math.min(1d, 0.5d + 0.5d * margin / blendDistance);
+        if (strength >= 1d) {
+            return new BiomeSection(biome, 1d, Map.of(biome, 1d), Map.of());
+        }
+        return new BiomeSection(biome, strength, Map.of(biome, strength,
+                getBiome(cells.biomes[second]), 1d - strength), Map.of());
+    }
+
+    @Override
+    protected @NotNull BiomeSection sample(int x, int y, int z) {
+        throw new UnsupportedOperationException("This distributor only supports 2d biomes");
+    }
+
+    @Override
+    public @NotNull BiomeLayout layout() {
+        return BiomeLayout.SURFACE;
+    }
+
+    /**
+     * The points that can affect a chunk, indexed in a grid with the biome of each point.
+     */
+    private record Cells(PointGrid grid, int[] biomes) {
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome.climate;
+
+import com.azortis.orbis.generator.biome.Biome;
+import com.azortis.orbis.generator.biome.BiomeLayout;
+import com.azortis.orbis.generator.biome.BiomeSection;
+import com.azortis.orbis.generator.biome.Distributor;
+import com.azortis.orbis.pack.Invoke;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
+import com.azortis.orbis.pack.studio.annotations.MinItems;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A distributor that places every biome at one or more points in an N-dimensional climate space, where each
+ * dimension is a {@link ClimateParameter} driven by a noise. The biome of a section is the biome of the point
+ * nearest to the sampled climate. The points are indexed by a KD-tree at load time, so a lookup only visits a
+ * logarithmic amount of points.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@Description("Distributor that picks the biome nearest to the sampled climate, i.e. temperature & humidity.")
+public final class ClimateDistributor extends Distributor {
+
+    @Required
+    @MinItems
+    @Description("The parameters that span the climate space, each parameter is driven by its own noise.")
+    private final List<ClimateParameter> parameters;
+
+    @Required
+    @MinItems
+    @Description("The location of each biome in the climate space, a biome may have multiple points.")
+    private final List<ClimatePoint> points;
+
+    @Min(floating = 0d)
+    @Description("""
+            The distance in climate space over which two neighbouring biomes blend into each other,
+            0 means biomes have hard borders.""")
+    private final double blendDistance;
+
+    private transient ClimateTree tree;
+
+    private ClimateDistributor(@NotNull String name, @NotNull Key providerKey, @NotNull List<ClimateParameter> parameters,
+                               @NotNull List<ClimatePoint> points, double blendDistance) {
+        super(name, providerKey);
+        this.parameters = parameters;
+        this.points = points;
+        this.blendDistance = blendDistance;
+    }
+
+    // The tree stores the biome id of every climate point, see the Distributor docs on when ids are available.
+    @Invoke(when = Invoke.Order.POST_CLASS_INJECTION)
+    private void buildTree() {
+        final Map<String, Integer> parameterIndices = new HashMap<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameterIndices.put(parameters.get(i).name(), i) != null) {
+                throw new IllegalArgumentException("Climate parameter " + parameters.get(i).name() +
+                        " is defined twice in distributor " + name);
+            }
+        }
+
+        final double[][] coords = new double[points.size()][parameters.size()];
+        final int[] biomes = new int[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            final ClimatePoint point = points.get(i);
+            for (Map.Entry<String, Integer> parameter : parameterIndices.entrySet()) {
+                Double value = point.climate().get(parameter.getKey());
+                if (value == null) {
+                    throw new IllegalArgumentException("Climate point of biome " + point.biome() +
+                            " doesn't specify a value for parameter " + parameter.getKey());
+                }
+                coords[i][parameter.getValue()] = value * parameters.get(parameter.getValue()).effectiveWeight();
+            }
+            biomes[i] = getBiome(point.biome()).id();
+        }
+        this.tree = new ClimateTree(coords, biomes);
+    }
+
+    @Override
+    protected @NotNull BiomeSection sample(int x, int z) {
+        final int blockX = x << 2;
+        final int blockZ = z << 2;
+        final double[] climate = new double[parameters.size()];
+        final Map<String, Double> climateMap = new HashMap<>(parameters.size());
+        for (int i = 0; i < climate.length; i++) {
+            final ClimateParameter parameter = parameters.get(i);
+            final double value = parameter.sample(blockX, blockZ);
+            climateMap.put(parameter.name(), value);
+            climate[i] = value * parameter.effectiveWeight();
+        }
+
+        final boolean blend = blendDistance > 0d;
+        final ClimateTree.Result result = new ClimateTree.Result();
+        tree.nearest(climate, result, blend);
+        final Biome biome = getBiome(result.biome);
+        if (!blend || result.secondBiome < 0) {
+            return new BiomeSection(biome, 1d, Map.of(biome, 1d), climateMap);
+        }
+
+        // Blend based on how much closer the nearest biome is than the nearest other biome.
+        final double margin = Math.sqrt(result.secondDistance) - Math.sqrt(result.distance);
+        final double strength = Math.min(1d, 0.5d + 0.5d * margin / blendDistance);
+        if (strength >= 1d) {
+            return new BiomeSection(biome, 1d, Map.of(biome, 1d), climateMap);
+        }
+        return new BiomeSection(biome, strength, Map.of(biome, strength,
+                getBiome(result.secondBiome), 1d - strength), climateMap);
+    }
+
+    @Override
+    protected @NotNull BiomeSection sample(int x, int y, int z) {
+        throw new UnsupportedOperationException("This distributor only supports 2d biomes");
+    }
+
+    @Override
+    public @NotNull BiomeLayout layout() {
+        return BiomeLayout.SURFACE;
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome.climate;
+
+import com.azortis.orbis.generator.noise.Noise;
+import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
+import com.azortis.orbis.pack.studio.annotations.Required;
+
+/**
+ * A single dimension of the climate space, i.e. temperature or humidity.
+ *
+ * @param name   The name of the parameter, used by {@link ClimatePoint} to reference it.
+ * @param noise  The noise that drives the parameter.
+ * @param weight How much the distance along this parameter counts towards the total distance.
+ */
+@Inject
+public record ClimateParameter(
+        @Required @Description("The name of the parameter, i.e. temperature.") String name,
+        @Required @Description("The noise that drives the value of this parameter.") Noise noise,
+        @Min(floating = 0d) @Description("How much the distance along this parameter counts, defaults to 1.")
+        double weight) {
+
+    public double sample(double x, double z) {
+        return noise.noise(x, z);
+    }
+
+    /**
+     * Gson doesn't apply default values, so a missing weight is deserialized as 0.
+     *
+     * @return The weight of this parameter.
+     */
+    public double effectiveWeight() {
+        return weight == 0d ? 1d : weight;
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome.climate;
+
+import com.azortis.orbis.generator.biome.Biome;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Entries;
+import com.azortis.orbis.pack.studio.annotations.Required;
+
+import java.util.Map;
+
+/**
+ * The location of a biome in the climate space, a biome can have multiple points.
+ *
+ * @param biome   The name of the biome.
+ * @param climate The value for each {@link ClimateParameter} by name.
+ */
+public record ClimatePoint(
+        @Required @Entries(Biome.class) @Description("The name of the biome at this point.") String biome,
+        @Required @Description("The value of each climate parameter at this point, by parameter name.")
+        Map<String, Double> climate) {
+}
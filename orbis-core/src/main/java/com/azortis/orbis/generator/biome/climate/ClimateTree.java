@@ -0,0 +1,158 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome.climate;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A static KD-tree over the climate points of a {@link ClimateDistributor}. The tree is stored implicitly, the node
+ * of the index range [lo, hi) is the median at (lo + hi) / 2, with its left subtree in [lo, mid) and its right
+ * subtree in [mid + 1, hi). Every node splits along the axis with the largest spread of its range.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+final class ClimateTree {
+
+    private final int dimensions;
+    private final int size;
+    private final double[] coords;
+    private final int[] biomes;
+    private final int[] axes;
+
+    /**
+     * Builds the tree.
+     *
+     * @param points The coordinates of each point, must all have the same amount of dimensions.
+     * @param biomes The biome id of each point.
+     */
+    ClimateTree(@NotNull double[][] points, @NotNull int[] biomes) {
+        this.dimensions = points.length == 0 ? 0 : points[0].length;
+        this.size = points.length;
+        this.coords = new double[size * dimensions];
+        this.biomes = new int[size];
+        this.axes = new int[size];
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        build(points, order, 0, size);
+        for (int node = 0; node < size; node++) {
+            System.arraycopy(points[order[node]], 0, coords, node * dimensions, dimensions);
+            this.biomes[node] = biomes[order[node]];
+        }
+    }
+
+    private void build(double[][] points, Integer[] order, int lo, int hi) {
+        if (hi - lo <= 0) return;
+        int axis = 0;
+        double maxSpread = -1;
+        for (int dimension = 0; dimension < dimensions; dimension++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                double value = points[order[i]][dimension];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > maxSpread) {
+                maxSpread = max - min;
+                axis = dimension;
+            }
+        }
+        final int splitAxis = axis;
+        Arrays.sort(order, lo, hi, Comparator.comparingDouble(index -> points[index][splitAxis]));
+        final int mid = (lo + hi) >>> 1;
+        axes[mid] = splitAxis;
+        build(points, order, lo, mid);
+        build(points, order, mid + 1, hi);
+    }
+
+    /**
+     * Finds the nearest point to the query, and if requested the nearest point that has a different biome
+     * than the nearest point.
+     *
+     * @param query      The climate to search for, must have the same amount of dimensions as the tree.
+     * @param result     The result to write to, must be reset.
+     * @param withSecond If the nearest point of another biome should be searched for as well.
+     */
+    void nearest(@NotNull double[] query, @NotNull Result result, boolean withSecond) {
+        search(query, result, withSecond, 0, size);
+    }
+
+    private void search(double[] query, Result result, boolean withSecond, int lo, int hi) {
+        if (lo >= hi) return;
+        final int node = (lo + hi) >>> 1;
+        final int offset = node * dimensions;
+        double distance = 0;
+        for (int dimension = 0; dimension < dimensions; dimension++) {
+            double delta = query[dimension] - coords[offset + dimension];
+            distance += delta * delta;
+        }
+        result.offer(biomes[node], distance);
+
+        final double delta = query[axes[node]] - coords[offset + axes[node]];
+        if (delta < 0) {
+            search(query, result, withSecond, lo, node);
+            if (delta * delta < result.bound(withSecond)) search(query, result, withSecond, node + 1, hi);
+        } else {
+            search(query, result, withSecond, node + 1, hi);
+            if (delta * delta < result.bound(withSecond)) search(query, result, withSecond, lo, node);
+        }
+    }
+
+    /**
+     * The result of a nearest neighbour search, distances are squared.
+     */
+    static final class Result {
+        int biome = -1;
+        double distance = Double.POSITIVE_INFINITY;
+        int secondBiome = -1;
+        double secondDistance = Double.POSITIVE_INFINITY;
+
+        void reset() {
+            biome = -1;
+            distance = Double.POSITIVE_INFINITY;
+            secondBiome = -1;
+            secondDistance = Double.POSITIVE_INFINITY;
+        }
+
+        private void offer(int candidateBiome, double candidateDistance) {
+            if (candidateBiome == biome) {
+                distance = Math.min(distance, candidateDistance);
+            } else if (candidateDistance < distance) {
+                // The previous nearest point is now the nearest point of another biome.
+                secondBiome = biome;
+                secondDistance = distance;
+                biome = candidateBiome;
+                distance = candidateDistance;
+            } else if (candidateDistance < secondDistance) {
+                secondBiome = candidateBiome;
+                secondDistance = candidateDistance;
+            }
+        }
+
+        private double bound(boolean withSecond) {
+            return withSecond ? secondDistance : distance;
+        }
+    }
+
+}
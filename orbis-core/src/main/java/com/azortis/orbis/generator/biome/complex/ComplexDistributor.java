@@ -36,6 +36,7 @@ import com.azortis.orbis.pack.data.Component;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -74,6 +75,23 @@ public final class ComplexDistributor extends Distributor {
 
     }
 
+    // Runs once all regions are injected, strength layers aren't part of the distributor config yet.
+    @Invoke(when = Invoke.Order.POST_INJECTION)
+    private void quantize() {
+        final Map<String, Quantization> noiseQuantizations = new HashMap<>();
+        if (globalNoiseLayers != null) {
+            for (NoiseLayer noiseLayer : globalNoiseLayers) {
+                noiseQuantizations.put(noiseLayer.tag(), noiseLayer.quantization());
+            }
+        }
+        if (initialRegions != null) {
+            for (RegionLayer region : initialRegions) {
+                Region.quantize(region, noiseQuantizations, Map.of());
+            }
+        }
+        Region.quantize(fallbackRegion, noiseQuantizations, Map.of());
+    }
+
     @Override
     protected @NotNull BiomeSection sample(int x, int z) {
         return null;
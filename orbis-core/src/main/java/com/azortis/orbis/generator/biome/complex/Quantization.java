@@ -0,0 +1,89 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome.complex;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The quantization of a noise or strength layer, values are rounded to steps of 1/precision in the range [-1, 1].
+ * Anything that only depends on the value of a layer can be precomputed into a table with an entry per step.
+ *
+ * @param precision The amount of steps per unit.
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public record Quantization(int precision) {
+
+    public Quantization {
+        if (precision < 1) throw new IllegalArgumentException("Precision must be at least 1, but is " + precision);
+    }
+
+    public double quantize(double value) {
+        return (double) Math.round(precision * value) / precision;
+    }
+
+    /**
+     * Get the index of a quantized value in a table of this quantization. Only values that are exactly a step of
+     * this quantization have an index, so a table lookup always gives the same result as computing the value.
+     *
+     * @param value The quantized value.
+     * @return The index in the table, or -1 if the value lies outside the table or isn't a step of it.
+     */
+    public int index(double value) {
+        final long step = Math.round(precision * value);
+        if ((double) step / precision != value) return -1;
+        final long index = step + precision;
+        return index >= 0 && index <= 2L * precision ? (int) index : -1;
+    }
+
+    /**
+     * Requirements & modifiers are global definitions, so the same instance can be quantized in several contexts.
+     * A table is only built if the tag has the same quantization in all of them.
+     *
+     * @param quantized If the instance has been quantized before.
+     * @param current   The quantization the instance was quantized with before.
+     * @param next      The quantization of the tag in the current context.
+     * @return The quantization to build the table for, or null if the quantizations conflict.
+     */
+    public static @Nullable Quantization shared(boolean quantized, @Nullable Quantization current,
+                                                @Nullable Quantization next) {
+        return quantized && !Objects.equals(current, next) ? null : next;
+    }
+
+    public double[] valueTable(DoubleUnaryOperator function) {
+        final double[] table = new double[2 * precision + 1];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = function.applyAsDouble((double) (i - precision) / precision);
+        }
+        return table;
+    }
+
+    public boolean[] predicateTable(DoublePredicate predicate) {
+        final boolean[] table = new boolean[2 * precision + 1];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = predicate.test((double) (i - precision) / precision);
+        }
+        return table;
+    }
+
+}
@@ -19,11 +19,14 @@
 package com.azortis.orbis.generator.biome.complex;
 
 import com.azortis.orbis.generator.biome.complex.layer.BiomeLayer;
+import com.azortis.orbis.generator.biome.complex.layer.Layer;
 import com.azortis.orbis.generator.biome.complex.layer.NoiseLayer;
 import com.azortis.orbis.generator.biome.complex.layer.RegionLayer;
 import com.azortis.orbis.pack.studio.annotations.ArrayType;
 import com.azortis.orbis.pack.studio.annotations.Required;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 public final class Region {
@@ -42,4 +45,41 @@ public final class Region {
     private RegionLayer fallbackRegion;
     private BiomeLayer fallbackBiome;
 
+    /**
+     * Precompute the layers of this region and its child regions, the noise layers of this region are added to the
+     * noise layers inherited from the parent.
+     *
+     * @param noiseQuantizations    The quantization of every inherited noise layer by tag.
+     * @param strengthQuantizations The quantization of every strength layer by tag.
+     */
+    void quantize(Map<String, Quantization> noiseQuantizations, Map<String, Quantization> strengthQuantizations) {
+        final Map<String, Quantization> quantizations = new HashMap<>(noiseQuantizations);
+        if (noiseLayers != null) {
+            for (NoiseLayer noiseLayer : noiseLayers) {
+                quantizations.put(noiseLayer.tag(), noiseLayer.quantization());
+            }
+        }
+        if (regions != null) {
+            for (RegionLayer region : regions) {
+                quantize(region, quantizations, strengthQuantizations);
+            }
+        }
+        if (biomes != null) {
+            for (BiomeLayer biome : biomes) {
+                quantize(biome, quantizations, strengthQuantizations);
+            }
+        }
+        quantize(fallbackRegion, quantizations, strengthQuantizations);
+        quantize(fallbackBiome, quantizations, strengthQuantizations);
+    }
+
+    static void quantize(Layer<?> layer, Map<String, Quantization> noiseQuantizations,
+                         Map<String, Quantization> strengthQuantizations) {
+        if (layer == null) return;
+        layer.quantize(noiseQuantizations, strengthQuantizations);
+        if (layer instanceof RegionLayer regionLayer && regionLayer.getObject() != null) {
+            regionLayer.getObject().quantize(noiseQuantizations, strengthQuantizations);
+        }
+    }
+
 }
@@ -18,11 +18,13 @@
 
 package com.azortis.orbis.generator.biome.complex.layer;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import com.azortis.orbis.generator.biome.complex.modifier.Modifier;
 import com.azortis.orbis.generator.biome.complex.requirement.Requirement;
 import com.azortis.orbis.pack.studio.annotations.ArrayType;
 import com.azortis.orbis.pack.studio.annotations.InheritFields;
 
+import java.util.Map;
 import java.util.Set;
 
 @InheritFields
@@ -41,6 +43,26 @@ public sealed abstract class Layer<T> permits RegionLayer, BiomeLayer {
         this.modifiers = modifiers;
     }
 
+    /**
+     * Precompute the requirements and modifiers of this layer for the quantized values of the layers in context.
+     *
+     * @param noiseQuantizations    The quantization of every noise layer in context by tag.
+     * @param strengthQuantizations The quantization of every strength layer in context by tag.
+     */
+    public void quantize(Map<String, Quantization> noiseQuantizations,
+                         Map<String, Quantization> strengthQuantizations) {
+        if (requirements != null) {
+            for (Requirement requirement : requirements) {
+                requirement.quantize(requirement.getType() == Requirement.Type.NOISE ? noiseQuantizations :
+                        strengthQuantizations);
+            }
+        }
+        if (modifiers != null) {
+            for (Modifier modifier : modifiers) {
+                modifier.quantize(noiseQuantizations);
+            }
+        }
+    }
 
     public abstract Class<T> getType();
 
@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.biome.complex.layer;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import com.azortis.orbis.generator.noise.Noise;
 import com.azortis.orbis.pack.studio.annotations.Min;
 import com.azortis.orbis.pack.studio.annotations.Required;
@@ -28,4 +29,8 @@ public record NoiseLayer(@Required String tag, @Required Noise noise, @Required
         return (double) Math.round(precision * noise.noise(x, z)) / precision;
     }
 
+    public Quantization quantization() {
+        return new Quantization(precision);
+    }
+
 }
@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.biome.complex.layer;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import com.azortis.orbis.generator.biome.complex.modifier.Modifier;
 import com.azortis.orbis.pack.studio.annotations.ArrayType;
 import com.azortis.orbis.pack.studio.annotations.Min;
@@ -37,4 +38,19 @@ public record StrengthLayer(@Required String tag, @ArrayType(Modifier.class) Set
         return (double) Math.round(precision * strength) / precision;
     }
 
+    public Quantization quantization() {
+        return new Quantization(precision);
+    }
+
+    /**
+     * Precompute the modifiers of this layer, see {@link Modifier#quantize(Map)}.
+     *
+     * @param noiseQuantizations The quantization of every noise layer in context by tag.
+     */
+    public void quantize(Map<String, Quantization> noiseQuantizations) {
+        for (Modifier modifier : modifiers) {
+            modifier.quantize(noiseQuantizations);
+        }
+    }
+
 }
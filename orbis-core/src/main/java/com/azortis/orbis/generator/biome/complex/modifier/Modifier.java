@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.biome.complex.modifier;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import com.azortis.orbis.pack.studio.annotations.GlobalDefinition;
 import com.azortis.orbis.pack.studio.annotations.Typed;
 import net.kyori.adventure.key.Key;
@@ -34,6 +35,15 @@ public abstract class Modifier {
         this.type = type;
     }
 
+    /**
+     * Precompute the outcome of this modifier for every quantized value of the noise layer it depends on,
+     * so {@link #modify(double, Map, Map)} becomes a table lookup. Does nothing by default.
+     *
+     * @param quantizations The quantization of every noise layer in context by tag.
+     */
+    public void quantize(Map<String, Quantization> quantizations) {
+    }
+
     public abstract double modify(double currentStrength, Map<String, Double> noiseContext, Map<String, Double> strengthContext);
 
 }
@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.biome.complex.modifier;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import net.kyori.adventure.key.Key;
 
 import java.util.Map;
@@ -29,6 +30,12 @@ public final class RangedLinearModifier extends Modifier {
     private final double min;
     private final double max;
 
+    // Modifier per quantized value of the tag, null if the precision of the tag is unknown or differs between the
+    // contexts this modifier is used in.
+    private transient boolean quantized;
+    private transient Quantization quantization;
+    private transient double[] modifiers;
+
     private RangedLinearModifier(Key type, String tag, double[] fullRange, double min, double max) {
         super(type);
         this.tag = tag;
@@ -37,9 +44,24 @@ public final class RangedLinearModifier extends Modifier {
         this.max = max;
     }
 
+    @Override
+    public void quantize(Map<String, Quantization> quantizations) {
+        this.quantization = Quantization.shared(quantized, quantization, quantizations.get(tag));
+        this.quantized = true;
+        this.modifiers = quantization != null ? quantization.valueTable(this::modifier) : null;
+    }
+
     @Override
     public double modify(double currentStrength, Map<String, Double> noiseContext, Map<String, Double> strengthContext) {
         double tagNoise = noiseContext.get(tag);
+        if (modifiers != null) {
+            int index = quantization.index(tagNoise);
+            if (index >= 0) return modifiers[index] * currentStrength;
+        }
+        return modifier(tagNoise) * currentStrength;
+    }
+
+    private double modifier(double tagNoise) {
         double modifier = 1.0d;
 
         double fullMin = Math.min(fullRange[0], fullRange[1]);
@@ -71,6 +93,6 @@ public final class RangedLinearModifier extends Modifier {
                 modifier = 0.0d; // It is outside any of the ranges and thus 0.
             }
         }
-        return modifier * currentStrength;
+        return modifier;
     }
 }
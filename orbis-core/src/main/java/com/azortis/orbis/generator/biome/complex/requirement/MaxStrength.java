@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.biome.complex.requirement;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
 
@@ -28,16 +29,32 @@ public final class MaxStrength extends Requirement {
     private final String tag;
     private final double max;
 
+    private transient boolean quantized;
+    private transient Quantization quantization;
+    private transient boolean[] achieved;
+
     public MaxStrength(Key type, String tag, double max) {
         super(type);
         this.tag = tag;
         this.max = max;
     }
 
+    @Override
+    public void quantize(Map<String, Quantization> quantizations) {
+        this.quantization = Quantization.shared(quantized, quantization, quantizations.get(tag));
+        this.quantized = true;
+        this.achieved = quantization != null ? quantization.predicateTable(strength -> strength <= max) : null;
+    }
+
     @Override
     public boolean isAchieved(Map<String, Double> context) {
-        if (context.containsKey(tag)) {
-            return context.get(tag) <= max;
+        Double strength = context.get(tag);
+        if (strength != null) {
+            if (achieved != null) {
+                int index = quantization.index(strength);
+                if (index >= 0) return achieved[index];
+            }
+            return strength <= max;
         } else {
             throw new IllegalStateException("Tag " + tag + " wasn't found in context!");
         }
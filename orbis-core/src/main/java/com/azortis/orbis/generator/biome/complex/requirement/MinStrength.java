@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.biome.complex.requirement;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
 
@@ -28,16 +29,32 @@ public final class MinStrength extends Requirement {
     private final String tag;
     private final double min;
 
+    private transient boolean quantized;
+    private transient Quantization quantization;
+    private transient boolean[] achieved;
+
     public MinStrength(Key type, String tag, double min) {
         super(type);
         this.tag = tag;
         this.min = min;
     }
 
+    @Override
+    public void quantize(Map<String, Quantization> quantizations) {
+        this.quantization = Quantization.shared(quantized, quantization, quantizations.get(tag));
+        this.quantized = true;
+        this.achieved = quantization != null ? quantization.predicateTable(strength -> strength >= min) : null;
+    }
+
     @Override
     public boolean isAchieved(Map<String, Double> context) {
-        if (context.containsKey(tag)) {
-            return context.get(tag) >= min;
+        Double strength = context.get(tag);
+        if (strength != null) {
+            if (achieved != null) {
+                int index = quantization.index(strength);
+                if (index >= 0) return achieved[index];
+            }
+            return strength >= min;
         } else {
             throw new IllegalStateException("Tag " + tag + " wasn't found in context!");
         }
@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.biome.complex.requirement;
 
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
 
@@ -29,22 +30,41 @@ public final class NoiseRanges extends Requirement {
     private final String tag;
     private final Set<Range> ranges;
 
+    private transient boolean quantized;
+    private transient Quantization quantization;
+    private transient boolean[] achieved;
+
     private NoiseRanges(Key type, String tag, Set<Range> ranges) {
         super(type);
         this.tag = tag;
         this.ranges = ranges;
     }
 
+    @Override
+    public void quantize(Map<String, Quantization> quantizations) {
+        this.quantization = Quantization.shared(quantized, quantization, quantizations.get(tag));
+        this.quantized = true;
+        this.achieved = quantization != null ? quantization.predicateTable(this::inRange) : null;
+    }
+
     @Override
     public boolean isAchieved(Map<String, Double> context) {
-        if (context.containsKey(tag)) {
-            double noiseValue = context.get(tag);
-            for (Range range : ranges) {
-                if (range.min <= noiseValue && range.max >= noiseValue) return true;
+        Double noiseValue = context.get(tag);
+        if (noiseValue != null) {
+            if (achieved != null) {
+                int index = quantization.index(noiseValue);
+                if (index >= 0) return achieved[index];
             }
+            return inRange(noiseValue);
         } else {
             throw new IllegalStateException("Tag " + tag + " wasn't found in context!");
         }
+    }
+
+    private boolean inRange(double noiseValue) {
+        for (Range range : ranges) {
+            if (range.min <= noiseValue && range.max >= noiseValue) return true;
+        }
         return false;
     }
 
@@ -19,6 +19,7 @@
 package com.azortis.orbis.generator.biome.complex.requirement;
 
 import com.azortis.orbis.Registry;
+import com.azortis.orbis.generator.biome.complex.Quantization;
 import com.azortis.orbis.pack.studio.annotations.Description;
 import com.azortis.orbis.pack.studio.annotations.GlobalDefinition;
 import com.azortis.orbis.pack.studio.annotations.Required;
@@ -51,6 +52,16 @@ public abstract class Requirement {
         this.type = type;
     }
 
+    /**
+     * Precompute the outcome of this requirement for every quantized value of the layer it depends on,
+     * so {@link #isAchieved(Map)} becomes a table lookup. Does nothing by default.
+     *
+     * @param quantizations The quantization of every noise or strength layer in context by tag,
+     *                      depending on the {@link Type} of this requirement.
+     */
+    public void quantize(Map<String, Quantization> quantizations) {
+    }
+
     public abstract boolean isAchieved(Map<String, Double> context);
 
     public abstract @NotNull Type getType();
@@ -24,8 +24,10 @@ import com.azortis.orbis.block.Blocks;
 import com.azortis.orbis.exception.CoordsOutOfBoundsException;
 import com.azortis.orbis.exception.SectionCoordsOutOfBoundsException;
 import com.azortis.orbis.generator.Dimension;
+import com.azortis.orbis.generator.biome.Biome;
 import com.azortis.orbis.generator.biome.BiomeLayout;
 import com.azortis.orbis.generator.biome.BiomeSection;
+import com.azortis.orbis.generator.noise.NoiseCache;
 import com.azortis.orbis.util.annotations.AbsoluteCoords;
 import com.azortis.orbis.util.annotations.RelativeCoords;
 import com.azortis.orbis.util.annotations.SectionCoords;
@@ -60,6 +62,8 @@ public abstract class ChunkSnapshot {
 
     private final BiomeSection[] biomeMap;
     private final BiomeSection[] biomeSections;
+    private Biome uniformBiome;
+    private NoiseCache noiseCache;
 
     private final Map<Key, Heightmap> heightMaps = new HashMap<>();
 
@@ -161,7 +165,7 @@ public abstract class ChunkSnapshot {
         int xIndex = Math.abs(x - originX) >> 2;
         int yIndex = Math.abs(y - dimension.minHeight()) >> 2;
         int zIndex = Math.abs(z - originZ) >> 2;
-        return biomeSections[xIndex + yIndex * (dimension.verticalSize() >> 2) + (zIndex << 2)];
+        return biomeSections[xIndex + (zIndex << 2) + (yIndex << 4)];
     }
 
     @SectionCoords
@@ -176,7 +180,7 @@ public abstract class ChunkSnapshot {
         int xIndex = Math.abs(x - originX);
         int yIndex = Math.abs(y - (dimension.minHeight() >> 2));
         int zIndex = Math.abs(z - originZ);
-        int index = xIndex + yIndex * (dimension.verticalSize() >> 2) + (zIndex << 2);
+        int index = xIndex + (zIndex << 2) + (yIndex << 4);
         if (biomeSections[index] == null) {
             biomeSections[index] = section;
             return;
@@ -185,6 +189,73 @@ public abstract class ChunkSnapshot {
                 "chunk [%s,%s] has already been populated", index, chunkX(), chunkZ()));
     }
 
+    /**
+     * Checks if every populated section of this chunk has the same biome at full strength, which makes the
+     * result available through {@link ChunkSnapshot#uniformBiome()}. Called by the {@link Engine} once all the
+     * sections have been populated.
+     */
+    void detectUniformBiome() {
+        this.uniformBiome = uniformBiome(biomeMap, biomeSections);
+    }
+
+    // The arrays that the biome layout doesn't use are null.
+    static @Nullable Biome uniformBiome(@Nullable BiomeSection[] biomeMap, @Nullable BiomeSection[] biomeSections) {
+        Biome biome = null;
+        if (biomeMap != null) {
+            if (biomeMap[0] == null) return null;
+            biome = biomeMap[0].biome();
+            if (!isUniform(biomeMap, biome)) return null;
+        }
+        if (biomeSections != null) {
+            if (biome == null) {
+                if (biomeSections[0] == null) return null;
+                biome = biomeSections[0].biome();
+            }
+            if (!isUniform(biomeSections, biome)) return null;
+        }
+        return biome;
+    }
+
+    private static boolean isUniform(@NotNull BiomeSection[] sections, @NotNull Biome biome) {
+        for (BiomeSection section : sections) {
+            if (section == null || section.biome() != biome || section.biomeStrength() < 1d) return false;
+        }
+        return true;
+    }
+
+    /**
+     * If all the biome sections of this chunk share the same biome at full strength. Stages can use this to skip
+     * blending & per column biome lookups.
+     *
+     * @return If this chunk only contains a single biome.
+     * @since 0.3-Alpha
+     */
+    public boolean isUniform() {
+        return uniformBiome != null;
+    }
+
+    /**
+     * Get the biome of this chunk if all the biome sections share the same biome at full strength.
+     *
+     * @return The single biome of this chunk, or null if the chunk contains multiple biomes or blends between them.
+     * @since 0.3-Alpha
+     */
+    public @Nullable Biome uniformBiome() {
+        return uniformBiome;
+    }
+
+    /**
+     * Get the cache that memoizes values per block column of this chunk, so stages that sample the same surface or
+     * noise layer share the values.
+     *
+     * @return The noise cache of this chunk.
+     * @since 0.3-Alpha
+     */
+    public @NotNull NoiseCache noiseCache() {
+        if (noiseCache == null) noiseCache = new NoiseCache(chunkX(), chunkZ());
+        return noiseCache;
+    }
+
     public void addHeightMap(@NotNull Key type, @NotNull Heightmap heightmap) throws IllegalArgumentException {
         Preconditions.checkArgument(!heightMaps.containsKey(type), "Heightmap for type " + type.asString() +
                 " is already present!");
@@ -243,7 +314,7 @@ public abstract class ChunkSnapshot {
 
     @SectionCoords
     public boolean checkSectionBounds(int x, int y, int z) {
-        if ((y >> 2) < world.minHeight() || (y >> 2) > world.maxHeight()) return false;
+        if (y < (dimension.minHeight() >> 2) || y > (dimension.maxHeight() >> 2)) return false;
         return checkSectionBounds(x, z);
     }
 
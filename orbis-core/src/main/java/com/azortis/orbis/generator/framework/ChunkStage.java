@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.framework;
 
+import com.azortis.orbis.pack.Inject;
 import com.azortis.orbis.pack.studio.annotations.Required;
 import com.azortis.orbis.pack.studio.annotations.Typed;
 import net.kyori.adventure.key.Key;
@@ -26,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.random.RandomGenerator;
 
 @Typed
+@Inject
 public abstract class ChunkStage {
 
     @Required
@@ -20,6 +20,7 @@ package com.azortis.orbis.generator.framework;
 
 import com.azortis.orbis.generator.Dimension;
 import com.azortis.orbis.generator.biome.BiomeLayout;
+import com.azortis.orbis.generator.biome.BiomeSection;
 import com.azortis.orbis.generator.biome.Distributor;
 import com.azortis.orbis.world.World;
 import org.jetbrains.annotations.NotNull;
@@ -46,19 +47,29 @@ public final class Engine {
         // Populate the ChunkSnapshot with all the biomes sections.
         // This stage is *always* executed as the platform will already have read this data from
         // the distributor, and thus is already finalized.
-        int sectionOriginX = chunkX << 2;
-        int sectionOriginZ = chunkZ << 2;
-        for (int csx = 0; csx <= 4; csx++) {
+        final BiomeLayout layout = biomeLayout();
+        final int sectionOriginX = chunkX << 2;
+        final int sectionOriginZ = chunkZ << 2;
+        final int minSectionY = dimension.minHeight() >> 2;
+        for (int csx = 0; csx < 4; csx++) {
             int sx = csx + sectionOriginX;
-            for (int csz = 0; csz <= 4; csz++) {
+            for (int csz = 0; csz < 4; csz++) {
                 int sz = csz + sectionOriginZ;
-                chunkSnapshot.setSection(sx, sz, distributor().getSection(sx << 2, sz << 2));
-                for (int sy = dimension.minHeight() >> 2; sy <= (dimension.maxHeight() >> 2); sy++) {
-                    chunkSnapshot.setSection(sx, sy, sz, distributor().getSection(sx << 2, sy << 2, sz << 2));
+                if (layout.hasBiomeMap()) {
+                    chunkSnapshot.setSection(sx, sz, distributor().getSection(sx << 2, sz << 2));
+                }
+                if (layout.hasFullBiomes()) {
+                    // Fetch the whole column at once, so it's a single cache lookup for all the vertical sections.
+                    BiomeSection[] column = distributor().getColumn(sx << 2, sz << 2);
+                    for (int index = 0; index < column.length; index++) {
+                        chunkSnapshot.setSection(sx, index + minSectionY, sz, column[index]);
+                    }
                 }
             }
         }
 
+        chunkSnapshot.detectUniformBiome();
+
         // Create a random generator for chunk
         RandomGenerator random = RandomGeneratorFactory.of("Xoshiro256PlusPlus")
                 .create(getChunkSeed(world.getWorldInfo().seed(), chunkX, chunkZ));
@@ -18,13 +18,25 @@
 
 package com.azortis.orbis.generator.framework.biome;
 
+import com.azortis.orbis.block.BlockState;
+import com.azortis.orbis.generator.biome.Biome;
 import com.azortis.orbis.generator.framework.ChunkSnapshot;
 import com.azortis.orbis.generator.framework.ChunkStage;
+import com.azortis.orbis.pack.studio.annotations.Description;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.random.RandomGenerator;
 
+/**
+ * Generates 2D terrain from the surfaces of the biomes. Every column is filled with the below surface block of its
+ * biome up to the block height of the surface, which is topped with the surface block. As only the block height is
+ * needed, surfaces can stop sampling once the remaining noise can't change the block anymore.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@Description("Generates 2D terrain up to the surface height of the biomes, topped with the surface block.")
 public final class BiomeSurfaceStage extends ChunkStage {
 
     public BiomeSurfaceStage(@NotNull Key type) {
@@ -33,7 +45,23 @@ public final class BiomeSurfaceStage extends ChunkStage {
 
     @Override
     public void apply(@NotNull ChunkSnapshot snapshot, @NotNull RandomGenerator random) {
-
+        final int minY = snapshot.dimension().minHeight();
+        final int maxY = snapshot.dimension().maxHeight();
+        final int originX = snapshot.chunkX() << 4;
+        final int originZ = snapshot.chunkZ() << 4;
+        // Chunks with a single biome don't have to look up the biome of every column.
+        final Biome uniform = snapshot.uniformBiome();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                final Biome biome = uniform != null ? uniform : snapshot.getSection(originX + x, originZ + z).biome();
+                final int height = biome.surface().getBlockHeight(originX + x, originZ + z, snapshot);
+                final BlockState below = biome.belowSurfaceBlock().state();
+                for (int y = minY; y < height && y <= maxY; y++) {
+                    snapshot.setState(x, y, z, below);
+                }
+                if (height >= minY && height <= maxY) snapshot.setState(x, height, z, biome.surfaceBlock().state());
+            }
+        }
     }
 
 }
@@ -21,6 +21,19 @@ package com.azortis.orbis.generator.interpolation;
 @SuppressWarnings("SameParameterValue")
 public class Interpolator {
 
+    private static final int STAR_POINTS = 9;
+    private static final double[] STAR_SIN = new double[STAR_POINTS];
+    private static final double[] STAR_COS = new double[STAR_POINTS];
+
+    static {
+        double m = (360 / 9d);
+        int point = 0;
+        for (int i = 0; i < 360; i += m) {
+            STAR_SIN[point] = Math.sin(Math.toRadians(i));
+            STAR_COS[point++] = Math.cos(Math.toRadians(i));
+        }
+    }
+
     private static double lerp(double a, double b, double t) {
         return a + (t * (b - a));
     }
@@ -53,14 +66,11 @@ public class Interpolator {
     }
 
     private static double getStarCast(int x, int z, double scale, HeightProvider provider) {
-        double m = (360 / 9d);
         double v = 0;
 
-        for (int i = 0; i < 360; i += m) {
-            double sin = Math.sin(Math.toRadians(i));
-            double cos = Math.cos(Math.toRadians(i));
-            double cx = x + ((scale * cos) - (scale * sin));
-            double cz = z + ((scale * sin) + (scale * cos));
+        for (int i = 0; i < STAR_POINTS; i++) {
+            double cx = x + ((scale * STAR_COS[i]) - (scale * STAR_SIN[i]));
+            double cz = z + ((scale * STAR_SIN[i]) + (scale * STAR_COS[i]));
             v += provider.getHeight(cx, cz);
         }
         return v / 9d;
@@ -70,4 +80,82 @@ public class Interpolator {
         return (int) getStarCast(x, z, scale, (xx, zz) -> getBilinearNoise((int) xx, (int) zz, scale, provider));
     }
 
+    /**
+     * Computes {@link #getFinalHeight(int, int, double, HeightProvider)} for all the 256 columns of a chunk, with
+     * identical results. The lattice points that the star casts of the chunk fall into are only sampled once, instead
+     * of 36 provider calls per column.
+     *
+     * @param chunkX   The x coordinate of the chunk.
+     * @param chunkZ   The z coordinate of the chunk.
+     * @param scale    The distance between the lattice points.
+     * @param provider The provider of the heights at the lattice points.
+     * @param out      The array to write the heights to, indexed by {@code x + (z << 4)}.
+     * @throws IllegalArgumentException If the output array is smaller than 256.
+     */
+    public static void getFinalHeights(int chunkX, int chunkZ, double scale, HeightProvider provider, int[] out)
+            throws IllegalArgumentException {
+        if (out.length < 256) throw new IllegalArgumentException("Output array is smaller than a chunk");
+        final int originX = chunkX << 4;
+        final int originZ = chunkZ << 4;
+
+        // The lattice cells & positions within them of the star cast points, which only depend on one axis.
+        final int[][] pointsX = new int[STAR_POINTS][16];
+        final int[][] pointsZ = new int[STAR_POINTS][16];
+        final int[][] cellsX = new int[STAR_POINTS][16];
+        final int[][] cellsZ = new int[STAR_POINTS][16];
+        final double[][] offsetsX = new double[STAR_POINTS][16];
+        final double[][] offsetsZ = new double[STAR_POINTS][16];
+        int minCellX = Integer.MAX_VALUE, maxCellX = Integer.MIN_VALUE;
+        int minCellZ = Integer.MAX_VALUE, maxCellZ = Integer.MIN_VALUE;
+        for (int i = 0; i < STAR_POINTS; i++) {
+            final double dx = (scale * STAR_COS[i]) - (scale * STAR_SIN[i]);
+            final double dz = (scale * STAR_SIN[i]) + (scale * STAR_COS[i]);
+            for (int j = 0; j < 16; j++) {
+                pointsX[i][j] = (int) (originX + j + dx);
+                pointsZ[i][j] = (int) (originZ + j + dz);
+                cellsX[i][j] = (int) Math.floor(pointsX[i][j] / scale);
+                cellsZ[i][j] = (int) Math.floor(pointsZ[i][j] / scale);
+                minCellX = Math.min(minCellX, cellsX[i][j]);
+                maxCellX = Math.max(maxCellX, cellsX[i][j]);
+                minCellZ = Math.min(minCellZ, cellsZ[i][j]);
+                maxCellZ = Math.max(maxCellZ, cellsZ[i][j]);
+            }
+        }
+        final int width = maxCellX - minCellX + 2;
+        final int depth = maxCellZ - minCellZ + 2;
+        final int[] latticeX = new int[width];
+        final int[] latticeZ = new int[depth];
+        for (int j = 0; j < width; j++) latticeX[j] = (int) Math.round((minCellX + j) * scale);
+        for (int j = 0; j < depth; j++) latticeZ[j] = (int) Math.round((minCellZ + j) * scale);
+        for (int i = 0; i < STAR_POINTS; i++) {
+            for (int j = 0; j < 16; j++) {
+                final int cellX = cellsX[i][j] - minCellX;
+                final int cellZ = cellsZ[i][j] - minCellZ;
+                offsetsX[i][j] = rangeScale(0, 1, latticeX[cellX], latticeX[cellX + 1], pointsX[i][j]);
+                offsetsZ[i][j] = rangeScale(0, 1, latticeZ[cellZ], latticeZ[cellZ + 1], pointsZ[i][j]);
+                cellsX[i][j] = cellX;
+                cellsZ[i][j] = cellZ;
+            }
+        }
+
+        final double[] heights = new double[width * depth];
+        for (int j = 0; j < depth; j++) {
+            for (int i = 0; i < width; i++) {
+                heights[i + j * width] = provider.getHeight(latticeX[i], latticeZ[j]);
+            }
+        }
+
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                double v = 0;
+                for (int i = 0; i < STAR_POINTS; i++) {
+                    final int index = cellsX[i][x] + cellsZ[i][z] * width;
+                    v += blerp(heights[index], heights[index + 1], heights[index + width],
+                            heights[index + width + 1], offsetsX[i][x], offsetsZ[i][z]);
+                }
+                out[x + (z << 4)] = (int) (v / 9d);
+            }
+        }
+    }
+
 }
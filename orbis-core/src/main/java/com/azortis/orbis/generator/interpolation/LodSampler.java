@@ -0,0 +1,181 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.interpolation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Samples a low frequency height function on a coarse grid per chunk, and bicubically interpolates the columns in
+ * between using Catmull-Rom splines. The interpolated chunks are cached per thread in a window of 2x2 chunks, so
+ * only the first column sampled in a chunk pays for the grid, even when the columns on the edge of the neighbouring
+ * chunks are sampled in between.</p>
+ *
+ * <p>The step a function can be interpolated at is selected by {@link #selectStep(double, double)}, from a bound
+ * of its third derivative. Catmull-Rom splines reproduce quadratics, so the error is bounded by how far the function
+ * can bend away from its quadratic Taylor polynomial within the four grid points of a cell. Functions without a
+ * known bound are sampled per column.</p>
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public final class LodSampler {
+
+    /**
+     * The grid steps that can be sampled at, from coarse to fine. A step of 2 barely samples fewer points than there
+     * are columns in a chunk, so finer functions should just be sampled per column.
+     */
+    private static final int[] STEPS = {16, 8, 4};
+
+    // Along one axis the error is at most 3/32 * step^3 * max|f'''|, as the weights reproduce the quadratic Taylor
+    // polynomial at the column and only the remainders of at most |f'''| * d^3 / 6 at the four grid points are left.
+    // Interpolating the rows first amplifies their error by at most 1.25, the largest sum of the absolute weights,
+    // before the columns add their own.
+    private static final double ERROR_FACTOR = (1.25 + 1) * 3 / 32;
+
+    private final HeightProvider provider;
+    private final int step;
+    private final int points;
+    private final double[][] weights;
+    private final ThreadLocal<Chunk[]> chunks = ThreadLocal.withInitial(() -> new Chunk[]{new Chunk(), new Chunk(),
+            new Chunk(), new Chunk()});
+
+    /**
+     * Creates a sampler for the given function.
+     *
+     * @param provider The function to sample.
+     * @param step     The distance in blocks between the grid points, must be a divisor of 16.
+     * @throws IllegalArgumentException If the step isn't a divisor of 16.
+     */
+    public LodSampler(@NotNull HeightProvider provider, int step) throws IllegalArgumentException {
+        if (step < 1 || step > 16 || 16 % step != 0) {
+            throw new IllegalArgumentException("Step of LOD sampler must be a divisor of 16, but is " + step);
+        }
+        this.provider = provider;
+        this.step = step;
+        this.points = 16 / step + 3;
+        this.weights = new double[step][];
+        for (int i = 0; i < step; i++) {
+            weights[i] = catmullRom((double) i / step);
+        }
+    }
+
+    /**
+     * Selects the coarsest grid step at which the interpolation error is bounded by the maximum error.
+     *
+     * @param thirdDerivativeBound The maximum absolute third derivative of the function along the x- and z-axis,
+     *                             infinite if it isn't known.
+     * @param maxError             The maximum absolute difference from the exact function.
+     * @return The grid step, or 1 if the function has to be sampled per column.
+     */
+    public static int selectStep(double thirdDerivativeBound, double maxError) {
+        for (int step : STEPS) {
+            if (errorBound(thirdDerivativeBound, step) <= maxError) return step;
+        }
+        return 1;
+    }
+
+    /**
+     * The largest interpolation error of a function at a grid step.
+     *
+     * @param thirdDerivativeBound The maximum absolute third derivative of the function along the x- and z-axis.
+     * @param step                 The distance in blocks between the grid points.
+     * @return The maximum absolute difference between the interpolated and exact function.
+     */
+    public static double errorBound(double thirdDerivativeBound, int step) {
+        return ERROR_FACTOR * step * step * step * thirdDerivativeBound;
+    }
+
+    /**
+     * Samples the interpolated function at a column.
+     *
+     * @param x The absolute x coordinate of the column.
+     * @param z The absolute z coordinate of the column.
+     * @return The interpolated value.
+     */
+    public double sample(int x, int z) {
+        final int chunkX = x >> 4;
+        final int chunkZ = z >> 4;
+        // Every chunk of a 2x2 window maps to its own slot.
+        final Chunk chunk = chunks.get()[(chunkX & 1) | ((chunkZ & 1) << 1)];
+        if (!chunk.filled || chunk.x != chunkX || chunk.z != chunkZ) {
+            fill(chunk, chunkX, chunkZ);
+        }
+        return chunk.values[(x & 15) + ((z & 15) << 4)];
+    }
+
+    public int step() {
+        return step;
+    }
+
+    private void fill(@NotNull Chunk chunk, int chunkX, int chunkZ) {
+        final int originX = (chunkX << 4) - step;
+        final int originZ = (chunkZ << 4) - step;
+
+        // Interpolate every row of grid points along the x-axis first, then the columns along the z-axis.
+        final double[] grid = new double[points];
+        final double[] rows = new double[points * 16];
+        for (int row = 0; row < points; row++) {
+            final int z = originZ + row * step;
+            for (int i = 0; i < points; i++) {
+                grid[i] = provider.getHeight(originX + i * step, z);
+            }
+            for (int x = 0; x < 16; x++) {
+                rows[row * 16 + x] = interpolate(grid, x / step, weights[x % step]);
+            }
+        }
+
+        final double[] column = new double[points];
+        for (int x = 0; x < 16; x++) {
+            for (int row = 0; row < points; row++) {
+                column[row] = rows[row * 16 + x];
+            }
+            for (int z = 0; z < 16; z++) {
+                chunk.values[x + (z << 4)] = interpolate(column, z / step, weights[z % step]);
+            }
+        }
+        chunk.x = chunkX;
+        chunk.z = chunkZ;
+        chunk.filled = true;
+    }
+
+    // The grid is offset by one point, so the cell starting at index i is interpolated from i to i + 3.
+    private static double interpolate(@NotNull double[] values, int cell, @NotNull double[] weights) {
+        return values[cell] * weights[0] + values[cell + 1] * weights[1] +
+                values[cell + 2] * weights[2] + values[cell + 3] * weights[3];
+    }
+
+    private static double[] catmullRom(double t) {
+        final double t2 = t * t;
+        final double t3 = t2 * t;
+        return new double[]{
+                0.5 * (-t3 + 2 * t2 - t),
+                0.5 * (3 * t3 - 5 * t2 + 2),
+                0.5 * (-3 * t3 + 4 * t2 + t),
+                0.5 * (t3 - t2)
+        };
+    }
+
+    private static final class Chunk {
+        private final double[] values = new double[256];
+        private boolean filled;
+        private int x;
+        private int z;
+    }
+
+}
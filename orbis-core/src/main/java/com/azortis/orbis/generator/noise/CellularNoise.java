@@ -0,0 +1,108 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import com.azortis.orbis.pack.Invoke;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cellular (worley) noise, based on the distances to the jittered feature points of the surrounding cells. Grids &
+ * batches of positions gather the feature points of the cells they touch once, instead of hashing the neighbourhood
+ * of every position, so sampling a whole chunk as a grid is considerably cheaper than sampling it per column.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@Description("Cellular noise based on the distance to the nearest jittered points, also known as worley noise.")
+public final class CellularNoise extends Noise {
+
+    @Description("The function to measure the distance to the points with, defaults to EuclideanSq.")
+    private final FastNoise.CellularDistanceFunction distanceFunction;
+
+    @Description("The value computed from the distances to the nearest two points, defaults to Distance.")
+    private final FastNoise.CellularReturnType returnType;
+
+    @Min(floating = 0d)
+    @Description("How far the points can be displaced from the center of their cell, 1 is the maximum that " +
+            "doesn't cause artifacts. Defaults to 1.")
+    private final Double jitter;
+
+    private transient FastNoise noise;
+
+    private CellularNoise(@Nullable String name, @NotNull Key type, long salt, double frequency,
+                          @Nullable FastNoise.CellularDistanceFunction distanceFunction,
+                          @Nullable FastNoise.CellularReturnType returnType, @Nullable Double jitter) {
+        super(name, type, salt, frequency);
+        this.distanceFunction = distanceFunction;
+        this.returnType = returnType;
+        this.jitter = jitter;
+    }
+
+    @Invoke
+    @SuppressWarnings("unused")
+    private void setupNoise() {
+        noise = new FastNoise(getNoiseSeed());
+        noise.setNoiseType(FastNoise.NoiseType.Cellular);
+        noise.setFrequency(frequency);
+        if (distanceFunction != null) noise.setCellularDistanceFunction(distanceFunction);
+        if (returnType != null) noise.setCellularReturnType(returnType);
+        if (jitter != null) noise.setCellularJitter(jitter);
+    }
+
+    @Override
+    public double noise(double x) {
+        return noise.getNoise(x, 0);
+    }
+
+    @Override
+    public double noise(double x, double z) {
+        return noise.getNoise(x, z);
+    }
+
+    @Override
+    public double noise(double x, double y, double z) {
+        return noise.getNoise(x, y, z);
+    }
+
+    @Override
+    public void fillGrid2D(double originX, double originZ, int width, int depth, double step, @NotNull double[] out) {
+        noise.fillGrid2D(originX, originZ, width, depth, step, out);
+    }
+
+    @Override
+    public void fillGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                           double step, @NotNull double[] out) {
+        noise.fillGrid3D(originX, originY, originZ, width, height, depth, step, out);
+    }
+
+    @Override
+    public void fillPoints2D(@NotNull double[] xs, @NotNull double[] zs, int size, @NotNull double[] out) {
+        noise.getNoise(xs, zs, out, size);
+    }
+
+    @Override
+    public void fillPoints3D(@NotNull double[] xs, @NotNull double[] ys, @NotNull double[] zs, int size,
+                             @NotNull double[] out) {
+        noise.getNoise(xs, ys, zs, out, size);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import com.azortis.orbis.generator.noise.expression.CompiledExpression;
+import com.azortis.orbis.generator.noise.expression.Expression;
+import com.azortis.orbis.generator.noise.expression.ExpressionCompiler;
+import com.azortis.orbis.pack.Invoke;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Noise defined by an {@link Expression} graph, which is compiled when the pack is loaded. The coordinates are
+ * multiplied by the frequency before the expression is sampled, the salt isn't used as the noise generators in the
+ * expression have their own.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public final class ExpressionNoise extends Noise {
+
+    @Required
+    @Description("The expression that computes the noise value.")
+    private final Expression expression;
+
+    private transient CompiledExpression compiled;
+
+    private ExpressionNoise(@Nullable String name, @NotNull Key type, long salt, double frequency,
+                            @NotNull Expression expression) {
+        super(name, type, salt, frequency);
+        this.expression = expression;
+    }
+
+    // The noise generators of the expression are injected and set up before this class is done.
+    @Invoke
+    @SuppressWarnings("unused")
+    private void compile() {
+        compiled = ExpressionCompiler.compile(expression);
+    }
+
+    @Override
+    public double noise(double x) {
+        return compiled.sample(x * frequency, 0);
+    }
+
+    @Override
+    public double noise(double x, double z) {
+        return compiled.sample(x * frequency, z * frequency);
+    }
+
+    @Override
+    public double noise(double x, double y, double z) {
+        return compiled.sample(x * frequency, y * frequency, z * frequency);
+    }
+
+}
@@ -26,6 +26,8 @@ package com.azortis.orbis.generator.noise;
 
 import org.apiguardian.api.API;
 
+import java.util.Arrays;
+
 /**
  * An utilities class for generating noise for the generator to use.
  *
@@ -37,7 +39,8 @@ import org.apiguardian.api.API;
 @SuppressWarnings("all")
 @API(status = API.Status.INTERNAL, since = "0.3-Alpha", consumers = "com.azortis.orbis.generator.noise")
 public final class FastNoise {
-    private static final double[] Gradients2D = {
+    // Package private for the vector kernels & FloatFastNoise.
+    static final double[] Gradients2D = {
             0.130526192220052f, 0.99144486137381f, 0.38268343236509f, 0.923879532511287f, 0.608761429008721f, 0.793353340291235f, 0.793353340291235f, 0.608761429008721f,
             0.923879532511287f, 0.38268343236509f, 0.99144486137381f, 0.130526192220051f, 0.99144486137381f, -0.130526192220051f, 0.923879532511287f, -0.38268343236509f,
             0.793353340291235f, -0.60876142900872f, 0.608761429008721f, -0.793353340291235f, 0.38268343236509f, -0.923879532511287f, 0.130526192220052f, -0.99144486137381f,
@@ -71,7 +74,7 @@ public final class FastNoise {
             0.38268343236509f, 0.923879532511287f, 0.923879532511287f, 0.38268343236509f, 0.923879532511287f, -0.38268343236509f, 0.38268343236509f, -0.923879532511287f,
             -0.38268343236509f, -0.923879532511287f, -0.923879532511287f, -0.38268343236509f, -0.923879532511287f, 0.38268343236509f, -0.38268343236509f, 0.923879532511287f,
     };
-    private static final double[] RandVecs2D = {
+    static final double[] RandVecs2D = {
             -0.2700222198f, -0.9628540911f, 0.3863092627f, -0.9223693152f, 0.04444859006f, -0.999011673f, -0.5992523158f, -0.8005602176f, -0.7819280288f, 0.6233687174f, 0.9464672271f, 0.3227999196f, -0.6514146797f, -0.7587218957f, 0.9378472289f, 0.347048376f,
             -0.8497875957f, -0.5271252623f, -0.879042592f, 0.4767432447f, -0.892300288f, -0.4514423508f, -0.379844434f, -0.9250503802f, -0.9951650832f, 0.0982163789f, 0.7724397808f, -0.6350880136f, 0.7573283322f, -0.6530343002f, -0.9928004525f, -0.119780055f,
             -0.0532665713f, 0.9985803285f, 0.9754253726f, -0.2203300762f, -0.7665018163f, 0.6422421394f, 0.991636706f, 0.1290606184f, -0.994696838f, 0.1028503788f, -0.5379205513f, -0.84299554f, 0.5022815471f, -0.8647041387f, 0.4559821461f, -0.8899889226f,
@@ -105,7 +108,7 @@ public final class FastNoise {
             0.4037327978f, -0.9148769469f, 0.9944263371f, 0.1054336766f, -0.1624711654f, 0.9867132919f, -0.9949487814f, -0.100383875f, -0.6995302564f, 0.7146029809f, 0.5263414922f, -0.85027327f, -0.5395221479f, 0.841971408f, 0.6579370318f, 0.7530729462f,
             0.01426758847f, -0.9998982128f, -0.6734383991f, 0.7392433447f, 0.639412098f, -0.7688642071f, 0.9211571421f, 0.3891908523f, -0.146637214f, -0.9891903394f, -0.782318098f, 0.6228791163f, -0.5039610839f, -0.8637263605f, -0.7743120191f, -0.6328039957f,
     };
-    private static final double[] Gradients3D = {
+    static final double[] Gradients3D = {
             0, 1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0,
             1, 0, 1, 0, -1, 0, 1, 0, 1, 0, -1, 0, -1, 0, -1, 0,
             1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0, 0,
@@ -123,7 +126,7 @@ public final class FastNoise {
             1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0, 0,
             1, 1, 0, 0, 0, -1, 1, 0, -1, 1, 0, 0, 0, -1, -1, 0
     };
-    private static final double[] RandVecs3D = {
+    static final double[] RandVecs3D = {
             -0.7292736885f, -0.6618439697f, 0.1735581948f, 0, 0.790292081f, -0.5480887466f, -0.2739291014f, 0, 0.7217578935f, 0.6226212466f, -0.3023380997f, 0, 0.565683137f, -0.8208298145f, -0.0790000257f, 0, 0.760049034f, -0.5555979497f, -0.3370999617f, 0, 0.3713945616f, 0.5011264475f, 0.7816254623f, 0, -0.1277062463f, -0.4254438999f, -0.8959289049f, 0, -0.2881560924f, -0.5815838982f, 0.7607405838f, 0,
             0.5849561111f, -0.662820239f, -0.4674352136f, 0, 0.3307171178f, 0.0391653737f, 0.94291689f, 0, 0.8712121778f, -0.4113374369f, -0.2679381538f, 0, 0.580981015f, 0.7021915846f, 0.4115677815f, 0, 0.503756873f, 0.6330056931f, -0.5878203852f, 0, 0.4493712205f, 0.601390195f, 0.6606022552f, 0, -0.6878403724f, 0.09018890807f, -0.7202371714f, 0, -0.5958956522f, -0.6469350577f, 0.475797649f, 0,
             -0.5127052122f, 0.1946921978f, -0.8361987284f, 0, -0.9911507142f, -0.05410276466f, -0.1212153153f, 0, -0.2149721042f, 0.9720882117f, -0.09397607749f, 0, -0.7518650936f, -0.5428057603f, 0.3742469607f, 0, 0.5237068895f, 0.8516377189f, -0.02107817834f, 0, 0.6333504779f, 0.1926167129f, -0.7495104896f, 0, -0.06788241606f, 0.3998305789f, 0.9140719259f, 0, -0.5538628599f, -0.4729896695f, -0.6852128902f, 0,
@@ -158,9 +161,16 @@ public final class FastNoise {
             -0.7870349638f, 0.03447489231f, 0.6159443543f, 0, -0.2015596421f, 0.6859872284f, 0.6991389226f, 0, -0.08581082512f, -0.10920836f, -0.9903080513f, 0, 0.5532693395f, 0.7325250401f, -0.396610771f, 0, -0.1842489331f, -0.9777375055f, -0.1004076743f, 0, 0.0775473789f, -0.9111505856f, 0.4047110257f, 0, 0.1399838409f, 0.7601631212f, -0.6344734459f, 0, 0.4484419361f, -0.845289248f, 0.2904925424f, 0
     };
     // Hashing
-    private static final int PrimeX = 501125321;
-    private static final int PrimeY = 1136930381;
-    private static final int PrimeZ = 1720413743;
+    static final int PrimeX = 501125321;
+    static final int PrimeY = 1136930381;
+    static final int PrimeZ = 1720413743;
+    // The largest third derivative along the x- or y-axis of the 2D lattices at a frequency of 1. Every lattice point
+    // in range adds a kernel of (r^2 - |d|^2)^4 * (g . d), the maxima are those of the summed kernel derivatives over a
+    // cell with the worst gradient for every point, rounded up.
+    private static final double OPEN_SIMPLEX_2_THIRD_DERIVATIVE = 520;
+    private static final double OPEN_SIMPLEX_2S_THIRD_DERIVATIVE = 260;
+    // SIMD kernels for the grid fills, null if the vector module isn't available.
+    private static final VectorKernels VECTOR_KERNELS = VectorKernels.load();
     private long mSeed = 1337;
     private double mFrequency = 1d;
     private NoiseType mNoiseType = NoiseType.OpenSimplex2;
@@ -169,6 +179,8 @@ public final class FastNoise {
 
     private FractalType mFractalType = FractalType.None;
     private int mOctaves = 3;
+    private int mActiveOctaves = 3;
+    private double mOctaveCutoff = 0;
     private double mLacunarity = 2.0d;
     private double mGain = 0.5d;
     private double mWeightedStrength = 0.0d;
@@ -184,6 +196,8 @@ public final class FastNoise {
     private TransformType3D mWarpTransformType3D = TransformType3D.DefaultOpenSimplex2;
     private double mDomainWarpAmp = 1.0d;
 
+    private boolean mVectorized = true;
+
     /// <summary>
     /// Create new FastNoise object with default seed
     /// </summary>
@@ -243,7 +257,7 @@ public final class FastNoise {
         return t < 1 ? t : 2 - t;
     }
 
-    private static int hash(long seed, int xPrimed, int yPrimed) {
+    static int hash(long seed, int xPrimed, int yPrimed) {
         int seedA = (int) (seed & 0xFFFFFFFFL);
         int seedB = (int) (seed >> 32);
         int hash = xPrimed ^ yPrimed;
@@ -251,7 +265,7 @@ public final class FastNoise {
         return hash;
     }
 
-    private static int hash(long seed, int xPrimed, int yPrimed, int zPrimed) {
+    static int hash(long seed, int xPrimed, int yPrimed, int zPrimed) {
         int seedA = (int) (seed & 0xFFFFFFFFL);
         int seedB = (int) (seed >> 32);
         int hash = xPrimed ^ yPrimed ^ zPrimed;
@@ -308,6 +322,23 @@ public final class FastNoise {
         mSeed = seed;
     }
 
+    /// <summary>
+    /// If SIMD kernels are available for the grid fills, this requires the jdk.incubator.vector module
+    /// </summary>
+    public static boolean isVectorAvailable() {
+        return VECTOR_KERNELS != null;
+    }
+
+    /// <summary>
+    /// Sets if the grid fills should use SIMD kernels when available, the results are identical either way
+    /// </summary>
+    /// <remarks>
+    /// Default: true
+    /// </remarks>
+    public void setVectorized(boolean vectorized) {
+        mVectorized = vectorized;
+    }
+
     /// <summary>
     /// Sets frequency for all noise types
     /// </summary>
@@ -385,6 +416,18 @@ public final class FastNoise {
         calculateFractalBounding();
     }
 
+    /// <summary>
+    /// Sets the maximum error that skipping the last octaves of fractal noise types may introduce
+    /// </summary>
+    /// <remarks>
+    /// Default: 0.0
+    /// Note: Octaves are skipped while their combined amplitude stays within the cutoff, doesn't affect DomainWarp(...)
+    /// </remarks>
+    public void setFractalOctaveCutoff(double cutoff) {
+        mOctaveCutoff = cutoff;
+        calculateFractalBounding();
+    }
+
     /// <summary>
     /// Sets octave weighting for all none DomainWarp fratal types
     /// </summary>
@@ -572,6 +615,555 @@ public final class FastNoise {
         }
     }
 
+    /// <summary>
+    /// 2D warps the first size positions of the arrays in place using current domain warp settings,
+    /// a single vector is reused for the whole batch
+    /// </summary>
+    public void domainWarp(double[] xs, double[] ys, int size) {
+        if (xs.length < size || ys.length < size) throw new IllegalArgumentException("Arrays are smaller than size");
+        final Vector2 coord = new Vector2(0, 0);
+        for (int i = 0; i < size; i++) {
+            coord.x = xs[i];
+            coord.y = ys[i];
+            domainWarp(coord);
+            xs[i] = coord.x;
+            ys[i] = coord.y;
+        }
+    }
+
+    /// <summary>
+    /// 3D warps the first size positions of the arrays in place using current domain warp settings,
+    /// a single vector is reused for the whole batch
+    /// </summary>
+    public void domainWarp(double[] xs, double[] ys, double[] zs, int size) {
+        if (xs.length < size || ys.length < size || zs.length < size) {
+            throw new IllegalArgumentException("Arrays are smaller than size");
+        }
+        final Vector3 coord = new Vector3(0, 0, 0);
+        for (int i = 0; i < size; i++) {
+            coord.x = xs[i];
+            coord.y = ys[i];
+            coord.z = zs[i];
+            domainWarp(coord);
+            xs[i] = coord.x;
+            ys[i] = coord.y;
+            zs[i] = coord.z;
+        }
+    }
+
+    /// <summary>
+    /// 2D noise on a grid using current settings, the noise type, transform and fractal type are only
+    /// evaluated once for the whole grid
+    /// </summary>
+    /// <remarks>
+    /// out[iy * width + ix] equals GetNoise(originX + ix * step, originY + iy * step)
+    /// </remarks>
+    public void fillGrid2D(double originX, double originY, int width, int depth, double step, double[] out) {
+        final int size = width * depth;
+        if (out.length < size) throw new IllegalArgumentException("Output array is smaller than the grid");
+        final double[] xs = new double[size];
+        final double[] ys = new double[size];
+        for (int iy = 0, i = 0; iy < depth; iy++) {
+            for (int ix = 0; ix < width; ix++, i++) {
+                xs[i] = (originX + ix * step) * mFrequency;
+                ys[i] = (originY + iy * step) * mFrequency;
+            }
+        }
+
+        genPoints(xs, ys, out, size);
+    }
+
+    /// <summary>
+    /// 2D noise at the first size positions of the arrays using current settings, the arrays aren't modified
+    /// </summary>
+    /// <remarks>
+    /// out[i] equals GetNoise(xs[i], ys[i])
+    /// </remarks>
+    public void getNoise(double[] xs, double[] ys, double[] out, int size) {
+        if (xs.length < size || ys.length < size || out.length < size) {
+            throw new IllegalArgumentException("Arrays are smaller than size");
+        }
+        final double[] scaledX = new double[size];
+        final double[] scaledY = new double[size];
+        for (int i = 0; i < size; i++) {
+            scaledX[i] = xs[i] * mFrequency;
+            scaledY[i] = ys[i] * mFrequency;
+        }
+        genPoints(scaledX, scaledY, out, size);
+    }
+
+    // Applies the 2D transform & fractal to positions that are already scaled by the frequency.
+    private void genPoints(double[] xs, double[] ys, double[] out, int size) {
+        switch (mNoiseType) {
+            case OpenSimplex2:
+            case OpenSimplex2S: {
+                final double SQRT3 = (double) 1.7320508075688772935274463415059;
+                final double F2 = 0.5f * (SQRT3 - 1);
+                for (int i = 0; i < size; i++) {
+                    double t = (xs[i] + ys[i]) * F2;
+                    xs[i] += t;
+                    ys[i] += t;
+                }
+            }
+            break;
+            default:
+                break;
+        }
+
+        switch (mFractalType) {
+            default -> genGridSingle(mSeed, xs, ys, out, size);
+            case FBm, Ridged, PingPong -> genGridFractal(xs, ys, null, out, size);
+        }
+    }
+
+    /// <summary>
+    /// 3D noise on a grid using current settings, the noise type, transform and fractal type are only
+    /// evaluated once for the whole grid
+    /// </summary>
+    /// <remarks>
+    /// out[(iy * depth + iz) * width + ix] equals GetNoise(originX + ix * step, originY + iy * step, originZ + iz * step)
+    /// </remarks>
+    public void fillGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                           double step, double[] out) {
+        final int size = width * height * depth;
+        if (out.length < size) throw new IllegalArgumentException("Output array is smaller than the grid");
+        final double[] xs = new double[size];
+        final double[] ys = new double[size];
+        final double[] zs = new double[size];
+        for (int iy = 0, i = 0; iy < height; iy++) {
+            for (int iz = 0; iz < depth; iz++) {
+                for (int ix = 0; ix < width; ix++, i++) {
+                    xs[i] = (originX + ix * step) * mFrequency;
+                    ys[i] = (originY + iy * step) * mFrequency;
+                    zs[i] = (originZ + iz * step) * mFrequency;
+                }
+            }
+        }
+
+        genPoints(xs, ys, zs, out, size);
+    }
+
+    /// <summary>
+    /// 3D noise at the first size positions of the arrays using current settings, the arrays aren't modified
+    /// </summary>
+    /// <remarks>
+    /// out[i] equals GetNoise(xs[i], ys[i], zs[i])
+    /// </remarks>
+    public void getNoise(double[] xs, double[] ys, double[] zs, double[] out, int size) {
+        if (xs.length < size || ys.length < size || zs.length < size || out.length < size) {
+            throw new IllegalArgumentException("Arrays are smaller than size");
+        }
+        final double[] scaledX = new double[size];
+        final double[] scaledY = new double[size];
+        final double[] scaledZ = new double[size];
+        for (int i = 0; i < size; i++) {
+            scaledX[i] = xs[i] * mFrequency;
+            scaledY[i] = ys[i] * mFrequency;
+            scaledZ[i] = zs[i] * mFrequency;
+        }
+        genPoints(scaledX, scaledY, scaledZ, out, size);
+    }
+
+    // Applies the 3D transform & fractal to positions that are already scaled by the frequency.
+    private void genPoints(double[] xs, double[] ys, double[] zs, double[] out, int size) {
+        switch (mTransformType3D) {
+            case ImproveXYPlanes: {
+                for (int i = 0; i < size; i++) {
+                    double x = xs[i], y = ys[i], z = zs[i];
+                    double xy = x + y;
+                    double s2 = xy * -(double) 0.211324865405187;
+                    z *= (double) 0.577350269189626;
+                    x += s2 - z;
+                    y = y + s2 - z;
+                    z += xy * (double) 0.577350269189626;
+                    xs[i] = x;
+                    ys[i] = y;
+                    zs[i] = z;
+                }
+            }
+            break;
+            case ImproveXZPlanes: {
+                for (int i = 0; i < size; i++) {
+                    double x = xs[i], y = ys[i], z = zs[i];
+                    double xz = x + z;
+                    double s2 = xz * -(double) 0.211324865405187;
+                    y *= (double) 0.577350269189626;
+                    x += s2 - y;
+                    z += s2 - y;
+                    y += xz * (double) 0.577350269189626;
+                    xs[i] = x;
+                    ys[i] = y;
+                    zs[i] = z;
+                }
+            }
+            break;
+            case DefaultOpenSimplex2: {
+                final double R3 = (double) (2.0 / 3.0);
+                for (int i = 0; i < size; i++) {
+                    double r = (xs[i] + ys[i] + zs[i]) * R3; // Rotation, not skew
+                    xs[i] = r - xs[i];
+                    ys[i] = r - ys[i];
+                    zs[i] = r - zs[i];
+                }
+            }
+            break;
+            default:
+                break;
+        }
+
+        switch (mFractalType) {
+            default -> genGridSingle(mSeed, xs, ys, zs, out, size);
+            case FBm, Ridged, PingPong -> genGridFractal(xs, ys, zs, out, size);
+        }
+    }
+
+    // Octaves are the outer loop, so each octave is a single tight loop over the grid.
+    // The per point operations are the same as the scalar fractal functions, so results are identical.
+    private void genGridFractal(double[] xs, double[] ys, double[] zs, double[] out, int size) {
+        final double[] amps = new double[size];
+        final double[] noises = new double[size];
+        Arrays.fill(out, 0, size, 0);
+        Arrays.fill(amps, 0, size, mFractalBounding);
+        long seed = mSeed;
+
+        for (int octave = 0; octave < mActiveOctaves; octave++) {
+            if (zs == null) genGridSingle(seed++, xs, ys, noises, size);
+            else genGridSingle(seed++, xs, ys, zs, noises, size);
+
+            switch (mFractalType) {
+                case FBm -> {
+                    if (zs == null) {
+                        for (int i = 0; i < size; i++) {
+                            double noise = noises[i];
+                            out[i] += noise * amps[i];
+                            amps[i] *= lerp(1.0f, fastMin(noise + 1, 2) * 0.5f, mWeightedStrength);
+                        }
+                    } else {
+                        for (int i = 0; i < size; i++) {
+                            double noise = noises[i];
+                            out[i] += noise * amps[i];
+                            amps[i] *= lerp(1.0f, (noise + 1) * 0.5f, mWeightedStrength);
+                        }
+                    }
+                }
+                case Ridged -> {
+                    for (int i = 0; i < size; i++) {
+                        double noise = fastAbs(noises[i]);
+                        out[i] += (noise * -2 + 1) * amps[i];
+                        amps[i] *= lerp(1.0f, 1 - noise, mWeightedStrength);
+                    }
+                }
+                default -> {
+                    for (int i = 0; i < size; i++) {
+                        double noise = pingPong((noises[i] + 1) * mPingPongStength);
+                        out[i] += (noise - 0.5f) * 2 * amps[i];
+                        amps[i] *= lerp(1.0f, noise, mWeightedStrength);
+                    }
+                }
+            }
+
+            for (int i = 0; i < size; i++) {
+                xs[i] *= mLacunarity;
+                ys[i] *= mLacunarity;
+                amps[i] *= mGain;
+            }
+            if (zs != null) {
+                for (int i = 0; i < size; i++) {
+                    zs[i] *= mLacunarity;
+                }
+            }
+        }
+    }
+
+    private void genGridSingle(long seed, double[] xs, double[] ys, double[] out, int size) {
+        final VectorKernels kernels = mVectorized ? VECTOR_KERNELS : null;
+        switch (mNoiseType) {
+            case OpenSimplex2 -> {
+                if (kernels != null) kernels.openSimplex2(seed, xs, ys, out, size);
+                else for (int i = 0; i < size; i++) out[i] = singleSimplex(seed, xs[i], ys[i]);
+            }
+            case OpenSimplex2S -> {
+                if (kernels != null) kernels.openSimplex2S(seed, xs, ys, out, size);
+                else for (int i = 0; i < size; i++) out[i] = singleOpenSimplex2S(seed, xs[i], ys[i]);
+            }
+            case Cellular -> genGridCellular(seed, xs, ys, out, size);
+            case Perlin -> {
+                for (int i = 0; i < size; i++) out[i] = singlePerlin(seed, xs[i], ys[i]);
+            }
+            case ValueCubic -> {
+                for (int i = 0; i < size; i++) out[i] = singleValueCubic(seed, xs[i], ys[i]);
+            }
+            case Value -> {
+                for (int i = 0; i < size; i++) out[i] = singleValue(seed, xs[i], ys[i]);
+            }
+        }
+    }
+
+    private void genGridSingle(long seed, double[] xs, double[] ys, double[] zs, double[] out, int size) {
+        final VectorKernels kernels = mVectorized ? VECTOR_KERNELS : null;
+        switch (mNoiseType) {
+            case OpenSimplex2 -> {
+                if (kernels != null) kernels.openSimplex2(seed, xs, ys, zs, out, size);
+                else for (int i = 0; i < size; i++) out[i] = singleOpenSimplex2(seed, xs[i], ys[i], zs[i]);
+            }
+            case OpenSimplex2S -> {
+                for (int i = 0; i < size; i++) out[i] = singleOpenSimplex2S(seed, xs[i], ys[i], zs[i]);
+            }
+            case Cellular -> genGridCellular(seed, xs, ys, zs, out, size);
+            case Perlin -> {
+                for (int i = 0; i < size; i++) out[i] = singlePerlin(seed, xs[i], ys[i], zs[i]);
+            }
+            case ValueCubic -> {
+                for (int i = 0; i < size; i++) out[i] = singleValueCubic(seed, xs[i], ys[i], zs[i]);
+            }
+            case Value -> {
+                for (int i = 0; i < size; i++) out[i] = singleValue(seed, xs[i], ys[i], zs[i]);
+            }
+        }
+    }
+
+    // The feature points of every cell the batch can reach are jittered once into a small table, which the samples
+    // look up instead of hashing their neighbourhood. The per sample arithmetic is the same as singleCellular, so
+    // results are identical. Batches that are spread out too far for the table to pay off fall back to it.
+    private void genGridCellular(long seed, double[] xs, double[] ys, double[] out, int size) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            final int xr = fastRound(xs[i]);
+            final int yr = fastRound(ys[i]);
+            minX = Math.min(minX, xr);
+            minY = Math.min(minY, yr);
+            maxX = Math.max(maxX, xr);
+            maxY = Math.max(maxY, yr);
+        }
+        final long width = (long) maxX - minX + 3;
+        final long height = (long) maxY - minY + 3;
+        if (size == 0 || (double) width * height > size * 9d) {
+            for (int i = 0; i < size; i++) out[i] = singleCellular(seed, xs[i], ys[i]);
+            return;
+        }
+
+        final int stride = (int) width;
+        final int cells = (int) (width * height);
+        final double cellularJitter = 0.43701595f * mCellularJitterModifier;
+        final double[] jitterX = new double[cells];
+        final double[] jitterY = new double[cells];
+        final int[] hashes = new int[cells];
+        int xPrimed = (minX - 1) * PrimeX;
+        for (int cx = 0; cx < stride; cx++) {
+            int yPrimed = (minY - 1) * PrimeY;
+            for (int cy = 0, cell = cx; cy < height; cy++, cell += stride) {
+                final int hash = hash(seed, xPrimed, yPrimed);
+                final int idx = hash & (255 << 1);
+                jitterX[cell] = RandVecs2D[idx] * cellularJitter;
+                jitterY[cell] = RandVecs2D[idx | 1] * cellularJitter;
+                hashes[cell] = hash;
+                yPrimed += PrimeY;
+            }
+            xPrimed += PrimeX;
+        }
+
+        for (int i = 0; i < size; i++) {
+            final double x = xs[i];
+            final double y = ys[i];
+            final int xr = fastRound(x);
+            final int yr = fastRound(y);
+
+            // Every column of the neighbourhood is a separate chain, so the comparisons don't all have to wait on
+            // each other. The chains are merged in the same order as singleCellular iterates the cells.
+            double distance0 = Float.MAX_VALUE, distance1 = Float.MAX_VALUE;
+            double distance0B = Float.MAX_VALUE, distance1B = Float.MAX_VALUE;
+            double distance0C = Float.MAX_VALUE, distance1C = Float.MAX_VALUE;
+            int closestHash = 0, closestHashB = 0, closestHashC = 0;
+
+            for (int yi = yr - 1, cell = (xr - minX) + (yr - minY) * stride; yi <= yr + 1; yi++, cell += stride) {
+                final double vecY = (double) (yi - y);
+
+                double newDistance = cellularDistance((double) (xr - 1 - x) + jitterX[cell], vecY + jitterY[cell]);
+                distance1 = fastMax(fastMin(distance1, newDistance), distance0);
+                if (newDistance < distance0) {
+                    distance0 = newDistance;
+                    closestHash = hashes[cell];
+                }
+
+                newDistance = cellularDistance((double) (xr - x) + jitterX[cell + 1], vecY + jitterY[cell + 1]);
+                distance1B = fastMax(fastMin(distance1B, newDistance), distance0B);
+                if (newDistance < distance0B) {
+                    distance0B = newDistance;
+                    closestHashB = hashes[cell + 1];
+                }
+
+                newDistance = cellularDistance((double) (xr + 1 - x) + jitterX[cell + 2], vecY + jitterY[cell + 2]);
+                distance1C = fastMax(fastMin(distance1C, newDistance), distance0C);
+                if (newDistance < distance0C) {
+                    distance0C = newDistance;
+                    closestHashC = hashes[cell + 2];
+                }
+            }
+
+            if (distance0B < distance0) {
+                distance1 = fastMin(distance0, distance1B);
+                distance0 = distance0B;
+                closestHash = closestHashB;
+            } else {
+                distance1 = fastMin(distance1, distance0B);
+            }
+            if (distance0C < distance0) {
+                distance1 = fastMin(distance0, distance1C);
+                distance0 = distance0C;
+                closestHash = closestHashC;
+            } else {
+                distance1 = fastMin(distance1, distance0C);
+            }
+            out[i] = cellularResult(distance0, distance1, closestHash);
+        }
+    }
+
+    private void genGridCellular(long seed, double[] xs, double[] ys, double[] zs, double[] out, int size) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            final int xr = fastRound(xs[i]);
+            final int yr = fastRound(ys[i]);
+            final int zr = fastRound(zs[i]);
+            minX = Math.min(minX, xr);
+            minY = Math.min(minY, yr);
+            minZ = Math.min(minZ, zr);
+            maxX = Math.max(maxX, xr);
+            maxY = Math.max(maxY, yr);
+            maxZ = Math.max(maxZ, zr);
+        }
+        final long width = (long) maxX - minX + 3;
+        final long height = (long) maxY - minY + 3;
+        final long depth = (long) maxZ - minZ + 3;
+        if (size == 0 || (double) width * height * depth > size * 27d) {
+            for (int i = 0; i < size; i++) out[i] = singleCellular(seed, xs[i], ys[i], zs[i]);
+            return;
+        }
+
+        final int strideY = (int) width;
+        final int strideZ = (int) (width * height);
+        final int cells = (int) (width * height * depth);
+        final double cellularJitter = 0.39614353f * mCellularJitterModifier;
+        final double[] jitterX = new double[cells];
+        final double[] jitterY = new double[cells];
+        final double[] jitterZ = new double[cells];
+        final int[] hashes = new int[cells];
+        int xPrimed = (minX - 1) * PrimeX;
+        for (int cx = 0; cx < width; cx++) {
+            int yPrimed = (minY - 1) * PrimeY;
+            for (int cy = 0; cy < height; cy++) {
+                int zPrimed = (minZ - 1) * PrimeZ;
+                for (int cz = 0, cell = cx + cy * strideY; cz < depth; cz++, cell += strideZ) {
+                    final int hash = hash(seed, xPrimed, yPrimed, zPrimed);
+                    final int idx = hash & (255 << 2);
+                    jitterX[cell] = RandVecs3D[idx] * cellularJitter;
+                    jitterY[cell] = RandVecs3D[idx | 1] * cellularJitter;
+                    jitterZ[cell] = RandVecs3D[idx | 2] * cellularJitter;
+                    hashes[cell] = hash;
+                    zPrimed += PrimeZ;
+                }
+                yPrimed += PrimeY;
+            }
+            xPrimed += PrimeX;
+        }
+
+        for (int i = 0; i < size; i++) {
+            final double x = xs[i];
+            final double y = ys[i];
+            final double z = zs[i];
+            final int xr = fastRound(x);
+            final int yr = fastRound(y);
+            final int zr = fastRound(z);
+
+            double distance0 = Float.MAX_VALUE, distance1 = Float.MAX_VALUE;
+            double distance0B = Float.MAX_VALUE, distance1B = Float.MAX_VALUE;
+            double distance0C = Float.MAX_VALUE, distance1C = Float.MAX_VALUE;
+            int closestHash = 0, closestHashB = 0, closestHashC = 0;
+
+            for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                final double vecY = (double) (yi - y);
+                int cell = (xr - minX) + (yi - minY + 1) * strideY + (zr - minZ) * strideZ;
+                for (int zi = zr - 1; zi <= zr + 1; zi++, cell += strideZ) {
+                    final double vecZ = (double) (zi - z);
+
+                    double newDistance = cellularDistance((double) (xr - 1 - x) + jitterX[cell],
+                            vecY + jitterY[cell], vecZ + jitterZ[cell]);
+                    distance1 = fastMax(fastMin(distance1, newDistance), distance0);
+                    if (newDistance < distance0) {
+                        distance0 = newDistance;
+                        closestHash = hashes[cell];
+                    }
+
+                    newDistance = cellularDistance((double) (xr - x) + jitterX[cell + 1],
+                            vecY + jitterY[cell + 1], vecZ + jitterZ[cell + 1]);
+                    distance1B = fastMax(fastMin(distance1B, newDistance), distance0B);
+                    if (newDistance < distance0B) {
+                        distance0B = newDistance;
+                        closestHashB = hashes[cell + 1];
+                    }
+
+                    newDistance = cellularDistance((double) (xr + 1 - x) + jitterX[cell + 2],
+                            vecY + jitterY[cell + 2], vecZ + jitterZ[cell + 2]);
+                    distance1C = fastMax(fastMin(distance1C, newDistance), distance0C);
+                    if (newDistance < distance0C) {
+                        distance0C = newDistance;
+                        closestHashC = hashes[cell + 2];
+                    }
+                }
+            }
+
+            if (distance0B < distance0) {
+                distance1 = fastMin(distance0, distance1B);
+                distance0 = distance0B;
+                closestHash = closestHashB;
+            } else {
+                distance1 = fastMin(distance1, distance0B);
+            }
+            if (distance0C < distance0) {
+                distance1 = fastMin(distance0, distance1C);
+                distance0 = distance0C;
+                closestHash = closestHashC;
+            } else {
+                distance1 = fastMin(distance1, distance0C);
+            }
+            out[i] = cellularResult(distance0, distance1, closestHash);
+        }
+    }
+
+    private double cellularDistance(double vecX, double vecY) {
+        return switch (mCellularDistanceFunction) {
+            case Euclidean, EuclideanSq -> vecX * vecX + vecY * vecY;
+            case Manhattan -> fastAbs(vecX) + fastAbs(vecY);
+            case Hybrid -> (fastAbs(vecX) + fastAbs(vecY)) + (vecX * vecX + vecY * vecY);
+        };
+    }
+
+    private double cellularDistance(double vecX, double vecY, double vecZ) {
+        return switch (mCellularDistanceFunction) {
+            case Euclidean, EuclideanSq -> vecX * vecX + vecY * vecY + vecZ * vecZ;
+            case Manhattan -> fastAbs(vecX) + fastAbs(vecY) + fastAbs(vecZ);
+            case Hybrid -> (fastAbs(vecX) + fastAbs(vecY) + fastAbs(vecZ)) + (vecX * vecX + vecY * vecY + vecZ * vecZ);
+        };
+    }
+
+    private double cellularResult(double distance0, double distance1, int closestHash) {
+        if (mCellularDistanceFunction == CellularDistanceFunction.Euclidean && mCellularReturnType != CellularReturnType.CellValue) {
+            distance0 = fastSqrt(distance0);
+            distance1 = fastSqrt(distance1);
+        }
+
+        return switch (mCellularReturnType) {
+            case CellValue -> closestHash * (1 / 2147483648.0f);
+            case Distance -> distance0 - 1;
+            case Distance2 -> distance1 - 1;
+            case Distance2Add -> (distance1 + distance0) * 0.5f - 1;
+            case Distance2Sub -> distance1 - distance0 - 1;
+            case Distance2Mul -> distance1 * distance0 * 0.5f - 1;
+            case Distance2Div -> distance0 / distance1 - 1;
+        };
+    }
+
     private void calculateFractalBounding() {
         double gain = fastAbs(mGain);
         double amp = gain;
@@ -581,6 +1173,47 @@ public final class FastNoise {
             amp *= gain;
         }
         mFractalBounding = 1 / ampFractal;
+
+        // Drop the last octaves as long as their combined amplitude can't exceed the cutoff, always keep one.
+        double trailing = 0;
+        mActiveOctaves = mOctaves;
+        while (mActiveOctaves > 1) {
+            trailing += mFractalBounding * Math.pow(gain, mActiveOctaves - 1);
+            if (trailing > mOctaveCutoff) break;
+            mActiveOctaves--;
+        }
+    }
+
+    /**
+     * The largest absolute third derivative along the x- or y-axis of the 2D noise, with the default lacunarity and
+     * gain. Infinite for noise types whose derivatives aren't known and for the ridged & ping pong fractals, as they
+     * fold the noise into kinks.
+     */
+    static double thirdDerivativeBound(NoiseType noiseType, FractalType fractalType, int octaves, double frequency) {
+        final double lattice = switch (noiseType) {
+            case OpenSimplex2 -> OPEN_SIMPLEX_2_THIRD_DERIVATIVE;
+            case OpenSimplex2S -> OPEN_SIMPLEX_2S_THIRD_DERIVATIVE;
+            default -> Double.POSITIVE_INFINITY;
+        };
+        double octaveScale = 1;
+        switch (fractalType) {
+            case FBm -> {
+                // Every octave doubles the frequency at half the amplitude, so its third derivative is 4 times larger.
+                double amp = 1;
+                double ampFractal = 0;
+                double weighted = 0;
+                for (int i = 0; i < octaves; i++) {
+                    ampFractal += amp;
+                    weighted += amp * Math.pow(8, i);
+                    amp *= 0.5;
+                }
+                octaveScale = weighted / ampFractal;
+            }
+            case Ridged, PingPong -> octaveScale = Double.POSITIVE_INFINITY;
+            default -> {
+            }
+        }
+        return lattice * octaveScale * frequency * frequency * frequency;
     }
 
     private double genNoiseSingle(long seed, double x, double y) {
@@ -645,7 +1278,7 @@ public final class FastNoise {
         double sum = 0;
         double amp = mFractalBounding;
 
-        for (int i = 0; i < mOctaves; i++) {
+        for (int i = 0; i < mActiveOctaves; i++) {
             double noise = genNoiseSingle(seed++, x, y);
             sum += noise * amp;
             amp *= lerp(1.0f, fastMin(noise + 1, 2) * 0.5f, mWeightedStrength);
@@ -663,7 +1296,7 @@ public final class FastNoise {
         double sum = 0;
         double amp = mFractalBounding;
 
-        for (int i = 0; i < mOctaves; i++) {
+        for (int i = 0; i < mActiveOctaves; i++) {
             double noise = genNoiseSingle(seed++, x, y, z);
             sum += noise * amp;
             amp *= lerp(1.0f, (noise + 1) * 0.5f, mWeightedStrength);
@@ -682,7 +1315,7 @@ public final class FastNoise {
         double sum = 0;
         double amp = mFractalBounding;
 
-        for (int i = 0; i < mOctaves; i++) {
+        for (int i = 0; i < mActiveOctaves; i++) {
             double noise = fastAbs(genNoiseSingle(seed++, x, y));
             sum += (noise * -2 + 1) * amp;
             amp *= lerp(1.0f, 1 - noise, mWeightedStrength);
@@ -703,7 +1336,7 @@ public final class FastNoise {
         double sum = 0;
         double amp = mFractalBounding;
 
-        for (int i = 0; i < mOctaves; i++) {
+        for (int i = 0; i < mActiveOctaves; i++) {
             double noise = fastAbs(genNoiseSingle(seed++, x, y, z));
             sum += (noise * -2 + 1) * amp;
             amp *= lerp(1.0f, 1 - noise, mWeightedStrength);
@@ -722,7 +1355,7 @@ public final class FastNoise {
         double sum = 0;
         double amp = mFractalBounding;
 
-        for (int i = 0; i < mOctaves; i++) {
+        for (int i = 0; i < mActiveOctaves; i++) {
             double noise = pingPong((genNoiseSingle(seed++, x, y) + 1) * mPingPongStength);
             sum += (noise - 0.5f) * 2 * amp;
             amp *= lerp(1.0f, noise, mWeightedStrength);
@@ -743,7 +1376,7 @@ public final class FastNoise {
         double sum = 0;
         double amp = mFractalBounding;
 
-        for (int i = 0; i < mOctaves; i++) {
+        for (int i = 0; i < mActiveOctaves; i++) {
             double noise = pingPong((genNoiseSingle(seed++, x, y, z) + 1) * mPingPongStength);
             sum += (noise - 0.5f) * 2 * amp;
             amp *= lerp(1.0f, noise, mWeightedStrength);
@@ -2301,7 +2934,7 @@ public final class FastNoise {
         BasicGrid
     }
 
-    private enum TransformType3D {
+    enum TransformType3D {
         None,
         ImproveXYPlanes,
         ImproveXZPlanes,
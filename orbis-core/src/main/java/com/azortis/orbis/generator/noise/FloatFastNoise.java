@@ -0,0 +1,1010 @@
+/**
+ * MIT License
+ * Copyright(c) 2020 Jordan Peck (jordan.me2@gmail.com)
+ * Copyright(c) 2020 Contributors
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files(the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions :
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import com.azortis.orbis.generator.noise.FastNoise.FractalType;
+import com.azortis.orbis.generator.noise.FastNoise.NoiseType;
+import org.apiguardian.api.API;
+
+import java.util.Arrays;
+
+import static com.azortis.orbis.generator.noise.FastNoise.PrimeX;
+import static com.azortis.orbis.generator.noise.FastNoise.PrimeY;
+import static com.azortis.orbis.generator.noise.FastNoise.PrimeZ;
+import static com.azortis.orbis.generator.noise.FastNoise.hash;
+
+/**
+ * <p>The single precision variant of {@link FastNoise}, limited to the {@link NoiseType#OpenSimplex2} and
+ * {@link NoiseType#OpenSimplex2S} lattices, the only noise types {@link Precision#SINGLE} is offered for. It uses float
+ * gradients, lattice math and fractal accumulation, the enums, primes and lattice hashing are shared with
+ * {@link FastNoise}. The grid fills are scalar, there are no SIMD kernels for it.</p>
+ *
+ * <p>As the hashing is shared, a seed selects the same gradients in both variants and the noise has the same
+ * features, within each precision the value for a seed & position is stable. The values themselves differ, as the
+ * coordinates are rounded to a float after they're scaled by the frequency. At a scaled coordinate of {@code 2^k} the
+ * position inside a lattice cell is only accurate to {@code 2^(k-23)}, so the difference grows with the distance from
+ * the origin. With a frequency of {@code 0.01} the largest difference measured is about {@code 2e-6} within a hundred
+ * blocks of the origin, {@code 2e-4} at ten thousand blocks and {@code 2e-2} at a million blocks.</p>
+ *
+ * <p>The fractals use the default lacunarity, gain and ping pong strength of {@link FastNoise} without weighting,
+ * as these aren't configurable on the noise generators.</p>
+ *
+ * @author Auburn
+ * @version 1.0.1
+ * @see <a href="https://github.com/Auburn/FastNoiseLite">FastNoise Github</a>
+ * @since 0.3-Alpha
+ */
+@API(status = API.Status.INTERNAL, since = "0.3-Alpha", consumers = "com.azortis.orbis.generator.noise")
+public final class FloatFastNoise {
+    // The tables of FastNoise were declared with float literals, so narrowing them is exact.
+    private static final float[] GRADIENTS_2D = narrow(FastNoise.Gradients2D);
+    private static final float[] GRADIENTS_3D = narrow(FastNoise.Gradients3D);
+
+    private static final float LACUNARITY = 2f;
+    private static final float GAIN = 0.5f;
+    private static final float PING_PONG_STRENGTH = 2f;
+
+    private long seed = 1337;
+    private double frequency = 1d;
+    private NoiseType noiseType = NoiseType.OpenSimplex2;
+
+    private FractalType fractalType = FractalType.None;
+    private int octaves = 3;
+    private int activeOctaves = 3;
+    private float octaveCutoff = 0;
+    private float fractalBounding = 1 / 1.75f;
+
+    /**
+     * Creates the noise with the default seed of {@code 1337}.
+     */
+    public FloatFastNoise() {
+    }
+
+    /**
+     * Creates the noise with the specified seed.
+     *
+     * @param seed The seed of the noise.
+     */
+    public FloatFastNoise(long seed) {
+        setSeed(seed);
+    }
+
+    private static float[] narrow(double[] table) {
+        final float[] narrowed = new float[table.length];
+        for (int i = 0; i < table.length; i++) narrowed[i] = (float) table[i];
+        return narrowed;
+    }
+
+    private static float fastAbs(float f) {
+        return f < 0 ? -f : f;
+    }
+
+    private static int fastFloor(float f) {
+        return f >= 0 ? (int) f : (int) f - 1;
+    }
+
+    private static int fastRound(float f) {
+        return f >= 0 ? (int) (f + 0.5f) : (int) (f - 0.5f);
+    }
+
+    private static float pingPong(float t) {
+        t -= (int) (t * 0.5f) * 2;
+        return t < 1 ? t : 2 - t;
+    }
+
+    private static float gradCoord(long seed, int xPrimed, int yPrimed, float xd, float yd) {
+        int hash = hash(seed, xPrimed, yPrimed);
+        hash ^= hash >> 15;
+        hash &= 127 << 1;
+
+        float xg = GRADIENTS_2D[hash];
+        float yg = GRADIENTS_2D[hash | 1];
+
+        return xd * xg + yd * yg;
+    }
+
+    private static float gradCoord(long seed, int xPrimed, int yPrimed, int zPrimed, float xd, float yd, float zd) {
+        int hash = hash(seed, xPrimed, yPrimed, zPrimed);
+        hash ^= hash >> 15;
+        hash &= 63 << 2;
+
+        float xg = GRADIENTS_3D[hash];
+        float yg = GRADIENTS_3D[hash | 1];
+        float zg = GRADIENTS_3D[hash | 2];
+
+        return xd * xg + yd * yg + zd * zg;
+    }
+
+    /**
+     * Sets the seed, the default is {@code 1337}.
+     *
+     * @param seed The seed of the noise.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the frequency, the default is {@code 1}.
+     *
+     * @param frequency The frequency the coordinates are scaled by.
+     */
+    public void setFrequency(double frequency) {
+        this.frequency = frequency;
+    }
+
+    /**
+     * Sets the noise type, the default is {@link NoiseType#OpenSimplex2}.
+     *
+     * @param noiseType Either {@link NoiseType#OpenSimplex2} or {@link NoiseType#OpenSimplex2S}.
+     * @throws IllegalArgumentException If the noise type has no single precision variant.
+     */
+    public void setNoiseType(NoiseType noiseType) {
+        if (noiseType != NoiseType.OpenSimplex2 && noiseType != NoiseType.OpenSimplex2S) {
+            throw new IllegalArgumentException("Noise type " + noiseType + " has no single precision variant");
+        }
+        this.noiseType = noiseType;
+    }
+
+    /**
+     * Sets the method for combining octaves, the default is {@link FractalType#None}. The domain warp types have no
+     * effect on the noise itself, so they're sampled as {@link FractalType#None}.
+     *
+     * @param fractalType The fractal type.
+     */
+    public void setFractalType(FractalType fractalType) {
+        this.fractalType = fractalType;
+    }
+
+    /**
+     * Sets the octave count of the fractal types, the default is {@code 3}.
+     *
+     * @param octaves The octave count.
+     */
+    public void setFractalOctaves(int octaves) {
+        this.octaves = octaves;
+        calculateFractalBounding();
+    }
+
+    /**
+     * Sets the maximum error that skipping the last octaves of the fractal types may introduce, the default is
+     * {@code 0}. Octaves are skipped while their combined amplitude stays within the cutoff.
+     *
+     * @param cutoff The maximum error of the skipped octaves.
+     */
+    public void setFractalOctaveCutoff(float cutoff) {
+        this.octaveCutoff = cutoff;
+        calculateFractalBounding();
+    }
+
+    /**
+     * Samples the 2D noise at the given position.
+     *
+     * @param posX The x coordinate.
+     * @param posY The y coordinate.
+     * @return The noise bounded between -1 and 1.
+     */
+    public float getNoise(double posX, double posY) {
+        float x = (float) (posX * frequency);
+        float y = (float) (posY * frequency);
+
+        final float SQRT3 = (float) 1.7320508075688772935274463415059;
+        final float F2 = 0.5f * (SQRT3 - 1);
+        float t = (x + y) * F2;
+        x += t;
+        y += t;
+
+        return switch (fractalType) {
+            case FBm -> genFractalFBm(x, y);
+            case Ridged -> genFractalRidged(x, y);
+            case PingPong -> genFractalPingPong(x, y);
+            default -> genNoiseSingle(seed, x, y);
+        };
+    }
+
+    /**
+     * Samples the 3D noise at the given position.
+     *
+     * @param posX The x coordinate.
+     * @param posY The y coordinate.
+     * @param posZ The z coordinate.
+     * @return The noise bounded between -1 and 1.
+     */
+    public float getNoise(double posX, double posY, double posZ) {
+        float x = (float) (posX * frequency);
+        float y = (float) (posY * frequency);
+        float z = (float) (posZ * frequency);
+
+        final float R3 = (float) (2.0 / 3.0);
+        float r = (x + y + z) * R3; // Rotation, not skew
+        x = r - x;
+        y = r - y;
+        z = r - z;
+
+        return switch (fractalType) {
+            case FBm -> genFractalFBm(x, y, z);
+            case Ridged -> genFractalRidged(x, y, z);
+            case PingPong -> genFractalPingPong(x, y, z);
+            default -> genNoiseSingle(seed, x, y, z);
+        };
+    }
+
+    /**
+     * Samples the 2D noise on a grid, {@code out[iy * width + ix]} equals
+     * {@code getNoise(originX + ix * step, originY + iy * step)}. The noise and fractal type are only evaluated once
+     * for the whole grid.
+     *
+     * @param originX The x coordinate of the first point.
+     * @param originY The y coordinate of the first point.
+     * @param width   The number of points along the x-axis.
+     * @param depth   The number of points along the y-axis.
+     * @param step    The distance between two points.
+     * @param out     The array to write the noise to.
+     * @throws IllegalArgumentException If the output array is smaller than the grid.
+     */
+    public void fillGrid2D(double originX, double originY, int width, int depth, double step, float[] out) {
+        if (out.length < width * depth) throw new IllegalArgumentException("Output array is smaller than the grid");
+        genGrid2D(originX, originY, width, depth, step, out);
+    }
+
+    /**
+     * Samples the 2D noise on a grid widened to double, with the same layout and values as
+     * {@link #fillGrid2D(double, double, int, int, double, float[])}.
+     *
+     * @param originX The x coordinate of the first point.
+     * @param originY The y coordinate of the first point.
+     * @param width   The number of points along the x-axis.
+     * @param depth   The number of points along the y-axis.
+     * @param step    The distance between two points.
+     * @param out     The array to write the noise to.
+     * @throws IllegalArgumentException If the output array is smaller than the grid.
+     */
+    public void fillGrid2D(double originX, double originY, int width, int depth, double step, double[] out) {
+        final int size = width * depth;
+        if (out.length < size) throw new IllegalArgumentException("Output array is smaller than the grid");
+        final float[] values = genGrid2D(originX, originY, width, depth, step, null);
+        for (int i = 0; i < size; i++) out[i] = values[i];
+    }
+
+    // Without an output array the single noise is written over the x coordinates, the fractal sums need their own.
+    private float[] genGrid2D(double originX, double originY, int width, int depth, double step, float[] out) {
+        final int size = width * depth;
+        final float[] xs = new float[size];
+        final float[] ys = new float[size];
+        for (int iy = 0, i = 0; iy < depth; iy++) {
+            for (int ix = 0; ix < width; ix++, i++) {
+                xs[i] = (float) ((originX + ix * step) * frequency);
+                ys[i] = (float) ((originY + iy * step) * frequency);
+            }
+        }
+
+        final float SQRT3 = (float) 1.7320508075688772935274463415059;
+        final float F2 = 0.5f * (SQRT3 - 1);
+        for (int i = 0; i < size; i++) {
+            float t = (xs[i] + ys[i]) * F2;
+            xs[i] += t;
+            ys[i] += t;
+        }
+
+        switch (fractalType) {
+            case FBm, Ridged, PingPong -> {
+                if (out == null) out = new float[size];
+                genGridFractal(xs, ys, null, out, size);
+            }
+            default -> {
+                if (out == null) out = xs;
+                genGridSingle(seed, xs, ys, out, size);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Samples the 3D noise on a grid, {@code out[(iy * depth + iz) * width + ix]} equals
+     * {@code getNoise(originX + ix * step, originY + iy * step, originZ + iz * step)}. The noise and fractal type are
+     * only evaluated once for the whole grid.
+     *
+     * @param originX The x coordinate of the first point.
+     * @param originY The y coordinate of the first point.
+     * @param originZ The z coordinate of the first point.
+     * @param width   The number of points along the x-axis.
+     * @param height  The number of points along the y-axis.
+     * @param depth   The number of points along the z-axis.
+     * @param step    The distance between two points.
+     * @param out     The array to write the noise to.
+     * @throws IllegalArgumentException If the output array is smaller than the grid.
+     */
+    public void fillGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                           double step, float[] out) {
+        if (out.length < width * height * depth) {
+            throw new IllegalArgumentException("Output array is smaller than the grid");
+        }
+        genGrid3D(originX, originY, originZ, width, height, depth, step, out);
+    }
+
+    /**
+     * Samples the 3D noise on a grid widened to double, with the same layout and values as
+     * {@link #fillGrid3D(double, double, double, int, int, int, double, float[])}.
+     *
+     * @param originX The x coordinate of the first point.
+     * @param originY The y coordinate of the first point.
+     * @param originZ The z coordinate of the first point.
+     * @param width   The number of points along the x-axis.
+     * @param height  The number of points along the y-axis.
+     * @param depth   The number of points along the z-axis.
+     * @param step    The distance between two points.
+     * @param out     The array to write the noise to.
+     * @throws IllegalArgumentException If the output array is smaller than the grid.
+     */
+    public void fillGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                           double step, double[] out) {
+        final int size = width * height * depth;
+        if (out.length < size) throw new IllegalArgumentException("Output array is smaller than the grid");
+        final float[] values = genGrid3D(originX, originY, originZ, width, height, depth, step, null);
+        for (int i = 0; i < size; i++) out[i] = values[i];
+    }
+
+    private float[] genGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                              double step, float[] out) {
+        final int size = width * height * depth;
+        final float[] xs = new float[size];
+        final float[] ys = new float[size];
+        final float[] zs = new float[size];
+        for (int iy = 0, i = 0; iy < height; iy++) {
+            for (int iz = 0; iz < depth; iz++) {
+                for (int ix = 0; ix < width; ix++, i++) {
+                    xs[i] = (float) ((originX + ix * step) * frequency);
+                    ys[i] = (float) ((originY + iy * step) * frequency);
+                    zs[i] = (float) ((originZ + iz * step) * frequency);
+                }
+            }
+        }
+
+        final float R3 = (float) (2.0 / 3.0);
+        for (int i = 0; i < size; i++) {
+            float r = (xs[i] + ys[i] + zs[i]) * R3; // Rotation, not skew
+            xs[i] = r - xs[i];
+            ys[i] = r - ys[i];
+            zs[i] = r - zs[i];
+        }
+
+        switch (fractalType) {
+            case FBm, Ridged, PingPong -> {
+                if (out == null) out = new float[size];
+                genGridFractal(xs, ys, zs, out, size);
+            }
+            default -> {
+                if (out == null) out = xs;
+                genGridSingle(seed, xs, ys, zs, out, size);
+            }
+        }
+        return out;
+    }
+
+    // Octaves are the outer loop, so each octave is a single tight loop over the grid.
+    // The per point operations are the same as the scalar fractal functions, so results are identical.
+    private void genGridFractal(float[] xs, float[] ys, float[] zs, float[] out, int size) {
+        final float[] noises = new float[size];
+        Arrays.fill(out, 0, size, 0);
+        long octaveSeed = seed;
+        float amp = fractalBounding;
+
+        for (int octave = 0; octave < activeOctaves; octave++) {
+            if (zs == null) genGridSingle(octaveSeed++, xs, ys, noises, size);
+            else genGridSingle(octaveSeed++, xs, ys, zs, noises, size);
+
+            switch (fractalType) {
+                case FBm -> {
+                    for (int i = 0; i < size; i++) out[i] += noises[i] * amp;
+                }
+                case Ridged -> {
+                    for (int i = 0; i < size; i++) out[i] += (fastAbs(noises[i]) * -2 + 1) * amp;
+                }
+                default -> {
+                    for (int i = 0; i < size; i++) {
+                        out[i] += (pingPong((noises[i] + 1) * PING_PONG_STRENGTH) - 0.5f) * 2 * amp;
+                    }
+                }
+            }
+
+            for (int i = 0; i < size; i++) {
+                xs[i] *= LACUNARITY;
+                ys[i] *= LACUNARITY;
+            }
+            if (zs != null) {
+                for (int i = 0; i < size; i++) zs[i] *= LACUNARITY;
+            }
+            amp *= GAIN;
+        }
+    }
+
+    private void genGridSingle(long seed, float[] xs, float[] ys, float[] out, int size) {
+        if (noiseType == NoiseType.OpenSimplex2) {
+            for (int i = 0; i < size; i++) out[i] = singleSimplex(seed, xs[i], ys[i]);
+        } else {
+            for (int i = 0; i < size; i++) out[i] = singleOpenSimplex2S(seed, xs[i], ys[i]);
+        }
+    }
+
+    private void genGridSingle(long seed, float[] xs, float[] ys, float[] zs, float[] out, int size) {
+        if (noiseType == NoiseType.OpenSimplex2) {
+            for (int i = 0; i < size; i++) out[i] = singleOpenSimplex2(seed, xs[i], ys[i], zs[i]);
+        } else {
+            for (int i = 0; i < size; i++) out[i] = singleOpenSimplex2S(seed, xs[i], ys[i], zs[i]);
+        }
+    }
+
+    private void calculateFractalBounding() {
+        float amp = GAIN;
+        float ampFractal = 1.0f;
+        for (int i = 1; i < octaves; i++) {
+            ampFractal += amp;
+            amp *= GAIN;
+        }
+        fractalBounding = 1 / ampFractal;
+
+        // Drop the last octaves as long as their combined amplitude can't exceed the cutoff, always keep one.
+        float trailing = 0;
+        activeOctaves = octaves;
+        while (activeOctaves > 1) {
+            trailing += fractalBounding * (float) Math.pow(GAIN, activeOctaves - 1);
+            if (trailing > octaveCutoff) break;
+            activeOctaves--;
+        }
+    }
+
+    private float genNoiseSingle(long seed, float x, float y) {
+        return noiseType == NoiseType.OpenSimplex2 ? singleSimplex(seed, x, y) : singleOpenSimplex2S(seed, x, y);
+    }
+
+    private float genNoiseSingle(long seed, float x, float y, float z) {
+        return noiseType == NoiseType.OpenSimplex2 ? singleOpenSimplex2(seed, x, y, z) :
+                singleOpenSimplex2S(seed, x, y, z);
+    }
+
+    private float genFractalFBm(float x, float y) {
+        long octaveSeed = seed;
+        float sum = 0;
+        float amp = fractalBounding;
+
+        for (int i = 0; i < activeOctaves; i++) {
+            sum += genNoiseSingle(octaveSeed++, x, y) * amp;
+
+            x *= LACUNARITY;
+            y *= LACUNARITY;
+            amp *= GAIN;
+        }
+
+        return sum;
+    }
+
+    private float genFractalFBm(float x, float y, float z) {
+        long octaveSeed = seed;
+        float sum = 0;
+        float amp = fractalBounding;
+
+        for (int i = 0; i < activeOctaves; i++) {
+            sum += genNoiseSingle(octaveSeed++, x, y, z) * amp;
+
+            x *= LACUNARITY;
+            y *= LACUNARITY;
+            z *= LACUNARITY;
+            amp *= GAIN;
+        }
+
+        return sum;
+    }
+
+    private float genFractalRidged(float x, float y) {
+        long octaveSeed = seed;
+        float sum = 0;
+        float amp = fractalBounding;
+
+        for (int i = 0; i < activeOctaves; i++) {
+            float noise = fastAbs(genNoiseSingle(octaveSeed++, x, y));
+            sum += (noise * -2 + 1) * amp;
+
+            x *= LACUNARITY;
+            y *= LACUNARITY;
+            amp *= GAIN;
+        }
+
+        return sum;
+    }
+
+    private float genFractalRidged(float x, float y, float z) {
+        long octaveSeed = seed;
+        float sum = 0;
+        float amp = fractalBounding;
+
+        for (int i = 0; i < activeOctaves; i++) {
+            float noise = fastAbs(genNoiseSingle(octaveSeed++, x, y, z));
+            sum += (noise * -2 + 1) * amp;
+
+            x *= LACUNARITY;
+            y *= LACUNARITY;
+            z *= LACUNARITY;
+            amp *= GAIN;
+        }
+
+        return sum;
+    }
+
+    private float genFractalPingPong(float x, float y) {
+        long octaveSeed = seed;
+        float sum = 0;
+        float amp = fractalBounding;
+
+        for (int i = 0; i < activeOctaves; i++) {
+            float noise = pingPong((genNoiseSingle(octaveSeed++, x, y) + 1) * PING_PONG_STRENGTH);
+            sum += (noise - 0.5f) * 2 * amp;
+
+            x *= LACUNARITY;
+            y *= LACUNARITY;
+            amp *= GAIN;
+        }
+
+        return sum;
+    }
+
+    private float genFractalPingPong(float x, float y, float z) {
+        long octaveSeed = seed;
+        float sum = 0;
+        float amp = fractalBounding;
+
+        for (int i = 0; i < activeOctaves; i++) {
+            float noise = pingPong((genNoiseSingle(octaveSeed++, x, y, z) + 1) * PING_PONG_STRENGTH);
+            sum += (noise - 0.5f) * 2 * amp;
+
+            x *= LACUNARITY;
+            y *= LACUNARITY;
+            z *= LACUNARITY;
+            amp *= GAIN;
+        }
+
+        return sum;
+    }
+
+    private float singleSimplex(long seed, float x, float y) {
+        // 2D OpenSimplex2 case uses the same algorithm as ordinary Simplex.
+
+        final float SQRT3 = 1.7320508075688772935274463415059f;
+        final float G2 = (3 - SQRT3) / 6;
+
+        /*
+         * --- Skew moved to switch statements before fractal evaluation ---
+         * final FNLfloat F2 = 0.5f * (SQRT3 - 1);
+         * FNLfloat s = (x + y) * F2;
+         * x += s; y += s;
+         */
+
+        int i = fastFloor(x);
+        int j = fastFloor(y);
+        float xi = (float) (x - i);
+        float yi = (float) (y - j);
+
+        float t = (xi + yi) * G2;
+        float x0 = (float) (xi - t);
+        float y0 = (float) (yi - t);
+
+        i *= PrimeX;
+        j *= PrimeY;
+
+        float n0, n1, n2;
+
+        float a = 0.5f - x0 * x0 - y0 * y0;
+        if (a <= 0) n0 = 0;
+        else {
+            n0 = (a * a) * (a * a) * gradCoord(seed, i, j, x0, y0);
+        }
+
+        float c = (float) (2 * (1 - 2 * G2) * (1 / G2 - 2)) * t + ((float) (-2 * (1 - 2 * G2) * (1 - 2 * G2)) + a);
+        if (c <= 0) n2 = 0;
+        else {
+            float x2 = x0 + (2 * (float) G2 - 1);
+            float y2 = y0 + (2 * (float) G2 - 1);
+            n2 = (c * c) * (c * c) * gradCoord(seed, i + PrimeX, j + PrimeY, x2, y2);
+        }
+
+        if (y0 > x0) {
+            float x1 = x0 + (float) G2;
+            float y1 = y0 + ((float) G2 - 1);
+            float b = 0.5f - x1 * x1 - y1 * y1;
+            if (b <= 0) n1 = 0;
+            else {
+                n1 = (b * b) * (b * b) * gradCoord(seed, i, j + PrimeY, x1, y1);
+            }
+        } else {
+            float x1 = x0 + ((float) G2 - 1);
+            float y1 = y0 + (float) G2;
+            float b = 0.5f - x1 * x1 - y1 * y1;
+            if (b <= 0) n1 = 0;
+            else {
+                n1 = (b * b) * (b * b) * gradCoord(seed, i + PrimeX, j, x1, y1);
+            }
+        }
+
+        return (n0 + n1 + n2) * 99.83685446303647f;
+    }
+
+    private float singleOpenSimplex2(long seed, float x, float y, float z) {
+        // 3D OpenSimplex2 case uses two offset rotated cube grids.
+
+        /*
+         * --- Rotation moved to switch statements before fractal evaluation ---
+         * final FNLfloat R3 = (FNLfloat)(2.0 / 3.0);
+         * FNLfloat r = (x + y + z) * R3; // Rotation, not skew
+         * x = r - x; y = r - y; z = r - z;
+         */
+
+        int i = fastRound(x);
+        int j = fastRound(y);
+        int k = fastRound(z);
+        float x0 = (float) (x - i);
+        float y0 = (float) (y - j);
+        float z0 = (float) (z - k);
+
+        int xNSign = (int) (-1.0f - x0) | 1;
+        int yNSign = (int) (-1.0f - y0) | 1;
+        int zNSign = (int) (-1.0f - z0) | 1;
+
+        float ax0 = xNSign * -x0;
+        float ay0 = yNSign * -y0;
+        float az0 = zNSign * -z0;
+
+        i *= PrimeX;
+        j *= PrimeY;
+        k *= PrimeZ;
+
+        float value = 0;
+        float a = (0.6f - x0 * x0) - (y0 * y0 + z0 * z0);
+
+        for (int l = 0; ; l++) {
+            if (a > 0) {
+                value += (a * a) * (a * a) * gradCoord(seed, i, j, k, x0, y0, z0);
+            }
+
+            if (ax0 >= ay0 && ax0 >= az0) {
+                float b = a + ax0 + ax0;
+                if (b > 1) {
+                    b -= 1;
+                    value += (b * b) * (b * b) * gradCoord(seed, i - xNSign * PrimeX, j, k, x0 + xNSign, y0, z0);
+                }
+            } else if (ay0 > ax0 && ay0 >= az0) {
+                float b = a + ay0 + ay0;
+                if (b > 1) {
+                    b -= 1;
+                    value += (b * b) * (b * b) * gradCoord(seed, i, j - yNSign * PrimeY, k, x0, y0 + yNSign, z0);
+                }
+            } else {
+                float b = a + az0 + az0;
+                if (b > 1) {
+                    b -= 1;
+                    value += (b * b) * (b * b) * gradCoord(seed, i, j, k - zNSign * PrimeZ, x0, y0, z0 + zNSign);
+                }
+            }
+
+            if (l == 1) break;
+
+            ax0 = 0.5f - ax0;
+            ay0 = 0.5f - ay0;
+            az0 = 0.5f - az0;
+
+            x0 = xNSign * ax0;
+            y0 = yNSign * ay0;
+            z0 = zNSign * az0;
+
+            a += (0.75f - ax0) - (ay0 + az0);
+
+            i += (xNSign >> 1) & PrimeX;
+            j += (yNSign >> 1) & PrimeY;
+            k += (zNSign >> 1) & PrimeZ;
+
+            xNSign = -xNSign;
+            yNSign = -yNSign;
+            zNSign = -zNSign;
+
+            seed = ~seed;
+        }
+
+        return value * 32.69428253173828125f;
+    }
+
+    private float singleOpenSimplex2S(long seed, float x, float y) {
+        // 2D OpenSimplex2S case is a modified 2D simplex noise.
+
+        final float SQRT3 = (float) 1.7320508075688772935274463415059;
+        final float G2 = (3 - SQRT3) / 6;
+
+        /*
+         * --- Skew moved to TransformNoiseCoordinate method ---
+         * final FNLfloat F2 = 0.5f * (SQRT3 - 1);
+         * FNLfloat s = (x + y) * F2;
+         * x += s; y += s;
+         */
+
+        int i = fastFloor(x);
+        int j = fastFloor(y);
+        float xi = (float) (x - i);
+        float yi = (float) (y - j);
+
+        i *= PrimeX;
+        j *= PrimeY;
+        int i1 = i + PrimeX;
+        int j1 = j + PrimeY;
+
+        float t = (xi + yi) * (float) G2;
+        float x0 = xi - t;
+        float y0 = yi - t;
+
+        float a0 = (2.0f / 3.0f) - x0 * x0 - y0 * y0;
+        float value = (a0 * a0) * (a0 * a0) * gradCoord(seed, i, j, x0, y0);
+
+        float a1 = (float) (2 * (1 - 2 * G2) * (1 / G2 - 2)) * t + ((float) (-2 * (1 - 2 * G2) * (1 - 2 * G2)) + a0);
+        float x1 = x0 - (float) (1 - 2 * G2);
+        float y1 = y0 - (float) (1 - 2 * G2);
+        value += (a1 * a1) * (a1 * a1) * gradCoord(seed, i1, j1, x1, y1);
+
+        // Nested conditionals were faster than compact bit logic/arithmetic.
+        float xmyi = xi - yi;
+        if (t > G2) {
+            if (xi + xmyi > 1) {
+                float x2 = x0 + (float) (3 * G2 - 2);
+                float y2 = y0 + (float) (3 * G2 - 1);
+                float a2 = (2.0f / 3.0f) - x2 * x2 - y2 * y2;
+                if (a2 > 0) {
+                    value += (a2 * a2) * (a2 * a2) * gradCoord(seed, i + (PrimeX << 1), j + PrimeY, x2, y2);
+                }
+            } else {
+                float x2 = x0 + (float) G2;
+                float y2 = y0 + (float) (G2 - 1);
+                float a2 = (2.0f / 3.0f) - x2 * x2 - y2 * y2;
+                if (a2 > 0) {
+                    value += (a2 * a2) * (a2 * a2) * gradCoord(seed, i, j + PrimeY, x2, y2);
+                }
+            }
+
+            if (yi - xmyi > 1) {
+                float x3 = x0 + (float) (3 * G2 - 1);
+                float y3 = y0 + (float) (3 * G2 - 2);
+                float a3 = (2.0f / 3.0f) - x3 * x3 - y3 * y3;
+                if (a3 > 0) {
+                    value += (a3 * a3) * (a3 * a3) * gradCoord(seed, i + PrimeX, j + (PrimeY << 1), x3, y3);
+                }
+            } else {
+                float x3 = x0 + (float) (G2 - 1);
+                float y3 = y0 + (float) G2;
+                float a3 = (2.0f / 3.0f) - x3 * x3 - y3 * y3;
+                if (a3 > 0) {
+                    value += (a3 * a3) * (a3 * a3) * gradCoord(seed, i + PrimeX, j, x3, y3);
+                }
+            }
+        } else {
+            if (xi + xmyi < 0) {
+                float x2 = x0 + (float) (1 - G2);
+                float y2 = y0 - (float) G2;
+                float a2 = (2.0f / 3.0f) - x2 * x2 - y2 * y2;
+                if (a2 > 0) {
+                    value += (a2 * a2) * (a2 * a2) * gradCoord(seed, i - PrimeX, j, x2, y2);
+                }
+            } else {
+                float x2 = x0 + (float) (G2 - 1);
+                float y2 = y0 + (float) G2;
+                float a2 = (2.0f / 3.0f) - x2 * x2 - y2 * y2;
+                if (a2 > 0) {
+                    value += (a2 * a2) * (a2 * a2) * gradCoord(seed, i + PrimeX, j, x2, y2);
+                }
+            }
+
+            if (yi < xmyi) {
+                float x2 = x0 - (float) G2;
+                float y2 = y0 - (float) (G2 - 1);
+                float a2 = (2.0f / 3.0f) - x2 * x2 - y2 * y2;
+                if (a2 > 0) {
+                    value += (a2 * a2) * (a2 * a2) * gradCoord(seed, i, j - PrimeY, x2, y2);
+                }
+            } else {
+                float x2 = x0 + (float) G2;
+                float y2 = y0 + (float) (G2 - 1);
+                float a2 = (2.0f / 3.0f) - x2 * x2 - y2 * y2;
+                if (a2 > 0) {
+                    value += (a2 * a2) * (a2 * a2) * gradCoord(seed, i, j + PrimeY, x2, y2);
+                }
+            }
+        }
+
+        return value * 18.24196194486065f;
+    }
+
+    private float singleOpenSimplex2S(long seed, float x, float y, float z) {
+        // 3D OpenSimplex2S case uses two offset rotated cube grids.
+
+        /*
+         * --- Rotation moved to TransformNoiseCoordinate method ---
+         * final FNLfloat R3 = (FNLfloat)(2.0 / 3.0);
+         * FNLfloat r = (x + y + z) * R3; // Rotation, not skew
+         * x = r - x; y = r - y; z = r - z;
+         */
+
+        int i = fastFloor(x);
+        int j = fastFloor(y);
+        int k = fastFloor(z);
+        float xi = (float) (x - i);
+        float yi = (float) (y - j);
+        float zi = (float) (z - k);
+
+        i *= PrimeX;
+        j *= PrimeY;
+        k *= PrimeZ;
+        long seed2 = seed + 1293373;
+
+        int xNMask = (int) (-0.5f - xi);
+        int yNMask = (int) (-0.5f - yi);
+        int zNMask = (int) (-0.5f - zi);
+
+        float x0 = xi + xNMask;
+        float y0 = yi + yNMask;
+        float z0 = zi + zNMask;
+        float a0 = 0.75f - x0 * x0 - y0 * y0 - z0 * z0;
+        float value = (a0 * a0) * (a0 * a0) * gradCoord(seed,
+                i + (xNMask & PrimeX), j + (yNMask & PrimeY), k + (zNMask & PrimeZ), x0, y0, z0);
+
+        float x1 = xi - 0.5f;
+        float y1 = yi - 0.5f;
+        float z1 = zi - 0.5f;
+        float a1 = 0.75f - x1 * x1 - y1 * y1 - z1 * z1;
+        value += (a1 * a1) * (a1 * a1) * gradCoord(seed2,
+                i + PrimeX, j + PrimeY, k + PrimeZ, x1, y1, z1);
+
+        float xAFlipMask0 = ((xNMask | 1) << 1) * x1;
+        float yAFlipMask0 = ((yNMask | 1) << 1) * y1;
+        float zAFlipMask0 = ((zNMask | 1) << 1) * z1;
+        float xAFlipMask1 = (-2 - (xNMask << 2)) * x1 - 1.0f;
+        float yAFlipMask1 = (-2 - (yNMask << 2)) * y1 - 1.0f;
+        float zAFlipMask1 = (-2 - (zNMask << 2)) * z1 - 1.0f;
+
+        boolean skip5 = false;
+        float a2 = xAFlipMask0 + a0;
+        if (a2 > 0) {
+            float x2 = x0 - (xNMask | 1);
+            float y2 = y0;
+            float z2 = z0;
+            value += (a2 * a2) * (a2 * a2) * gradCoord(seed,
+                    i + (~xNMask & PrimeX), j + (yNMask & PrimeY), k + (zNMask & PrimeZ), x2, y2, z2);
+        } else {
+            float a3 = yAFlipMask0 + zAFlipMask0 + a0;
+            if (a3 > 0) {
+                float x3 = x0;
+                float y3 = y0 - (yNMask | 1);
+                float z3 = z0 - (zNMask | 1);
+                value += (a3 * a3) * (a3 * a3) * gradCoord(seed,
+                        i + (xNMask & PrimeX), j + (~yNMask & PrimeY), k + (~zNMask & PrimeZ), x3, y3, z3);
+            }
+
+            float a4 = xAFlipMask1 + a1;
+            if (a4 > 0) {
+                float x4 = (xNMask | 1) + x1;
+                float y4 = y1;
+                float z4 = z1;
+                value += (a4 * a4) * (a4 * a4) * gradCoord(seed2,
+                        i + (xNMask & (PrimeX * 2)), j + PrimeY, k + PrimeZ, x4, y4, z4);
+                skip5 = true;
+            }
+        }
+
+        boolean skip9 = false;
+        float a6 = yAFlipMask0 + a0;
+        if (a6 > 0) {
+            float x6 = x0;
+            float y6 = y0 - (yNMask | 1);
+            float z6 = z0;
+            value += (a6 * a6) * (a6 * a6) * gradCoord(seed,
+                    i + (xNMask & PrimeX), j + (~yNMask & PrimeY), k + (zNMask & PrimeZ), x6, y6, z6);
+        } else {
+            float a7 = xAFlipMask0 + zAFlipMask0 + a0;
+            if (a7 > 0) {
+                float x7 = x0 - (xNMask | 1);
+                float y7 = y0;
+                float z7 = z0 - (zNMask | 1);
+                value += (a7 * a7) * (a7 * a7) * gradCoord(seed,
+                        i + (~xNMask & PrimeX), j + (yNMask & PrimeY), k + (~zNMask & PrimeZ), x7, y7, z7);
+            }
+
+            float a8 = yAFlipMask1 + a1;
+            if (a8 > 0) {
+                float x8 = x1;
+                float y8 = (yNMask | 1) + y1;
+                float z8 = z1;
+                value += (a8 * a8) * (a8 * a8) * gradCoord(seed2,
+                        i + PrimeX, j + (yNMask & (PrimeY << 1)), k + PrimeZ, x8, y8, z8);
+                skip9 = true;
+            }
+        }
+
+        boolean skipD = false;
+        float aA = zAFlipMask0 + a0;
+        if (aA > 0) {
+            float xA = x0;
+            float yA = y0;
+            float zA = z0 - (zNMask | 1);
+            value += (aA * aA) * (aA * aA) * gradCoord(seed,
+                    i + (xNMask & PrimeX), j + (yNMask & PrimeY), k + (~zNMask & PrimeZ), xA, yA, zA);
+        } else {
+            float aB = xAFlipMask0 + yAFlipMask0 + a0;
+            if (aB > 0) {
+                float xB = x0 - (xNMask | 1);
+                float yB = y0 - (yNMask | 1);
+                float zB = z0;
+                value += (aB * aB) * (aB * aB) * gradCoord(seed,
+                        i + (~xNMask & PrimeX), j + (~yNMask & PrimeY), k + (zNMask & PrimeZ), xB, yB, zB);
+            }
+
+            float aC = zAFlipMask1 + a1;
+            if (aC > 0) {
+                float xC = x1;
+                float yC = y1;
+                float zC = (zNMask | 1) + z1;
+                value += (aC * aC) * (aC * aC) * gradCoord(seed2,
+                        i + PrimeX, j + PrimeY, k + (zNMask & (PrimeZ << 1)), xC, yC, zC);
+                skipD = true;
+            }
+        }
+
+        if (!skip5) {
+            float a5 = yAFlipMask1 + zAFlipMask1 + a1;
+            if (a5 > 0) {
+                float x5 = x1;
+                float y5 = (yNMask | 1) + y1;
+                float z5 = (zNMask | 1) + z1;
+                value += (a5 * a5) * (a5 * a5) * gradCoord(seed2,
+                        i + PrimeX, j + (yNMask & (PrimeY << 1)), k + (zNMask & (PrimeZ << 1)), x5, y5, z5);
+            }
+        }
+
+        if (!skip9) {
+            float a9 = xAFlipMask1 + zAFlipMask1 + a1;
+            if (a9 > 0) {
+                float x9 = (xNMask | 1) + x1;
+                float y9 = y1;
+                float z9 = (zNMask | 1) + z1;
+                value += (a9 * a9) * (a9 * a9) * gradCoord(seed2,
+                        i + (xNMask & (PrimeX * 2)), j + PrimeY, k + (zNMask & (PrimeZ << 1)), x9, y9, z9);
+            }
+        }
+
+        if (!skipD) {
+            float aD = xAFlipMask1 + yAFlipMask1 + a1;
+            if (aD > 0) {
+                float xD = (xNMask | 1) + x1;
+                float yD = (yNMask | 1) + y1;
+                float zD = z1;
+                value += (aD * aD) * (aD * aD) * gradCoord(seed2,
+                        i + (xNMask & (PrimeX << 1)), j + (yNMask & (PrimeY << 1)), k + PrimeZ, xD, yD, zD);
+            }
+        }
+
+        return value * 9.046026385208288f;
+    }
+}
@@ -48,14 +48,24 @@ public abstract class Noise {
     @Description("The frequency to sample the noise from, used to smooth out the results.")
     protected final double frequency;
 
+    @Description("The floating point precision to compute the noise with, single precision is less accurate far " +
+            "away from the origin. Not every noise type supports single precision, defaults to DOUBLE.")
+    protected final Precision precision;
+
     @Inject
     private transient World world;
 
     protected Noise(@Nullable String name, @NotNull Key type, long salt, double frequency) {
+        this(name, type, salt, frequency, Precision.DOUBLE);
+    }
+
+    protected Noise(@Nullable String name, @NotNull Key type, long salt, double frequency,
+                    @NotNull Precision precision) {
         this.name = name;
         this.type = type;
         this.salt = salt;
         this.frequency = frequency;
+        this.precision = precision;
     }
 
     /**
@@ -77,12 +87,147 @@ public abstract class Noise {
         return type;
     }
 
+    public @NotNull Precision precision() {
+        return precision != null ? precision : Precision.DOUBLE;
+    }
+
+    /**
+     * The maximum absolute value the noise can return, used to skip computations that can't change the outcome.
+     * Defaults to infinity, for noise types that don't know the range of their values.
+     *
+     * @return The bound of the absolute noise values.
+     * @since 0.3-Alpha
+     */
+    public double bound() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * The maximum absolute third derivative of the 2D noise along the x- or z-axis, used to bound the error of
+     * interpolating the noise between grid points. Defaults to infinity, for noise types that don't know how smooth
+     * they are. Rounding, like that of single precision, isn't included.
+     *
+     * @return The bound of the third derivative of the 2D noise.
+     * @since 0.3-Alpha
+     */
+    public double thirdDerivativeBound() {
+        return Double.POSITIVE_INFINITY;
+    }
+
     public abstract double noise(double x);
 
+    /**
+     * Sample the 2D noise. Values that are needed repeatedly for the same block column while a chunk is being
+     * generated can be memoized with the {@link NoiseCache} of the chunk.
+     *
+     * @param x The x-coordinate.
+     * @param z The z-coordinate.
+     * @return The noise value at the coordinates.
+     */
     public abstract double noise(double x, double z);
 
     public abstract double noise(double x, double y, double z);
 
+    /**
+     * Sample the noise on a 2D grid, where {@code out[iz * width + ix]} is set to
+     * {@code noise(originX + ix * step, originZ + iz * step)}. Implementations can override this to sample the whole
+     * grid in a single loop, the default implementation calls {@link #noise(double, double)} for each point.
+     *
+     * @param originX The x-coordinate of the first point.
+     * @param originZ The z-coordinate of the first point.
+     * @param width   The amount of points along the x-axis.
+     * @param depth   The amount of points along the z-axis.
+     * @param step    The distance between two neighbouring points.
+     * @param out     The array to write the samples to, must hold at least width * depth values.
+     * @throws IllegalArgumentException If the output array is too small.
+     * @since 0.3-Alpha
+     */
+    public void fillGrid2D(double originX, double originZ, int width, int depth, double step,
+                           @NotNull double[] out) throws IllegalArgumentException {
+        if (out.length < width * depth) throw new IllegalArgumentException("Output array is smaller than the grid");
+        for (int iz = 0, i = 0; iz < depth; iz++) {
+            for (int ix = 0; ix < width; ix++, i++) {
+                out[i] = noise(originX + ix * step, originZ + iz * step);
+            }
+        }
+    }
+
+    /**
+     * Sample the noise on a 3D grid, where {@code out[(iy * depth + iz) * width + ix]} is set to
+     * {@code noise(originX + ix * step, originY + iy * step, originZ + iz * step)}. Implementations can override this
+     * to sample the whole grid in a single loop, the default implementation calls
+     * {@link #noise(double, double, double)} for each point.
+     *
+     * @param originX The x-coordinate of the first point.
+     * @param originY The y-coordinate of the first point.
+     * @param originZ The z-coordinate of the first point.
+     * @param width   The amount of points along the x-axis.
+     * @param height  The amount of points along the y-axis.
+     * @param depth   The amount of points along the z-axis.
+     * @param step    The distance between two neighbouring points.
+     * @param out     The array to write the samples to, must hold at least width * height * depth values.
+     * @throws IllegalArgumentException If the output array is too small.
+     * @since 0.3-Alpha
+     */
+    public void fillGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                           double step, @NotNull double[] out) throws IllegalArgumentException {
+        if (out.length < width * height * depth) {
+            throw new IllegalArgumentException("Output array is smaller than the grid");
+        }
+        for (int iy = 0, i = 0; iy < height; iy++) {
+            for (int iz = 0; iz < depth; iz++) {
+                for (int ix = 0; ix < width; ix++, i++) {
+                    out[i] = noise(originX + ix * step, originY + iy * step, originZ + iz * step);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sample the 2D noise at a batch of positions, where {@code out[i]} is set to {@code noise(xs[i], zs[i])}.
+     * Implementations can override this to sample the whole batch in a single loop, the default implementation
+     * calls {@link #noise(double, double)} for each position.
+     *
+     * @param xs   The x-coordinates of the positions, aren't modified.
+     * @param zs   The z-coordinates of the positions, aren't modified.
+     * @param size The amount of positions.
+     * @param out  The array to write the samples to.
+     * @throws IllegalArgumentException If any of the arrays holds less than size values.
+     * @since 0.3-Alpha
+     */
+    public void fillPoints2D(@NotNull double[] xs, @NotNull double[] zs, int size,
+                             @NotNull double[] out) throws IllegalArgumentException {
+        if (xs.length < size || zs.length < size || out.length < size) {
+            throw new IllegalArgumentException("Arrays are smaller than the amount of positions");
+        }
+        for (int i = 0; i < size; i++) {
+            out[i] = noise(xs[i], zs[i]);
+        }
+    }
+
+    /**
+     * Sample the 3D noise at a batch of positions, where {@code out[i]} is set to
+     * {@code noise(xs[i], ys[i], zs[i])}. Implementations can override this to sample the whole batch in a single
+     * loop, the default implementation calls {@link #noise(double, double, double)} for each position.
+     *
+     * @param xs   The x-coordinates of the positions, aren't modified.
+     * @param ys   The y-coordinates of the positions, aren't modified.
+     * @param zs   The z-coordinates of the positions, aren't modified.
+     * @param size The amount of positions.
+     * @param out  The array to write the samples to.
+     * @throws IllegalArgumentException If any of the arrays holds less than size values.
+     * @since 0.3-Alpha
+     */
+    public void fillPoints3D(@NotNull double[] xs, @NotNull double[] ys, @NotNull double[] zs, int size,
+                             @NotNull double[] out) throws IllegalArgumentException {
+        if (xs.length < size || ys.length < size || zs.length < size || out.length < size) {
+            throw new IllegalArgumentException("Arrays are smaller than the amount of positions");
+        }
+        for (int i = 0; i < size; i++) {
+            out[i] = noise(xs[i], ys[i], zs[i]);
+        }
+    }
+
     protected long getNoiseSeed() {
         return ((world.getWorldInfo().seed()) << 16) & (salt << 32);
     }
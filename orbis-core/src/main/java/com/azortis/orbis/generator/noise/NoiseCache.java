@@ -0,0 +1,87 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * <p>Memoizes values per block column of the chunk that is being generated, so that every stage that asks for the
+ * same surface height or noise layer only evaluates it once per column. The cache belongs to the
+ * {@link com.azortis.orbis.generator.framework.ChunkSnapshot} of the chunk, and is discarded together with it.</p>
+ *
+ * <p>Values are keyed by the {@link ColumnSampler} that computes them and the integer block column, so callers
+ * memoize at the level of the block coordinates before any scaling is applied. Columns outside the chunk are
+ * computed directly. A snapshot is only generated by a single thread, so the cache isn't thread-safe.</p>
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public final class NoiseCache {
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final Map<ColumnSampler, Memo> memos = new IdentityHashMap<>();
+
+    public NoiseCache(int chunkX, int chunkZ) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+    }
+
+    /**
+     * Get the value of the sampler at the block column, which is only computed the first time it's requested for a
+     * column inside the chunk.
+     *
+     * @param sampler The sampler that computes the value, its identity is the key of the memo.
+     * @param x       The absolute block x-coordinate.
+     * @param z       The absolute block z-coordinate.
+     * @return The value of the sampler at the block column.
+     */
+    public double sample(@NotNull ColumnSampler sampler, int x, int z) {
+        if ((x >> 4) != chunkX || (z >> 4) != chunkZ) return sampler.sample(x, z);
+        Memo memo = memos.get(sampler);
+        if (memo == null) {
+            memo = new Memo();
+            memos.put(sampler, memo);
+        }
+        final int index = (x & 15) | ((z & 15) << 4);
+        if (!memo.filled[index]) {
+            memo.values[index] = sampler.sample(x, z);
+            memo.filled[index] = true;
+        }
+        return memo.values[index];
+    }
+
+    /**
+     * Computes a value for a block column, implementations are used as the key of their memo so they should be
+     * created once, not per sample.
+     */
+    @FunctionalInterface
+    public interface ColumnSampler {
+        double sample(int x, int z);
+    }
+
+    private static final class Memo {
+        private final double[] values = new double[256];
+        private final boolean[] filled = new boolean[256];
+    }
+
+}
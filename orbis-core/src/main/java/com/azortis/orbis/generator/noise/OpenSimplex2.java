@@ -19,38 +19,113 @@
 package com.azortis.orbis.generator.noise;
 
 import com.azortis.orbis.pack.Invoke;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
 import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public final class OpenSimplex2 extends Noise {
 
+    @Description("The fractal to layer octaves of the noise with, defaults to None. The domain warp fractals " +
+            "don't apply to sampling.")
+    private final FastNoise.FractalType fractalType;
+
+    @Min(1)
+    @Description("The amount of fractal octaves, every octave adds detail at double the frequency and half the " +
+            "amplitude. Defaults to 3.")
+    private final Integer octaves;
+
+    @Min(floating = 0d)
+    @Description("The largest difference in value that leaving out the last fractal octaves may cause, octaves " +
+            "are left out while their combined amplitude stays within it. Defaults to 0, which samples every octave.")
+    private final Double octaveCutoff;
+
     private transient FastNoise noise;
+    private transient FloatFastNoise floatNoise;
 
     public OpenSimplex2(@Nullable String name, Key type, long seed, double frequency) {
         super(name, type, seed, frequency);
+        this.fractalType = null;
+        this.octaves = null;
+        this.octaveCutoff = null;
     }
 
     @Invoke
     @SuppressWarnings("unused")
     private void setupNoise() {
+        if (precision() == Precision.SINGLE) {
+            floatNoise = new FloatFastNoise();
+            floatNoise.setNoiseType(FastNoise.NoiseType.OpenSimplex2);
+            floatNoise.setSeed(getNoiseSeed());
+            floatNoise.setFrequency(frequency);
+            if (fractalType != null) floatNoise.setFractalType(fractalType);
+            if (octaves != null) floatNoise.setFractalOctaves(octaves);
+            if (octaveCutoff != null) floatNoise.setFractalOctaveCutoff(octaveCutoff.floatValue());
+            return;
+        }
         noise = new FastNoise();
         noise.setNoiseType(FastNoise.NoiseType.OpenSimplex2);
         noise.setSeed(getNoiseSeed());
         noise.setFrequency(frequency);
+        if (fractalType != null) noise.setFractalType(fractalType);
+        if (octaves != null) noise.setFractalOctaves(octaves);
+        if (octaveCutoff != null) noise.setFractalOctaveCutoff(octaveCutoff);
+    }
+
+    @Override
+    public double bound() {
+        return 1;
+    }
+
+    @Override
+    public double thirdDerivativeBound() {
+        return FastNoise.thirdDerivativeBound(FastNoise.NoiseType.OpenSimplex2,
+                fractalType != null ? fractalType : FastNoise.FractalType.None, octaves != null ? octaves : 3,
+                frequency);
     }
 
     @Override
     public double noise(double x) {
+        if (floatNoise != null) return floatNoise.getNoise(x, 0);
         return noise.getNoise(x, 0);
     }
 
     @Override
     public double noise(double x, double z) {
+        if (floatNoise != null) return floatNoise.getNoise(x, z);
         return noise.getNoise(x, z);
     }
 
     @Override
     public double noise(double x, double y, double z) {
+        if (floatNoise != null) return floatNoise.getNoise(x, y, z);
         return noise.getNoise(x, y, z);
     }
+
+    @Override
+    public void fillGrid2D(double originX, double originZ, int width, int depth, double step, @NotNull double[] out) {
+        if (floatNoise != null) floatNoise.fillGrid2D(originX, originZ, width, depth, step, out);
+        else noise.fillGrid2D(originX, originZ, width, depth, step, out);
+    }
+
+    @Override
+    public void fillGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                           double step, @NotNull double[] out) {
+        if (floatNoise != null) floatNoise.fillGrid3D(originX, originY, originZ, width, height, depth, step, out);
+        else noise.fillGrid3D(originX, originY, originZ, width, height, depth, step, out);
+    }
+
+    @Override
+    public void fillPoints2D(@NotNull double[] xs, @NotNull double[] zs, int size, @NotNull double[] out) {
+        if (floatNoise != null) super.fillPoints2D(xs, zs, size, out);
+        else noise.getNoise(xs, zs, out, size);
+    }
+
+    @Override
+    public void fillPoints3D(@NotNull double[] xs, @NotNull double[] ys, @NotNull double[] zs, int size,
+                             @NotNull double[] out) {
+        if (floatNoise != null) super.fillPoints3D(xs, ys, zs, size, out);
+        else noise.getNoise(xs, ys, zs, out, size);
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+/**
+ * The floating point precision a {@link Noise} is computed with.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public enum Precision {
+
+    /**
+     * Compute the noise with doubles, this is the default.
+     */
+    DOUBLE,
+
+    /**
+     * Compute the noise with floats, which halves the memory footprint of the noise tables. The values deviate
+     * from {@link #DOUBLE} by about {@code 2e-6} near the origin, growing to about {@code 2e-2} at a million blocks
+     * away from it. See {@link FloatFastNoise} for the details.
+     */
+    SINGLE
+
+}
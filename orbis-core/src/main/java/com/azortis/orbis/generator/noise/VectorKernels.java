@@ -0,0 +1,72 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * SIMD versions of the {@link FastNoise} lattice functions used by the grid fills. The implementation lives in a
+ * separate source set that is compiled against the incubating {@code jdk.incubator.vector} module, and is only
+ * loaded if that module is present at runtime, so {@link FastNoise} falls back to its scalar code otherwise.
+ * <p>
+ * Every kernel performs the same floating point operations in the same order as the scalar function it replaces,
+ * so the results are identical as long as the lattice coordinates fit in an int. Coordinates are expected after
+ * frequency and transform are applied.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+interface VectorKernels {
+
+    String IMPLEMENTATION = "com.azortis.orbis.generator.noise.VectorizedNoise";
+
+    /**
+     * Set this system property to true to always use the scalar code.
+     */
+    String DISABLE_PROPERTY = "orbis.noise.disableVector";
+
+    /**
+     * The amount of points evaluated per vector operation.
+     *
+     * @return The amount of lanes.
+     */
+    int lanes();
+
+    void openSimplex2(long seed, @NotNull double[] xs, @NotNull double[] ys, @NotNull double[] out, int size);
+
+    void openSimplex2S(long seed, @NotNull double[] xs, @NotNull double[] ys, @NotNull double[] out, int size);
+
+    void openSimplex2(long seed, @NotNull double[] xs, @NotNull double[] ys, @NotNull double[] zs,
+                      @NotNull double[] out, int size);
+
+    static @Nullable VectorKernels load() {
+        if (Boolean.getBoolean(DISABLE_PROPERTY)) return null;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            final VectorKernels kernels = (VectorKernels) Class.forName(IMPLEMENTATION).getDeclaredConstructor()
+                    .newInstance();
+            // Without at least two lanes there is nothing to gain over the scalar code.
+            return kernels.lanes() >= 2 ? kernels : null;
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return null;
+        }
+    }
+
+}
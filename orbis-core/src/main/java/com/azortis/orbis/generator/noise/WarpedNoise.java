@@ -0,0 +1,197 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.Invoke;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import com.google.gson.annotations.SerializedName;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Noise that samples another noise at domain warped coordinates. The frequency & salt of this noise are used for
+ * the warp, the sampled noise uses its own. Grids & batches of positions are warped in place on coordinate arrays
+ * and then sampled as a batch, so warping doesn't allocate per position.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@Description("Samples another noise at coordinates that are displaced by a domain warp.")
+public final class WarpedNoise extends Noise {
+
+    @Required
+    @SerializedName("noise")
+    @Description("The name of the noise to sample at the warped coordinates.")
+    private final String noiseName;
+
+    @Description("The algorithm used to displace the coordinates, defaults to OpenSimplex2.")
+    private final FastNoise.DomainWarpType warpType;
+
+    @Required
+    @Min(floating = 0d)
+    @Description("The strength of the warp, roughly the maximum distance in blocks a coordinate is displaced.")
+    private final double amplitude;
+
+    @Min(1)
+    @Description("The amount of warp octaves, every octave warps the result of the previous one at double the " +
+            "frequency and half the amplitude. Defaults to 1.")
+    private final int octaves;
+
+    @Inject(fieldName = "noiseName")
+    private transient Noise noise;
+    private transient FastNoise warp;
+    private transient ThreadLocal<Position> positions;
+
+    private WarpedNoise(@Nullable String name, @NotNull Key type, long salt, double frequency,
+                        @NotNull String noiseName, @NotNull FastNoise.DomainWarpType warpType, double amplitude,
+                        int octaves) {
+        super(name, type, salt, frequency);
+        this.noiseName = noiseName;
+        this.warpType = warpType;
+        this.amplitude = amplitude;
+        this.octaves = octaves;
+    }
+
+    @Invoke
+    @SuppressWarnings("unused")
+    private void setupWarp() {
+        setupWarp(getNoiseSeed());
+    }
+
+    // Package private so tests without a world can seed the warp.
+    void setupWarp(long seed) {
+        warp = new FastNoise(seed);
+        warp.setFrequency(frequency);
+        warp.setDomainWarpType(warpType != null ? warpType : FastNoise.DomainWarpType.OpenSimplex2);
+        warp.setDomainWarpAmp(amplitude);
+        // The octaves are always set, as they determine the fractal bounding of the amplitude.
+        warp.setFractalOctaves(Math.max(1, octaves));
+        if (octaves > 1) warp.setFractalType(FastNoise.FractalType.DomainWarpProgressive);
+        positions = ThreadLocal.withInitial(Position::new);
+    }
+
+    @Override
+    public double bound() {
+        return noise.bound();
+    }
+
+    @Override
+    public double noise(double x) {
+        final FastNoise.Vector2 position = positions.get().position2D;
+        position.x = x;
+        position.y = 0;
+        warp.domainWarp(position);
+        return noise.noise(position.x);
+    }
+
+    @Override
+    public double noise(double x, double z) {
+        final FastNoise.Vector2 position = positions.get().position2D;
+        position.x = x;
+        position.y = z;
+        warp.domainWarp(position);
+        return noise.noise(position.x, position.y);
+    }
+
+    @Override
+    public double noise(double x, double y, double z) {
+        final FastNoise.Vector3 position = positions.get().position3D;
+        position.x = x;
+        position.y = y;
+        position.z = z;
+        warp.domainWarp(position);
+        return noise.noise(position.x, position.y, position.z);
+    }
+
+    @Override
+    public void fillGrid2D(double originX, double originZ, int width, int depth, double step,
+                           @NotNull double[] out) throws IllegalArgumentException {
+        final int size = width * depth;
+        if (out.length < size) throw new IllegalArgumentException("Output array is smaller than the grid");
+        final double[] xs = new double[size];
+        final double[] zs = new double[size];
+        for (int iz = 0, i = 0; iz < depth; iz++) {
+            for (int ix = 0; ix < width; ix++, i++) {
+                xs[i] = originX + ix * step;
+                zs[i] = originZ + iz * step;
+            }
+        }
+        warp.domainWarp(xs, zs, size);
+        noise.fillPoints2D(xs, zs, size, out);
+    }
+
+    @Override
+    public void fillGrid3D(double originX, double originY, double originZ, int width, int height, int depth,
+                           double step, @NotNull double[] out) throws IllegalArgumentException {
+        final int size = width * height * depth;
+        if (out.length < size) throw new IllegalArgumentException("Output array is smaller than the grid");
+        final double[] xs = new double[size];
+        final double[] ys = new double[size];
+        final double[] zs = new double[size];
+        for (int iy = 0, i = 0; iy < height; iy++) {
+            for (int iz = 0; iz < depth; iz++) {
+                for (int ix = 0; ix < width; ix++, i++) {
+                    xs[i] = originX + ix * step;
+                    ys[i] = originY + iy * step;
+                    zs[i] = originZ + iz * step;
+                }
+            }
+        }
+        warp.domainWarp(xs, ys, zs, size);
+        noise.fillPoints3D(xs, ys, zs, size, out);
+    }
+
+    @Override
+    public void fillPoints2D(@NotNull double[] xs, @NotNull double[] zs, int size,
+                             @NotNull double[] out) throws IllegalArgumentException {
+        if (xs.length < size || zs.length < size) {
+            throw new IllegalArgumentException("Arrays are smaller than the amount of positions");
+        }
+        final double[] warpedX = Arrays.copyOf(xs, size);
+        final double[] warpedZ = Arrays.copyOf(zs, size);
+        warp.domainWarp(warpedX, warpedZ, size);
+        noise.fillPoints2D(warpedX, warpedZ, size, out);
+    }
+
+    @Override
+    public void fillPoints3D(@NotNull double[] xs, @NotNull double[] ys, @NotNull double[] zs, int size,
+                             @NotNull double[] out) throws IllegalArgumentException {
+        if (xs.length < size || ys.length < size || zs.length < size) {
+            throw new IllegalArgumentException("Arrays are smaller than the amount of positions");
+        }
+        final double[] warpedX = Arrays.copyOf(xs, size);
+        final double[] warpedY = Arrays.copyOf(ys, size);
+        final double[] warpedZ = Arrays.copyOf(zs, size);
+        warp.domainWarp(warpedX, warpedY, warpedZ, size);
+        noise.fillPoints3D(warpedX, warpedY, warpedZ, size, out);
+    }
+
+    // Scratch for warping a single position, so that doesn't allocate either.
+    private static final class Position {
+        private final FastNoise.Vector2 position2D = new FastNoise.Vector2(0, 0);
+        private final FastNoise.Vector3 position3D = new FastNoise.Vector3(0, 0, 0);
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+@Description("The absolute value of its input.")
+public final class AbsExpression extends Expression {
+
+    public static final Key TYPE = Key.key("orbis:abs");
+
+    private static final MethodHandle ABS;
+
+    static {
+        try {
+            ABS = MethodHandles.publicLookup().findStatic(Math.class, "abs",
+                    MethodType.methodType(double.class, double.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    @Required
+    @Description("The expression to take the absolute value of.")
+    private final Expression input;
+
+    public AbsExpression(@NotNull Expression input) {
+        super(TYPE);
+        this.input = input;
+    }
+
+    @Override
+    public @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException {
+        return MethodHandles.filterReturnValue(input.compile(type), ABS);
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.MinItems;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+@Description("The sum of its inputs.")
+public final class AddExpression extends Expression {
+
+    public static final Key TYPE = Key.key("orbis:add");
+
+    @Required
+    @MinItems
+    @Description("The expressions to add together, in order.")
+    private final List<Expression> inputs;
+
+    public AddExpression(@NotNull List<Expression> inputs) {
+        super(TYPE);
+        this.inputs = inputs;
+    }
+
+    @Override
+    public @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException {
+        if (inputs == null || inputs.isEmpty()) throw new IllegalStateException("Add expression without inputs");
+        MethodHandle handle = inputs.get(0).compile(type);
+        for (int i = 1; i < inputs.size(); i++) {
+            handle = sum(handle, inputs.get(i).compile(type));
+        }
+        return handle;
+    }
+
+}
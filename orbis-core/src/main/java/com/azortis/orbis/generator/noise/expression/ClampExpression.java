@@ -0,0 +1,75 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+@Description("Clamps its input between a minimum and maximum value.")
+public final class ClampExpression extends Expression {
+
+    public static final Key TYPE = Key.key("orbis:clamp");
+
+    private static final MethodHandle CLAMP;
+
+    static {
+        try {
+            CLAMP = MethodHandles.lookup().findStatic(ClampExpression.class, "clamp",
+                    MethodType.methodType(double.class, double.class, double.class, double.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    @Required
+    @Description("The expression to clamp.")
+    private final Expression input;
+
+    @Required
+    @Description("The minimum value.")
+    private final double min;
+
+    @Required
+    @Description("The maximum value.")
+    private final double max;
+
+    public ClampExpression(@NotNull Expression input, double min, double max) {
+        super(TYPE);
+        this.input = input;
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException {
+        if (min > max) throw new IllegalStateException("Clamp minimum " + min + " is larger than maximum " + max);
+        return MethodHandles.filterReturnValue(input.compile(type), MethodHandles.insertArguments(CLAMP, 1, min, max));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.min(max, Math.max(min, value));
+    }
+
+}
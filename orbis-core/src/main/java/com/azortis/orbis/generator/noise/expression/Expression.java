@@ -0,0 +1,199 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import com.azortis.orbis.pack.studio.annotations.Typed;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * A node in a noise expression graph. Instead of being interpreted for every sample, the graph is compiled once by
+ * the {@link ExpressionCompiler} into a chain of {@link MethodHandle}s, so the JIT can inline the whole graph with
+ * its parameters as constants.
+ * <p>
+ * Every node compiles to a handle of either {@link #TYPE_2D} or {@link #TYPE_3D}, taking the coordinates and
+ * returning the value of the node at those coordinates.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@Inject
+@Typed
+@Description("A node in a noise expression, that is compiled when the pack is loaded.")
+public abstract class Expression {
+
+    /**
+     * The type of 2D expression handles, {@code (x, z) -> value}.
+     */
+    public static final MethodType TYPE_2D = MethodType.methodType(double.class, double.class, double.class);
+
+    /**
+     * The type of 3D expression handles, {@code (x, y, z) -> value}.
+     */
+    public static final MethodType TYPE_3D = MethodType.methodType(double.class, double.class, double.class,
+            double.class);
+
+    private static final MethodHandle SUM;
+    private static final MethodHandle PRODUCT;
+    private static final MethodHandle QUOTIENT;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodType binary = MethodType.methodType(double.class, double.class, double.class);
+            SUM = lookup.findStatic(Expression.class, "sum", binary);
+            PRODUCT = lookup.findStatic(Expression.class, "product", binary);
+            QUOTIENT = lookup.findStatic(Expression.class, "quotient", binary);
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    @Required
+    @Description("The type of expression node.")
+    protected final Key type;
+
+    protected Expression(@NotNull Key type) {
+        this.type = type;
+    }
+
+    public Key type() {
+        return type;
+    }
+
+    /**
+     * Compile this node and its inputs into a method handle.
+     *
+     * @param type Either {@link #TYPE_2D} or {@link #TYPE_3D}.
+     * @return The method handle of the given type that computes the value of this node.
+     * @throws IllegalStateException If the node isn't configured correctly.
+     * @since 0.3-Alpha
+     */
+    public abstract @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException;
+
+    //
+    // Helpers for building handles
+    //
+
+    /**
+     * @return A handle of the given type that ignores the coordinates and returns the value.
+     */
+    protected static @NotNull MethodHandle constant(@NotNull MethodType type, double value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(double.class, value), 0, type.parameterList());
+    }
+
+    /**
+     * @return A handle of the given type that returns the coordinate at the index.
+     */
+    protected static @NotNull MethodHandle coordinate(@NotNull MethodType type, int index) {
+        final MethodHandle identity = MethodHandles.identity(double.class);
+        return MethodHandles.dropArguments(MethodHandles.dropArguments(identity, 0,
+                type.parameterList().subList(0, index)), index + 1, type.parameterList().subList(index + 1,
+                type.parameterCount()));
+    }
+
+    /**
+     * @return A handle that returns {@code left + right}, both are evaluated at the same coordinates.
+     */
+    protected static @NotNull MethodHandle sum(@NotNull MethodHandle left, @NotNull MethodHandle right) {
+        return combine(SUM, left, right);
+    }
+
+    /**
+     * @return A handle that returns {@code left * right}, both are evaluated at the same coordinates.
+     */
+    protected static @NotNull MethodHandle product(@NotNull MethodHandle left, @NotNull MethodHandle right) {
+        return combine(PRODUCT, left, right);
+    }
+
+    /**
+     * @return A handle that returns {@code value * factor}.
+     */
+    protected static @NotNull MethodHandle multiply(@NotNull MethodHandle value, double factor) {
+        return MethodHandles.filterReturnValue(value, MethodHandles.insertArguments(PRODUCT, 1, factor));
+    }
+
+    /**
+     * @return A handle that returns {@code value / divisor}.
+     */
+    protected static @NotNull MethodHandle divide(@NotNull MethodHandle value, double divisor) {
+        return MethodHandles.filterReturnValue(value, MethodHandles.insertArguments(QUOTIENT, 1, divisor));
+    }
+
+    /**
+     * @return A handle that returns {@code value + offset}.
+     */
+    protected static @NotNull MethodHandle offset(@NotNull MethodHandle value, double offset) {
+        return MethodHandles.filterReturnValue(value, MethodHandles.insertArguments(SUM, 1, offset));
+    }
+
+    /**
+     * Evaluate the target at transformed coordinates.
+     *
+     * @param target      The handle to evaluate.
+     * @param coordinates For every coordinate of the target a handle of the same type that computes it from the
+     *                    original coordinates.
+     * @return A handle that evaluates the target at the transformed coordinates.
+     */
+    protected static @NotNull MethodHandle transform(@NotNull MethodHandle target,
+                                                     @NotNull MethodHandle... coordinates) {
+        final int count = target.type().parameterCount();
+        if (coordinates.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " coordinates, got " + coordinates.length);
+        }
+        MethodHandle handle = target;
+        for (int i = 0; i < count; i++) {
+            handle = MethodHandles.collectArguments(handle, i * count, coordinates[i]);
+        }
+        final int[] reorder = new int[count * count];
+        for (int i = 0; i < reorder.length; i++) reorder[i] = i % count;
+        return MethodHandles.permuteArguments(handle, target.type(), reorder);
+    }
+
+    // Evaluates both handles at the same coordinates and passes the results to the operator.
+    private static @NotNull MethodHandle combine(@NotNull MethodHandle operator, @NotNull MethodHandle left,
+                                                 @NotNull MethodHandle right) {
+        final int count = left.type().parameterCount();
+        final MethodHandle handle = MethodHandles.collectArguments(
+                MethodHandles.collectArguments(operator, 0, left), count, right);
+        final int[] reorder = new int[count * 2];
+        for (int i = 0; i < reorder.length; i++) reorder[i] = i % count;
+        return MethodHandles.permuteArguments(handle, left.type(), reorder);
+    }
+
+    private static double sum(double left, double right) {
+        return left + right;
+    }
+
+    private static double product(double left, double right) {
+        return left * right;
+    }
+
+    private static double quotient(double left, double right) {
+        return left / right;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.Orbis;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Compiles {@link Expression} graphs when a pack is loaded. The handles of the graph are installed as constants in a
+ * hidden class copied from {@link ExpressionTemplate}, which lets the JIT compile every expression to straight-line
+ * code. If the template can't be defined, the handles are invoked from final fields instead, which gives the same
+ * results but leaves inlining up to the JIT.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public final class ExpressionCompiler {
+
+    private static final byte[] TEMPLATE = readTemplate();
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Compile the expression graph.
+     *
+     * @param expression The root of the graph.
+     * @return The compiled expression.
+     * @throws IllegalStateException If a node in the graph isn't configured correctly.
+     * @since 0.3-Alpha
+     */
+    public static @NotNull CompiledExpression compile(@NotNull Expression expression) throws IllegalStateException {
+        final MethodHandle sample2D = expression.compile(Expression.TYPE_2D);
+        final MethodHandle sample3D = expression.compile(Expression.TYPE_3D);
+        if (TEMPLATE != null) {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup()
+                        .defineHiddenClassWithClassData(TEMPLATE, List.of(sample2D, sample3D), true);
+                return (CompiledExpression) lookup.findConstructor(lookup.lookupClass(),
+                        MethodType.methodType(void.class)).invoke();
+            } catch (Throwable ex) {
+                Orbis.getLogger().warn("Failed to define a hidden class for expression {}, invoking its handles directly",
+                        expression.type().asString(), ex);
+            }
+        }
+        return new HandleExpression(sample2D, sample3D);
+    }
+
+    private static byte[] readTemplate() {
+        try (InputStream stream = ExpressionTemplate.class.getResourceAsStream("ExpressionTemplate.class")) {
+            return stream != null ? stream.readAllBytes() : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private record HandleExpression(MethodHandle sample2D, MethodHandle sample3D) implements CompiledExpression {
+
+        @Override
+        public double sample(double x, double z) {
+            try {
+                return (double) sample2D.invokeExact(x, z);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public double sample(double x, double y, double z) {
+            try {
+                return (double) sample3D.invokeExact(x, y, z);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * The class file of this class is used by the {@link ExpressionCompiler} to define a hidden class per expression,
+ * with the compiled handles passed as class data. As the handles are then held in static final fields the JIT treats
+ * them as constants, and inlines the whole expression into {@link #sample(double, double)}.
+ * <p>
+ * <b>Note</b> this class itself is never initialized, as it doesn't have any class data. It must not contain lambdas
+ * or nested classes, as those aren't copied along with the hidden class.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+final class ExpressionTemplate implements CompiledExpression {
+
+    private static final MethodHandle SAMPLE_2D;
+    private static final MethodHandle SAMPLE_3D;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SAMPLE_2D = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+            SAMPLE_3D = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 1);
+        } catch (IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    @Override
+    public double sample(double x, double z) {
+        try {
+            return (double) SAMPLE_2D.invokeExact(x, z);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public double sample(double x, double y, double z) {
+        try {
+            return (double) SAMPLE_3D.invokeExact(x, y, z);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.generator.noise.Noise;
+import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import com.google.gson.annotations.SerializedName;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+@Description("Samples a noise generator at the coordinates.")
+public final class NoiseExpression extends Expression {
+
+    public static final Key TYPE = Key.key("orbis:noise");
+
+    @Required
+    @SerializedName("noise")
+    @Description("The name of the noise generator to sample.")
+    private final String noiseName;
+
+    @Inject(fieldName = "noiseName")
+    private transient Noise noise;
+
+    private NoiseExpression(@NotNull String noiseName) {
+        super(TYPE);
+        this.noiseName = noiseName;
+    }
+
+    public NoiseExpression(@NotNull Noise noise) {
+        this(noise.name());
+        this.noise = noise;
+    }
+
+    @Override
+    public @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException {
+        if (noise == null) throw new IllegalStateException("Noise " + noiseName + " hasn't been injected");
+        try {
+            return MethodHandles.publicLookup().findVirtual(Noise.class, "noise", type).bindTo(noise);
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalStateException("Noise can't be sampled with " + type, ex);
+        }
+    }
+
+}
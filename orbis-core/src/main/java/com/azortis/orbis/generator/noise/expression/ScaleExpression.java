@@ -0,0 +1,59 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+@Description("Zooms into its input by dividing the coordinates by the scale.")
+public final class ScaleExpression extends Expression {
+
+    public static final Key TYPE = Key.key("orbis:scale");
+
+    @Required
+    @Description("The expression to sample at the scaled coordinates.")
+    private final Expression input;
+
+    @Required
+    @Min(floating = 0.0001d)
+    @Description("The scale, the input is stretched out by this factor along every axis.")
+    private final double scale;
+
+    public ScaleExpression(@NotNull Expression input, double scale) {
+        super(TYPE);
+        this.input = input;
+        this.scale = scale;
+    }
+
+    @Override
+    public @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException {
+        final MethodHandle[] coordinates = new MethodHandle[type.parameterCount()];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = divide(coordinate(type, i), scale);
+        }
+        return transform(input.compile(type), coordinates);
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.MinItems;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@Description("Maps its input through a cubic spline, which is extended linearly beyond the first and last point.")
+public final class SplineExpression extends Expression {
+
+    public static final Key TYPE = Key.key("orbis:spline");
+
+    private static final MethodHandle EVALUATE;
+
+    static {
+        try {
+            EVALUATE = MethodHandles.lookup().findStatic(SplineExpression.class, "evaluate",
+                    MethodType.methodType(double.class, double[].class, double[].class, double[].class,
+                            double.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    @Required
+    @Description("The expression to map.")
+    private final Expression input;
+
+    @Required
+    @MinItems
+    @Description("The points of the spline, every location can only be used once.")
+    private final List<Point> points;
+
+    public SplineExpression(@NotNull Expression input, @NotNull List<Point> points) {
+        super(TYPE);
+        this.input = input;
+        this.points = points;
+    }
+
+    @Override
+    public @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException {
+        if (points == null || points.isEmpty()) throw new IllegalStateException("Spline expression without points");
+        final Point[] sorted = points.stream().sorted(Comparator.comparingDouble(Point::location))
+                .toArray(Point[]::new);
+        final double[] locations = new double[sorted.length];
+        final double[] values = new double[sorted.length];
+        final double[] derivatives = new double[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i].location() == sorted[i - 1].location()) {
+                throw new IllegalStateException("Spline has multiple points at " + sorted[i].location());
+            }
+            locations[i] = sorted[i].location();
+            values[i] = sorted[i].value();
+            derivatives[i] = sorted[i].derivative();
+        }
+        return MethodHandles.filterReturnValue(input.compile(type),
+                MethodHandles.insertArguments(EVALUATE, 0, locations, values, derivatives));
+    }
+
+    // Cubic Hermite interpolation between the two surrounding points.
+    private static double evaluate(double[] locations, double[] values, double[] derivatives, double value) {
+        final int last = locations.length - 1;
+        if (value <= locations[0]) return values[0] + derivatives[0] * (value - locations[0]);
+        if (value >= locations[last]) return values[last] + derivatives[last] * (value - locations[last]);
+
+        final int index = Arrays.binarySearch(locations, value);
+        if (index >= 0) return values[index];
+        final int upper = -index - 1;
+        final int lower = upper - 1;
+        final double width = locations[upper] - locations[lower];
+        final double t = (value - locations[lower]) / width;
+        final double t2 = t * t;
+        final double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * values[lower] + (t3 - 2 * t2 + t) * width * derivatives[lower]
+                + (3 * t2 - 2 * t3) * values[upper] + (t3 - t2) * width * derivatives[upper];
+    }
+
+    public record Point(@Required @Description("The input value of the point.") double location,
+                        @Required @Description("The output value at the location.") double value,
+                        @Description("The slope of the spline at the location.") double derivative) {
+    }
+
+}
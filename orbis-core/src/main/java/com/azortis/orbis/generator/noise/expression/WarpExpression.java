@@ -0,0 +1,74 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+@Description("Domain warps its input, every coordinate is displaced by the warp expression times the amplitude.")
+public final class WarpExpression extends Expression {
+
+    public static final Key TYPE = Key.key("orbis:warp");
+
+    // The warp is sampled at a different offset for every axis, so the axes aren't displaced by the same amount.
+    private static final double[] AXIS_OFFSETS = {0, 5.2, 1.3};
+
+    @Required
+    @Description("The expression to sample at the warped coordinates.")
+    private final Expression input;
+
+    @Required
+    @Description("The expression that determines the displacement.")
+    private final Expression warp;
+
+    @Required
+    @Description("The distance coordinates are displaced by for a warp value of 1.")
+    private final double amplitude;
+
+    public WarpExpression(@NotNull Expression input, @NotNull Expression warp, double amplitude) {
+        super(TYPE);
+        this.input = input;
+        this.warp = warp;
+        this.amplitude = amplitude;
+    }
+
+    @Override
+    public @NotNull MethodHandle compile(@NotNull MethodType type) throws IllegalStateException {
+        final MethodHandle warpHandle = warp.compile(type);
+        final int count = type.parameterCount();
+        final MethodHandle[] coordinates = new MethodHandle[count];
+        for (int axis = 0; axis < count; axis++) {
+            final double axisOffset = AXIS_OFFSETS[axis];
+            MethodHandle displacement = warpHandle;
+            if (axisOffset != 0) {
+                final MethodHandle[] shifted = new MethodHandle[count];
+                for (int i = 0; i < count; i++) shifted[i] = offset(coordinate(type, i), axisOffset);
+                displacement = transform(warpHandle, shifted);
+            }
+            coordinates[axis] = sum(coordinate(type, axis), multiply(displacement, amplitude));
+        }
+        return transform(input.compile(type), coordinates);
+    }
+
+}
@@ -18,6 +18,7 @@
 
 package com.azortis.orbis.generator.point;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,27 +48,38 @@ public class ChunkPointGatherer<TTag> {
     }
 
     public List<GatheredPoint<TTag>> getPointsFromChunkCenter(long seed, int chunkCenterWorldX, int chunkCenterWorldZ) {
-        List<GatheredPoint<TTag>> worldPoints =
-                unfilteredPointGatherer.getPoints(seed, chunkCenterWorldX, chunkCenterWorldZ);
-        for (int i = 0; i < worldPoints.size(); i++) {
-            GatheredPoint<TTag> point = worldPoints.get(i);
-            // Check if point contribution radius lies outside any coordinate in the chunk
-            double axisCheckValueX = Math.abs(point.getX() - chunkCenterWorldX) - HALF_CHUNK_WIDTH;
-            double axisCheckValueZ = Math.abs(point.getZ() - chunkCenterWorldZ) - HALF_CHUNK_WIDTH;
-            if (axisCheckValueX >= maxPointContributionRadius || axisCheckValueZ >= maxPointContributionRadius
-                    || (axisCheckValueX > 0 && axisCheckValueZ > 0
-                    && axisCheckValueX * axisCheckValueX + axisCheckValueZ * axisCheckValueZ >= maxPointContributionRadiusSq)) {
-
-                // If so, remove it.
-                // Copy the last value to this value, and remove the last,
-                // to avoid shifting because when doesn't matter.
-                int lastIndex = worldPoints.size() - 1;
-                worldPoints.set(i, worldPoints.get(lastIndex));
-                worldPoints.remove(lastIndex);
-                i--;
-            }
-        }
+        List<GatheredPoint<TTag>> worldPoints = new ArrayList<>();
+        gatherPointsFromChunkCenter(seed, chunkCenterWorldX, chunkCenterWorldZ,
+                (x, z, hash) -> worldPoints.add(new GatheredPoint<>(x, z, hash)));
         return worldPoints;
     }
 
+    /**
+     * Streams the points that can contribute to any coordinate in the chunk through the consumer, without allocating
+     * anything. Points out of range are filtered before they reach the consumer.
+     *
+     * @param seed            The seed of the points.
+     * @param chunkBaseWorldX The world x coordinate of the first block in the chunk.
+     * @param chunkBaseWorldZ The world z coordinate of the first block in the chunk.
+     * @param consumer        The consumer to pass the points to.
+     */
+    public void gatherPointsFromChunkBase(long seed, int chunkBaseWorldX, int chunkBaseWorldZ,
+                                          PointConsumer consumer) {
+        gatherPointsFromChunkCenter(seed, chunkBaseWorldX + HALF_CHUNK_WIDTH, chunkBaseWorldZ + HALF_CHUNK_WIDTH,
+                consumer);
+    }
+
+    public void gatherPointsFromChunkCenter(long seed, int chunkCenterWorldX, int chunkCenterWorldZ,
+                                            PointConsumer consumer) {
+        unfilteredPointGatherer.gatherPoints(seed, chunkCenterWorldX, chunkCenterWorldZ, HALF_CHUNK_WIDTH,
+                maxPointContributionRadius, maxPointContributionRadiusSq, consumer);
+    }
+
+    /**
+     * @return The maximum amount of points that can be gathered for a single chunk.
+     */
+    public int maxPoints() {
+        return unfilteredPointGatherer.maxPoints();
+    }
+
 }
@@ -0,0 +1,97 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.point;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer that stores gathered points as flat arrays of coordinates & hashes. If more points are gathered
+ * than fit, the arrays grow, so any capacity works. Once the buffer has grown to the most points a gather produces,
+ * {@link #clear()} it between gathers and gathering into it won't allocate anything. A buffer created with the
+ * {@link PointGatherer#maxPoints()} of a lattice gatherer never has to grow.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public final class PointBuffer implements PointConsumer {
+
+    private double[] xs;
+    private double[] zs;
+    private int[] hashes;
+    private int size;
+
+    public PointBuffer(int capacity) {
+        this.xs = new double[capacity];
+        this.zs = new double[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    @Override
+    public void accept(double x, double z, int hash) {
+        if (size == xs.length) {
+            final int capacity = Math.max(16, size * 2);
+            xs = Arrays.copyOf(xs, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+        xs[size] = x;
+        zs[size] = z;
+        hashes[size++] = hash;
+    }
+
+    /**
+     * Removes all the points, so the buffer can be reused.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return xs.length;
+    }
+
+    /**
+     * @return The x coordinates of the points, only the first {@link #size()} entries are valid. The array is replaced
+     * when the buffer grows, so don't hold on to it while gathering.
+     */
+    public @NotNull double[] xs() {
+        return xs;
+    }
+
+    /**
+     * @return The z coordinates of the points, only the first {@link #size()} entries are valid.
+     */
+    public @NotNull double[] zs() {
+        return zs;
+    }
+
+    /**
+     * @return The hashes of the points, only the first {@link #size()} entries are valid.
+     */
+    public @NotNull int[] hashes() {
+        return hashes;
+    }
+
+}
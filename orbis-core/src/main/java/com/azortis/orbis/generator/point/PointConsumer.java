@@ -0,0 +1,39 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.point;
+
+/**
+ * Receives the points of a {@link PointGatherer} one by one, so they don't have to be collected into objects.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@FunctionalInterface
+public interface PointConsumer {
+
+    /**
+     * Accepts a gathered point.
+     *
+     * @param x    The world x coordinate of the point.
+     * @param z    The world z coordinate of the point.
+     * @param hash The hash of the point, can be used to pick values for the point.
+     */
+    void accept(double x, double z, int hash);
+
+}
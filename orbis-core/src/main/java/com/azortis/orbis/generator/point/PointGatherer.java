@@ -151,6 +151,34 @@ public class PointGatherer<TTag> {
     }
 
     public List<GatheredPoint<TTag>> getPoints(long seed, double x, double z) {
+        ArrayList<GatheredPoint<TTag>> worldPointsList = new ArrayList<>(pointsToSearch.length);
+        gatherPoints(seed, x, z, (pointX, pointZ, hash) -> worldPointsList.add(new GatheredPoint<>(pointX, pointZ, hash)));
+        return worldPointsList;
+    }
+
+    /**
+     * Streams the points around the coordinates through the consumer, without allocating anything.
+     *
+     * @param seed     The seed of the points.
+     * @param x        The world x coordinate to gather the points around.
+     * @param z        The world z coordinate to gather the points around.
+     * @param consumer The consumer to pass the points to.
+     */
+    public void gatherPoints(long seed, double x, double z, PointConsumer consumer) {
+        gatherPoints(seed, x, z, 0, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, consumer);
+    }
+
+    /**
+     * @return The maximum amount of points that can be gathered in a single call.
+     */
+    public int maxPoints() {
+        return pointsToSearch.length;
+    }
+
+    // Points are only passed to the consumer if they lie within the radius of a square around the center.
+    void gatherPoints(long seed, double x, double z, double halfWidth, double radius, double radiusSq,
+                      PointConsumer consumer) {
+        final double centerX = x, centerZ = z;
         x *= frequency;
         z *= frequency;
 
@@ -196,7 +224,6 @@ public class PointGatherer<TTag> {
         double xb = xsb + bt, zb = zsb + bt;
 
         // Loop through pregenerated array of all points which could be in range, relative to the closest.
-        ArrayList<GatheredPoint<TTag>> worldPointsList = new ArrayList<>(pointsToSearch.length);
         for (int i = 0; i < pointsToSearch.length; i++) {
             LatticePoint point = pointsToSearch[i];
 
@@ -204,13 +231,7 @@ public class PointGatherer<TTag> {
             int xsvp = xsbp + point.xsvp;
             int zsvp = zsbp + point.zsvp;
 
-            // Compute the jitter hash
-            int hash = xsvp ^ zsvp;
-            hash = (((int) (seed & 0xFFFFFFFFL) ^ hash) * 668908897)
-                    ^ (((int) (seed >> 32) ^ hash) * 35311);
-
-            // Even selection within 0-24, using pseudo-modulo technique.
-            int indexBase = (hash & 0x3FFFFFF) * 0x5555555;
+            int indexBase = jitterHash(seed, xsvp, zsvp);
             int index = (indexBase >> 26) & VECTOR_INDEX_MASK;
             int remainingHash = indexBase & 0x3FFFFFF; // The lower bits are still good as a normal hash.
 
@@ -218,18 +239,74 @@ public class PointGatherer<TTag> {
             double scaledX = xb + point.xv + JITTER_SINCOS[index];
             double scaledZ = zb + point.zv + JITTER_SINCOS[index + JITTER_SINCOS_OFFSET];
 
-            // Unscale the coordinate and add it to the list.
-            // "Unfiltered" means that, even if the jitter took it out of range, we don't check for that.
-            // It's up to the user to handle out-of-range points as if they weren't there.
-            // This is so that a user can implement a more limiting check (e.g. confine to a chunk square),
-            // without the added overhead of this less limiting check.
-            // A possible alternate implementation of this could employ a callback function,
-            // to avoid adding the points to the list in the first place.
-            GatheredPoint<TTag> worldPoint = new GatheredPoint<TTag>(scaledX * inverseFrequency, scaledZ * inverseFrequency, remainingHash);
-            worldPointsList.add(worldPoint);
+            // Unscale the coordinate.
+            // "Unfiltered" gathering doesn't check if the jitter took it out of range,
+            // it's up to the user to handle out-of-range points as if they weren't there.
+            // Filtered gathering (e.g. confined to a chunk square) checks that before passing it on.
+            double worldX = scaledX * inverseFrequency;
+            double worldZ = scaledZ * inverseFrequency;
+
+            if (inRange(worldX, worldZ, centerX, centerZ, halfWidth, radius, radiusSq)) {
+                consumer.accept(worldX, worldZ, remainingHash);
+            }
         }
+    }
 
-        return worldPointsList;
+    /**
+     * Streams every point that lies within the area through the consumer, so areas that border each other never
+     * share or miss a point. Unlike {@link #gatherPoints(long, double, double, PointConsumer)} the amount of points
+     * isn't bounded, it scales with the size of the area.
+     *
+     * @param seed     The seed of the points.
+     * @param minX     The minimum world x coordinate of the area, inclusive.
+     * @param minZ     The minimum world z coordinate of the area, inclusive.
+     * @param maxX     The maximum world x coordinate of the area, exclusive.
+     * @param maxZ     The maximum world z coordinate of the area, exclusive.
+     * @param consumer The consumer to pass the points to.
+     */
+    public void gatherPointsInArea(long seed, double minX, double minZ, double maxX, double maxZ,
+                                   PointConsumer consumer) {
+        // The lattice vertices that can be jittered into the area, as a bounding box in skewed space.
+        double x0 = minX * frequency - JITTER_AMOUNT, z0 = minZ * frequency - JITTER_AMOUNT;
+        double x1 = maxX * frequency + JITTER_AMOUNT, z1 = maxZ * frequency + JITTER_AMOUNT;
+        int minXsv = (int) Math.floor(x0 + (x0 + z0) * 0.366025403784439);
+        int maxXsv = (int) Math.ceil(x1 + (x1 + z1) * 0.366025403784439);
+        int minZsv = (int) Math.floor(z0 + (x0 + z0) * 0.366025403784439);
+        int maxZsv = (int) Math.ceil(z1 + (x1 + z1) * 0.366025403784439);
+
+        for (int xsv = minXsv; xsv <= maxXsv; xsv++) {
+            int xsvp = xsv * PRIME_X;
+            for (int zsv = minZsv; zsv <= maxZsv; zsv++) {
+                int indexBase = jitterHash(seed, xsvp, zsv * PRIME_Z);
+                int index = (indexBase >> 26) & VECTOR_INDEX_MASK;
+
+                double t = (xsv + zsv) * -0.211324865405187;
+                double worldX = (xsv + t + JITTER_SINCOS[index]) * inverseFrequency;
+                double worldZ = (zsv + t + JITTER_SINCOS[index + JITTER_SINCOS_OFFSET]) * inverseFrequency;
+                if (worldX >= minX && worldX < maxX && worldZ >= minZ && worldZ < maxZ) {
+                    consumer.accept(worldX, worldZ, indexBase & 0x3FFFFFF);
+                }
+            }
+        }
+    }
+
+    // Check if point contribution radius reaches any coordinate in the square around the center
+    static boolean inRange(double x, double z, double centerX, double centerZ, double halfWidth, double radius,
+                           double radiusSq) {
+        double axisCheckValueX = Math.abs(x - centerX) - halfWidth;
+        double axisCheckValueZ = Math.abs(z - centerZ) - halfWidth;
+        return axisCheckValueX < radius && axisCheckValueZ < radius
+                && (axisCheckValueX <= 0 || axisCheckValueZ <= 0
+                || axisCheckValueX * axisCheckValueX + axisCheckValueZ * axisCheckValueZ < radiusSq);
+    }
+
+    // Compute the jitter hash, and spread it for an even selection within 0-24, using pseudo-modulo technique.
+    // The upper bits select the jitter vector, the lower bits are still good as a normal hash.
+    private static int jitterHash(long seed, int xsvp, int zsvp) {
+        int hash = xsvp ^ zsvp;
+        hash = (((int) (seed & 0xFFFFFFFFL) ^ hash) * 668908897)
+                ^ (((int) (seed >> 32) ^ hash) * 35311);
+        return (hash & 0x3FFFFFF) * 0x5555555;
     }
 
     private static class LatticePoint {
@@ -0,0 +1,322 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.point;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.IntPredicate;
+
+/**
+ * <p>An immutable spatial index of points, bucketed in square cells so queries only have to look at the points in the
+ * cells they overlap. The points of every cell are stored next to each other in flat arrays.</p>
+ *
+ * <p>Nearest point queries search the rings of cells around the query position and stop as soon as the closest cell
+ * that hasn't been searched is further away than the points found so far, so with cells about as wide as the distance
+ * between points a query only looks at a handful of points. Points are referred to by their index in the grid, none
+ * of the queries allocate.</p>
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public final class PointGrid {
+
+    private final double originX;
+    private final double originZ;
+    private final double cellSize;
+    private final double inverseCellSize;
+    private final int width;
+    private final int depth;
+
+    // The points of cell i are stored from cellStarts[i] up to cellStarts[i + 1].
+    private final int[] cellStarts;
+    private final double[] xs;
+    private final double[] zs;
+    private final int[] hashes;
+
+    /**
+     * Builds a grid of the given points, points outside the grid are stored in the nearest border cell.
+     *
+     * @param originX  The minimum x coordinate of the grid.
+     * @param originZ  The minimum z coordinate of the grid.
+     * @param cellSize The width of a cell.
+     * @param width    The amount of cells along the x-axis.
+     * @param depth    The amount of cells along the z-axis.
+     * @param points   The points to store, aren't referenced by the grid afterwards.
+     */
+    public PointGrid(double originX, double originZ, double cellSize, int width, int depth,
+                     @NotNull PointBuffer points) {
+        this.originX = originX;
+        this.originZ = originZ;
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1 / cellSize;
+        this.width = width;
+        this.depth = depth;
+
+        final int size = points.size();
+        final int[] cells = new int[size];
+        this.cellStarts = new int[width * depth + 1];
+        for (int i = 0; i < size; i++) {
+            cells[i] = cellX(points.xs()[i]) + cellZ(points.zs()[i]) * width;
+            cellStarts[cells[i] + 1]++;
+        }
+        for (int i = 0; i < width * depth; i++) {
+            cellStarts[i + 1] += cellStarts[i];
+        }
+
+        this.xs = new double[size];
+        this.zs = new double[size];
+        this.hashes = new int[size];
+        final int[] next = new int[width * depth];
+        for (int i = 0; i < size; i++) {
+            final int index = cellStarts[cells[i]] + next[cells[i]]++;
+            xs[index] = points.xs()[i];
+            zs[index] = points.zs()[i];
+            hashes[index] = points.hashes()[i];
+        }
+    }
+
+    /**
+     * Builds a grid that fits around the given points.
+     *
+     * @param points   The points to store, aren't referenced by the grid afterwards.
+     * @param cellSize The width of a cell, ideally about the distance between neighbouring points.
+     * @return The grid of the points.
+     */
+    public static @NotNull PointGrid of(@NotNull PointBuffer points, double cellSize) {
+        if (points.size() == 0) return new PointGrid(0, 0, cellSize, 1, 1, points);
+        double minX = Double.POSITIVE_INFINITY;
+        double minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < points.size(); i++) {
+            minX = Math.min(minX, points.xs()[i]);
+            minZ = Math.min(minZ, points.zs()[i]);
+            maxX = Math.max(maxX, points.xs()[i]);
+            maxZ = Math.max(maxZ, points.zs()[i]);
+        }
+        return new PointGrid(minX, minZ, cellSize, (int) ((maxX - minX) / cellSize) + 1,
+                (int) ((maxZ - minZ) / cellSize) + 1, points);
+    }
+
+    /**
+     * Finds the point closest to the position.
+     *
+     * @param x The x coordinate of the position.
+     * @param z The z coordinate of the position.
+     * @return The index of the nearest point, or -1 if the grid is empty.
+     */
+    public int nearest(double x, double z) {
+        return nearest(x, z, null);
+    }
+
+    /**
+     * Finds the point closest to the position out of the points that match the filter.
+     *
+     * @param x      The x coordinate of the position.
+     * @param z      The z coordinate of the position.
+     * @param filter Tests the index of a point, points that don't match are skipped.
+     * @return The index of the nearest matching point, or -1 if no point matches.
+     */
+    public int nearest(double x, double z, @Nullable IntPredicate filter) {
+        return nearest(x, z, filter, null, 0);
+    }
+
+    /**
+     * Finds the point closest to the position out of the points with another label, like the filtered query but
+     * without a filter that has to capture the label.
+     *
+     * @param x        The x coordinate of the position.
+     * @param z        The z coordinate of the position.
+     * @param labels   The label of every point by its index.
+     * @param excluded The label of the points to skip.
+     * @return The index of the nearest point with another label, or -1 if every point has the excluded label.
+     */
+    public int nearestExcluding(double x, double z, @NotNull int[] labels, int excluded) {
+        return nearest(x, z, null, labels, excluded);
+    }
+
+    private int nearest(double x, double z, @Nullable IntPredicate filter, @Nullable int[] labels, int excluded) {
+        final int cellX = cellX(x);
+        final int cellZ = cellZ(z);
+        int nearest = -1;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (int ring = 0; ; ring++) {
+            for (int row = Math.max(0, cellZ - ring); row <= Math.min(depth - 1, cellZ + ring); row++) {
+                final int step = row == cellZ - ring || row == cellZ + ring ? 1 : 2 * ring;
+                for (int column = cellX - ring; column <= cellX + ring; column += step) {
+                    if (column < 0 || column >= width) continue;
+                    final int end = cellStarts[column + row * width + 1];
+                    for (int i = cellStarts[column + row * width]; i < end; i++) {
+                        final double distance = distanceSquared(i, x, z);
+                        if (distance < nearestDistance && (filter == null || filter.test(i)) &&
+                                (labels == null || labels[i] != excluded)) {
+                            nearest = i;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+            final double reach = reach(x, z, cellX, cellZ, ring);
+            if (reach == Double.POSITIVE_INFINITY || reach * reach >= nearestDistance) return nearest;
+        }
+    }
+
+    /**
+     * Finds the k points closest to the position, ordered from the nearest to the furthest.
+     *
+     * @param x   The x coordinate of the position.
+     * @param z   The z coordinate of the position.
+     * @param k   The amount of points to find.
+     * @param out The array to write the indices of the points to, must hold at least k values.
+     * @return The amount of points found, less than k if the grid holds less than k points.
+     * @throws IllegalArgumentException If the output array is too small.
+     */
+    public int nearestK(double x, double z, int k, @NotNull int[] out) throws IllegalArgumentException {
+        if (out.length < k) throw new IllegalArgumentException("Output array is smaller than k");
+        if (k <= 0) return 0;
+        final int cellX = cellX(x);
+        final int cellZ = cellZ(z);
+        int count = 0;
+        for (int ring = 0; ; ring++) {
+            for (int row = Math.max(0, cellZ - ring); row <= Math.min(depth - 1, cellZ + ring); row++) {
+                final int step = row == cellZ - ring || row == cellZ + ring ? 1 : 2 * ring;
+                for (int column = cellX - ring; column <= cellX + ring; column += step) {
+                    if (column < 0 || column >= width) continue;
+                    final int end = cellStarts[column + row * width + 1];
+                    for (int i = cellStarts[column + row * width]; i < end; i++) {
+                        final double distance = distanceSquared(i, x, z);
+                        if (count == k && distance >= distanceSquared(out[k - 1], x, z)) continue;
+
+                        // Insertion sort, k is expected to be small.
+                        int j = count < k ? count++ : k - 1;
+                        while (j > 0 && distanceSquared(out[j - 1], x, z) > distance) {
+                            out[j] = out[j - 1];
+                            j--;
+                        }
+                        out[j] = i;
+                    }
+                }
+            }
+            final double reach = reach(x, z, cellX, cellZ, ring);
+            if (reach == Double.POSITIVE_INFINITY || (count == k &&
+                    reach * reach >= distanceSquared(out[k - 1], x, z))) return count;
+        }
+    }
+
+    /**
+     * Streams the points within the radius of the position through the consumer.
+     *
+     * @param x        The x coordinate of the position.
+     * @param z        The z coordinate of the position.
+     * @param radius   The maximum distance of a point to the position.
+     * @param consumer The consumer to pass the points to.
+     */
+    public void withinRadius(double x, double z, double radius, @NotNull PointConsumer consumer) {
+        final double radiusSq = radius * radius;
+        final int minCellX = cellX(x - radius);
+        final int maxCellX = cellX(x + radius);
+        final int maxCellZ = cellZ(z + radius);
+        for (int cellZ = cellZ(z - radius); cellZ <= maxCellZ; cellZ++) {
+            final int end = cellStarts[maxCellX + cellZ * width + 1];
+            for (int i = cellStarts[minCellX + cellZ * width]; i < end; i++) {
+                if (distanceSquared(i, x, z) <= radiusSq) consumer.accept(xs[i], zs[i], hashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Streams the points whose contribution radius reaches any coordinate in the square around the center through the
+     * consumer, the same points a {@link ChunkPointGatherer} would gather for a chunk.
+     *
+     * @param centerX   The x coordinate of the center of the square.
+     * @param centerZ   The z coordinate of the center of the square.
+     * @param halfWidth Half the width of the square.
+     * @param radius    The contribution radius of the points.
+     * @param consumer  The consumer to pass the points to.
+     */
+    public void gatherPoints(double centerX, double centerZ, double halfWidth, double radius,
+                             @NotNull PointConsumer consumer) {
+        final double reach = halfWidth + radius;
+        final double radiusSq = radius * radius;
+        final int minCellX = cellX(centerX - reach);
+        final int maxCellX = cellX(centerX + reach);
+        final int maxCellZ = cellZ(centerZ + reach);
+        for (int cellZ = cellZ(centerZ - reach); cellZ <= maxCellZ; cellZ++) {
+            final int end = cellStarts[maxCellX + cellZ * width + 1];
+            for (int i = cellStarts[minCellX + cellZ * width]; i < end; i++) {
+                if (PointGatherer.inRange(xs[i], zs[i], centerX, centerZ, halfWidth, radius, radiusSq)) {
+                    consumer.accept(xs[i], zs[i], hashes[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The amount of points in the grid.
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * @return The amount of cells the points are bucketed in.
+     */
+    public int cells() {
+        return width * depth;
+    }
+
+    public double x(int index) {
+        return xs[index];
+    }
+
+    public double z(int index) {
+        return zs[index];
+    }
+
+    public int hash(int index) {
+        return hashes[index];
+    }
+
+    public double distanceSquared(int index, double x, double z) {
+        final double dx = xs[index] - x;
+        final double dz = zs[index] - z;
+        return dx * dx + dz * dz;
+    }
+
+    // The distance to the closest cell outside the searched rings, or infinity if every cell has been searched.
+    // Points outside the grid are stored in a border cell, so they're never closer than the cell says.
+    private double reach(double x, double z, int cellX, int cellZ, int ring) {
+        double reach = Double.POSITIVE_INFINITY;
+        if (cellX - ring > 0) reach = Math.min(reach, x - (originX + (cellX - ring) * cellSize));
+        if (cellX + ring < width - 1) reach = Math.min(reach, originX + (cellX + ring + 1) * cellSize - x);
+        if (cellZ - ring > 0) reach = Math.min(reach, z - (originZ + (cellZ - ring) * cellSize));
+        if (cellZ + ring < depth - 1) reach = Math.min(reach, originZ + (cellZ + ring + 1) * cellSize - z);
+        return reach;
+    }
+
+    private int cellX(double x) {
+        return Math.max(0, Math.min(width - 1, (int) Math.floor((x - originX) * inverseCellSize)));
+    }
+
+    private int cellZ(double z) {
+        return Math.max(0, Math.min(depth - 1, (int) Math.floor((z - originZ) * inverseCellSize)));
+    }
+
+}
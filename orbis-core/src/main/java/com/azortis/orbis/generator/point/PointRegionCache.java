@@ -0,0 +1,122 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.point;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Gathers the points of square regions once and caches them in a {@link PointGrid}, so neighbouring chunks don't
+ * each have to gather every lattice point within their search radius again. A chunk only looks at the grid cells
+ * around it, which makes point gathering cost roughly the amount of points that can reach the chunk.</p>
+ *
+ * <p>Regions are at least 256 blocks wide, and wide enough that the points of a chunk never span more than 2x2
+ * regions. A cache serves a single frequency & contribution radius, the seed is part of the cache key.</p>
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+public final class PointRegionCache {
+
+    private static final int HALF_CHUNK_WIDTH = 8;
+    private static final int MIN_CELL_SHIFT = 4;
+    private static final int MIN_REGION_SHIFT = 8;
+    private static final int MAX_REGION_SHIFT = 24;
+    private static final int MAX_REGIONS = 256;
+
+    private final PointGatherer<Void> gatherer;
+    private final double maxPointContributionRadius;
+    private final int regionShift;
+    private final int cellShift;
+    private final LoadingCache<Region, PointGrid> regions;
+
+    public PointRegionCache(double frequency, double maxPointContributionRadius) {
+        this.gatherer = new PointGatherer<>(frequency, 0);
+        this.maxPointContributionRadius = maxPointContributionRadius;
+
+        int regionShift = MIN_REGION_SHIFT;
+        while (regionShift < MAX_REGION_SHIFT && (1 << regionShift) < 2 * (HALF_CHUNK_WIDTH +
+                maxPointContributionRadius)) {
+            regionShift++;
+        }
+        this.regionShift = regionShift;
+
+        // Cells about as wide as the distance between points, so a query doesn't look at many empty cells.
+        int cellShift = MIN_CELL_SHIFT;
+        while (cellShift < regionShift && (1 << cellShift) < 1 / frequency) {
+            cellShift++;
+        }
+        this.cellShift = cellShift;
+
+        // Regions are only bounded by size, recording access times costs about as much as a query on a region.
+        this.regions = CacheBuilder.newBuilder()
+                .maximumSize(MAX_REGIONS)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public @NotNull PointGrid load(@NotNull Region region) {
+                        return gather(region);
+                    }
+                });
+    }
+
+    /**
+     * Streams the points that can contribute to any coordinate in the chunk through the consumer.
+     *
+     * @param seed            The seed of the points.
+     * @param chunkBaseWorldX The world x coordinate of the first block in the chunk.
+     * @param chunkBaseWorldZ The world z coordinate of the first block in the chunk.
+     * @param consumer        The consumer to pass the points to.
+     */
+    public void gatherPointsFromChunkBase(long seed, int chunkBaseWorldX, int chunkBaseWorldZ,
+                                          @NotNull PointConsumer consumer) {
+        gatherPointsFromChunkCenter(seed, chunkBaseWorldX + HALF_CHUNK_WIDTH, chunkBaseWorldZ + HALF_CHUNK_WIDTH,
+                consumer);
+    }
+
+    public void gatherPointsFromChunkCenter(long seed, int chunkCenterWorldX, int chunkCenterWorldZ,
+                                            @NotNull PointConsumer consumer) {
+        final double reach = HALF_CHUNK_WIDTH + maxPointContributionRadius;
+        final int minRegionX = (int) Math.floor(chunkCenterWorldX - reach) >> regionShift;
+        final int maxRegionX = (int) Math.floor(chunkCenterWorldX + reach) >> regionShift;
+        final int minRegionZ = (int) Math.floor(chunkCenterWorldZ - reach) >> regionShift;
+        final int maxRegionZ = (int) Math.floor(chunkCenterWorldZ + reach) >> regionShift;
+        for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+            for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+                regions.getUnchecked(new Region(seed, regionX, regionZ)).gatherPoints(chunkCenterWorldX,
+                        chunkCenterWorldZ, HALF_CHUNK_WIDTH, maxPointContributionRadius, consumer);
+            }
+        }
+    }
+
+    private @NotNull PointGrid gather(@NotNull Region region) {
+        final int regionSize = 1 << regionShift;
+        final double minX = (double) region.x() * regionSize;
+        final double minZ = (double) region.z() * regionSize;
+        final PointBuffer points = new PointBuffer(64);
+        gatherer.gatherPointsInArea(region.seed(), minX, minZ, minX + regionSize, minZ + regionSize, points);
+        final int cells = regionSize >> cellShift;
+        return new PointGrid(minX, minZ, 1 << cellShift, cells, cells, points);
+    }
+
+    private record Region(long seed, int x, int z) {
+    }
+
+}
@@ -47,6 +47,20 @@ public abstract class Surface {
 
     public abstract double getSurfaceHeight(final int x, final int z, @NotNull ChunkSnapshot snapshot);
 
+    /**
+     * Get the height of the highest solid block of the surface, which is the floor of the surface height.
+     * Implementations can override this to stop sampling once the remaining noise can't change the block anymore.
+     *
+     * @param x        The absolute x-coordinate of the column.
+     * @param z        The absolute z-coordinate of the column.
+     * @param snapshot The snapshot of the chunk that is being generated.
+     * @return The block height of the surface.
+     * @since 0.3-Alpha
+     */
+    public int getBlockHeight(final int x, final int z, @NotNull ChunkSnapshot snapshot) {
+        return (int) Math.floor(getSurfaceHeight(x, z, snapshot));
+    }
+
     public String name() {
         return name;
     }
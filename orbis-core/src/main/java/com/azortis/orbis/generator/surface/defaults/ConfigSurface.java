@@ -19,37 +19,147 @@
 package com.azortis.orbis.generator.surface.defaults;
 
 import com.azortis.orbis.generator.framework.ChunkSnapshot;
+import com.azortis.orbis.generator.interpolation.LodSampler;
 import com.azortis.orbis.generator.noise.Noise;
+import com.azortis.orbis.generator.noise.NoiseCache;
+import com.azortis.orbis.generator.noise.expression.AddExpression;
+import com.azortis.orbis.generator.noise.expression.CompiledExpression;
+import com.azortis.orbis.generator.noise.expression.ConstantExpression;
+import com.azortis.orbis.generator.noise.expression.Expression;
+import com.azortis.orbis.generator.noise.expression.ExpressionCompiler;
+import com.azortis.orbis.generator.noise.expression.MulExpression;
+import com.azortis.orbis.generator.noise.expression.NoiseExpression;
+import com.azortis.orbis.generator.noise.expression.ScaleExpression;
 import com.azortis.orbis.generator.surface.Surface;
 import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.Invoke;
 import com.google.gson.annotations.SerializedName;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class ConfigSurface extends Surface {
 
+    // Summing the layers in a different order can round differently, so the bounds are widened by a bit.
+    private static final double ROUNDING_MARGIN = 1e-9;
+
     @SerializedName("noise")
     private final String noiseName;
     private final List<NoiseLayer> layers;
+    // The maximum error in blocks of the surface height compared to sampling every layer per column, both leaving
+    // out layers and interpolating them stays within it.
+    private final Double interpolationError;
     @Inject(fieldName = "noiseName")
     private transient Noise noise;
+    private transient CompiledExpression height;
+    private transient LodSampler[] samplers;
+    private transient CompiledExpression[] columns;
+    private transient double[] bounds;
+    private transient NoiseCache.ColumnSampler column;
 
-    private ConfigSurface(@NotNull String name, @NotNull Key type,
-                          @NotNull String noiseName, @NotNull List<NoiseLayer> layers) {
+    private ConfigSurface(@NotNull String name, @NotNull Key type, @NotNull String noiseName,
+                          @NotNull List<NoiseLayer> layers, @Nullable Double interpolationError) {
         super(name, type);
         this.noiseName = noiseName;
         this.layers = layers;
+        this.interpolationError = interpolationError;
+    }
+
+    // Turn the layers into expressions, so they're sampled without going through the list every time. The error
+    // budget is split evenly over the layers, layers that can't exceed their share are left out, and low frequency
+    // layers are grouped by the grid step their share bounds the interpolation error at. The third derivative of a
+    // layer is that of the noise times the coefficient over the zoom cubed, layers of noise without a known bound are
+    // sampled per column.
+    @Invoke
+    @SuppressWarnings("unused")
+    private void compileLayers() {
+        if (interpolationError() < 0) {
+            throw new IllegalArgumentException("Interpolation error of surface " + name + " can't be negative");
+        }
+        final double budget = layers == null || layers.isEmpty() ? 0 : interpolationError() / layers.size();
+        final Map<Integer, List<Expression>> steps = new TreeMap<>();
+        final List<NoiseLayer> columnLayers = new ArrayList<>();
+        if (layers != null) {
+            for (NoiseLayer layer : layers) {
+                if (Math.abs(layer.coefficient) * noise.bound() <= budget) continue;
+                final Expression expression = layerExpression(layer);
+                final int step = LodSampler.selectStep(Math.abs(layer.coefficient) * noise.thirdDerivativeBound() /
+                        Math.abs(layer.zoom * layer.zoom * layer.zoom), budget);
+                steps.computeIfAbsent(step, k -> new ArrayList<>()).add(expression);
+                if (step == 1) columnLayers.add(layer);
+            }
+        }
+        final List<Expression> fullResolution = steps.remove(1);
+        height = ExpressionCompiler.compile(fullResolution == null ? new ConstantExpression(0) :
+                new AddExpression(fullResolution));
+        samplers = steps.entrySet().stream().map(entry -> new LodSampler(ExpressionCompiler
+                .compile(new AddExpression(entry.getValue()))::sample, entry.getKey())).toArray(LodSampler[]::new);
+
+        // For block heights the column layers are sampled one by one from the largest to the smallest, the bounds
+        // hold how much the layers that haven't been sampled yet could still move the height.
+        columnLayers.sort(Comparator.comparingDouble(layer -> -Math.abs(layer.coefficient)));
+        columns = columnLayers.stream().map(layer -> ExpressionCompiler.compile(layerExpression(layer)))
+                .toArray(CompiledExpression[]::new);
+        bounds = new double[columns.length];
+        double remaining = 0;
+        for (int i = columns.length - 1; i >= 0; i--) {
+            remaining += Math.abs(columnLayers.get(i).coefficient) * noise.bound();
+            bounds[i] = remaining + ROUNDING_MARGIN;
+        }
+        column = this::sampleHeight;
+    }
+
+    private @NotNull Expression layerExpression(@NotNull NoiseLayer layer) {
+        return new MulExpression(List.of(new ScaleExpression(new NoiseExpression(noise), layer.zoom),
+                new ConstantExpression(layer.coefficient)));
     }
 
     @Override
     public double getSurfaceHeight(int x, int z, @NotNull ChunkSnapshot snapshot) {
-        double height = 0;
-        for (NoiseLayer layer : layers) {
-            height += (noise.noise(x / layer.zoom, z / layer.zoom) * layer.coefficient);
+        return snapshot.noiseCache().sample(column, x, z);
+    }
+
+    // The height of a column without the memo of the chunk.
+    double sampleHeight(int x, int z) {
+        double surfaceHeight = height.sample(x, z);
+        for (LodSampler sampler : samplers) {
+            surfaceHeight += sampler.sample(x, z);
         }
-        return super.getBiome().baseHeight() + height;
+        return super.getBiome().baseHeight() + surfaceHeight;
+    }
+
+    @Override
+    public int getBlockHeight(int x, int z, @NotNull ChunkSnapshot snapshot) {
+        return blockHeight(x, z);
+    }
+
+    // The block height of a column without the memo of the chunk, always the floor of sampleHeight.
+    int blockHeight(int x, int z) {
+        double surfaceHeight = super.getBiome().baseHeight();
+        for (LodSampler sampler : samplers) {
+            surfaceHeight += sampler.sample(x, z);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            final double floor = Math.floor(surfaceHeight - bounds[i]);
+            if (floor == Math.floor(surfaceHeight + bounds[i])) return (int) floor;
+            surfaceHeight += columns[i].sample(x, z);
+        }
+        // The layers were summed in another order than sampleHeight does, which can round to the other side of a
+        // block boundary.
+        if (Math.floor(surfaceHeight - ROUNDING_MARGIN) == Math.floor(surfaceHeight + ROUNDING_MARGIN)) {
+            return (int) Math.floor(surfaceHeight);
+        }
+        return (int) Math.floor(sampleHeight(x, z));
+    }
+
+    private double interpolationError() {
+        return interpolationError != null ? interpolationError : 0.05;
     }
 
     private static class NoiseLayer {
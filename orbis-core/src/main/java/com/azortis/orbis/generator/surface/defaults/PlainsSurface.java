@@ -19,31 +19,69 @@
 package com.azortis.orbis.generator.surface.defaults;
 
 import com.azortis.orbis.generator.framework.ChunkSnapshot;
+import com.azortis.orbis.generator.interpolation.HeightProvider;
+import com.azortis.orbis.generator.interpolation.LodSampler;
 import com.azortis.orbis.generator.noise.Noise;
+import com.azortis.orbis.generator.noise.NoiseCache;
 import com.azortis.orbis.generator.surface.Surface;
 import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.Invoke;
 import com.google.gson.annotations.SerializedName;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
 
 public class PlainsSurface extends Surface {
 
+    private static final double INTERPOLATION_ERROR = 0.05;
+
     @SerializedName("noise")
     private final String noiseName;
 
     @Inject(fieldName = "noiseName")
     private transient Noise noise;
 
+    // The hills & bumps are smooth enough to be interpolated, the error budget is split between them.
+    private transient LodSampler hills;
+    private transient LodSampler bumps;
+    private transient NoiseCache.ColumnSampler column;
+
     private PlainsSurface(String name, Key type, String noiseName) {
         super(name, type);
         this.noiseName = noiseName;
     }
 
+    @Invoke
+    @SuppressWarnings("unused")
+    private void setupSamplers() {
+        final HeightProvider hillsProvider = (x, z) -> hills((int) x, (int) z);
+        final HeightProvider bumpsProvider = (x, z) -> bumps((int) x, (int) z);
+        // The third derivative of the noise shrinks with the zoom cubed.
+        final int hillsStep = LodSampler.selectStep(noise.thirdDerivativeBound() * 30 / (400d * 400 * 400),
+                INTERPOLATION_ERROR / 2);
+        final int bumpsStep = LodSampler.selectStep(noise.thirdDerivativeBound() * 3 / (50d * 50 * 50),
+                INTERPOLATION_ERROR / 2);
+        hills = hillsStep > 1 ? new LodSampler(hillsProvider, hillsStep) : null;
+        bumps = bumpsStep > 1 ? new LodSampler(bumpsProvider, bumpsStep) : null;
+        column = this::sampleHeight;
+    }
+
     @Override
     public double getSurfaceHeight(int x, int z, @NotNull ChunkSnapshot snapshot) {
-        double height = noise.noise(x / 400f, z / 400f) * 30;
-        height += noise.noise(x / 50f, z / 50f) * 3;
+        return snapshot.noiseCache().sample(column, x, z);
+    }
+
+    private double sampleHeight(int x, int z) {
+        double height = hills != null ? hills.sample(x, z) : hills(x, z);
+        height += bumps != null ? bumps.sample(x, z) : bumps(x, z);
         height += Math.abs(noise.noise(x / 12f, z / 12f) * 1);
         return super.getBiome().baseHeight() + height;
     }
+
+    private double hills(int x, int z) {
+        return noise.noise(x / 400f, z / 400f) * 30;
+    }
+
+    private double bumps(int x, int z) {
+        return noise.noise(x / 50f, z / 50f) * 3;
+    }
 }
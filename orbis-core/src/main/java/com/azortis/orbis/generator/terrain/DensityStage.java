@@ -0,0 +1,249 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.terrain;
+
+import com.azortis.orbis.block.BlockState;
+import com.azortis.orbis.block.ConfiguredBlock;
+import com.azortis.orbis.generator.framework.ChunkSnapshot;
+import com.azortis.orbis.generator.framework.ChunkStage;
+import com.azortis.orbis.generator.noise.Noise;
+import com.azortis.orbis.pack.Inject;
+import com.azortis.orbis.pack.Invoke;
+import com.azortis.orbis.pack.studio.annotations.Description;
+import com.azortis.orbis.pack.studio.annotations.Min;
+import com.azortis.orbis.pack.studio.annotations.Required;
+import com.google.gson.annotations.SerializedName;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * <p>Generates 3D terrain from a density function, where a block is solid if its density is positive. The density
+ * is the distance in blocks below the surface height of the biome, displaced by the 3D noise multiplied by the
+ * amplitude. This allows for overhangs & caves, while the terrain still follows the surfaces of the biomes.</p>
+ *
+ * <p>The density is only evaluated at the corners of a coarse grid of cells, and trilinearly interpolated for the
+ * blocks inside the cells. As the noise is clamped to {@code [-1, 1]} a cell can only contain both solid & air
+ * blocks if it's within the amplitude of the surface, cells entirely below are filled without sampling the noise and
+ * cells entirely above are skipped.</p>
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@Description("Generates 3D terrain from noise around the surface height of the biomes, interpolated over cells.")
+public final class DensityStage extends ChunkStage {
+
+    @Required
+    @SerializedName("noise")
+    @Description("The name of the 3D noise that displaces the terrain, its values are clamped to [-1, 1].")
+    private final String noiseName;
+
+    @Required
+    @Min(floating = 0d)
+    @Description("The maximum distance in blocks the noise can move the terrain away from the surface height.")
+    private final double amplitude;
+
+    @Required
+    @Description("The block to fill the solid terrain with.")
+    private final ConfiguredBlock block;
+
+    @Min(1)
+    @Description("The width of a cell in blocks, must be a divisor of 16. Defaults to 4.")
+    private final int cellWidth;
+
+    @Min(1)
+    @Description("The height of a cell in blocks. Defaults to 8.")
+    private final int cellHeight;
+
+    @Inject(fieldName = "noiseName")
+    private transient Noise noise;
+
+    private DensityStage(@NotNull Key type, @NotNull String noiseName, double amplitude,
+                         @NotNull ConfiguredBlock block, int cellWidth, int cellHeight) {
+        super(type);
+        this.noiseName = noiseName;
+        this.amplitude = amplitude;
+        this.block = block;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+    }
+
+    @Invoke
+    @SuppressWarnings("unused")
+    private void validate() {
+        if (cellWidth() > 16 || 16 % cellWidth() != 0) {
+            throw new IllegalArgumentException("Cell width of density stage must be a divisor of 16, but is " +
+                    cellWidth);
+        }
+    }
+
+    @Override
+    public void apply(@NotNull ChunkSnapshot snapshot, @NotNull RandomGenerator random) {
+        final int width = cellWidth();
+        final int cornersXZ = 16 / width + 1;
+        final int originX = snapshot.chunkX() << 4;
+        final int originZ = snapshot.chunkZ() << 4;
+
+        // The surface heights at the cell corners, corners on the far edge belong to the neighbouring chunks.
+        final double[] surfaces = new double[cornersXZ * cornersXZ];
+        for (int cz = 0, i = 0; cz < cornersXZ; cz++) {
+            for (int cx = 0; cx < cornersXZ; cx++, i++) {
+                final int x = originX + cx * width;
+                final int z = originZ + cz * width;
+                surfaces[i] = snapshot.getSection(x, z).biome().surface().getSurfaceHeight(x, z, snapshot);
+            }
+        }
+
+        final BlockState state = block.state();
+        generate(originX, originZ, snapshot.dimension().minHeight(), snapshot.dimension().maxHeight(), surfaces,
+                (x, y, z) -> snapshot.setState(x, y, z, state));
+    }
+
+    /**
+     * Generates the terrain of a chunk from the surface heights at the corners of the cell columns.
+     *
+     * @param originX  The absolute x-coordinate of the chunk origin.
+     * @param originZ  The absolute z-coordinate of the chunk origin.
+     * @param minY     The minimum build height.
+     * @param maxY     The maximum build height.
+     * @param surfaces The surface heights at the cell corners, ordered by x, then z.
+     * @param solid    Receives the relative coordinates of every solid block.
+     */
+    void generate(int originX, int originZ, int minY, int maxY, @NotNull double[] surfaces,
+                  @NotNull SolidBlocks solid) {
+        final int width = cellWidth();
+        final int height = cellHeight();
+        final int cellsXZ = 16 / width;
+        final int cornersXZ = cellsXZ + 1;
+        final int cellsY = (maxY - minY + height) / height;
+
+        // Cells below the first interpolated cell of a column are solid, cells from the end cell up are air.
+        final int[] firstCells = new int[cellsXZ * cellsXZ];
+        final int[] endCells = new int[cellsXZ * cellsXZ];
+        int lowestCorner = cellsY;
+        int highestCorner = 0;
+        for (int cz = 0, i = 0; cz < cellsXZ; cz++) {
+            for (int cx = 0; cx < cellsXZ; cx++, i++) {
+                final int column = cz * cornersXZ + cx;
+                final double s00 = surfaces[column];
+                final double s10 = surfaces[column + 1];
+                final double s01 = surfaces[column + cornersXZ];
+                final double s11 = surfaces[column + cornersXZ + 1];
+                final double solidBelow = Math.min(Math.min(s00, s10), Math.min(s01, s11)) - amplitude;
+                final double airAbove = Math.max(Math.max(s00, s10), Math.max(s01, s11)) + amplitude;
+
+                int first = 0;
+                while (first < cellsY && minY + (first + 1) * height < solidBelow) first++;
+                int end = first;
+                while (end < cellsY && minY + end * height < airAbove) end++;
+                firstCells[i] = first;
+                endCells[i] = end;
+                if (first < end) {
+                    lowestCorner = Math.min(lowestCorner, first);
+                    highestCorner = Math.max(highestCorner, end);
+                }
+            }
+        }
+
+        // Densities at the corners of the layers that contain the surface, every layer is a single grid fill.
+        final int layerSize = cornersXZ * cornersXZ;
+        final double[] densities = new double[layerSize * (cellsY + 1)];
+        final double[] layer = new double[layerSize];
+        for (int iy = lowestCorner; iy <= highestCorner; iy++) {
+            final int y = minY + iy * height;
+            noise.fillGrid3D(originX, y, originZ, cornersXZ, 1, cornersXZ, width, layer);
+            for (int i = 0; i < layerSize; i++) {
+                densities[iy * layerSize + i] = surfaces[i] - y + amplitude * Math.max(-1, Math.min(1, layer[i]));
+            }
+        }
+
+        final double[] cell = new double[8];
+        for (int cz = 0, i = 0; cz < cellsXZ; cz++) {
+            for (int cx = 0; cx < cellsXZ; cx++, i++) {
+                for (int cy = 0; cy < endCells[i]; cy++) {
+                    final int bottom = minY + cy * height;
+                    if (cy < firstCells[i]) {
+                        fill(solid, cx * width, bottom, cz * width, width, Math.min(height, maxY - bottom + 1));
+                        continue;
+                    }
+
+                    for (int corner = 0; corner < 8; corner++) {
+                        final int ix = cx + (corner & 1);
+                        final int iy = cy + ((corner >> 1) & 1);
+                        final int iz = cz + (corner >> 2);
+                        cell[corner] = densities[(iy * cornersXZ + iz) * cornersXZ + ix];
+                    }
+                    interpolate(solid, cell, cx * width, bottom, cz * width, width, height, maxY);
+                }
+            }
+        }
+    }
+
+    private void fill(@NotNull SolidBlocks solid, int x, int y, int z, int width, int height) {
+        for (int by = y; by < y + height; by++) {
+            for (int bz = z; bz < z + width; bz++) {
+                for (int bx = x; bx < x + width; bx++) {
+                    solid.set(bx, by, bz);
+                }
+            }
+        }
+    }
+
+    // The corners are ordered by x, then y, then z.
+    private void interpolate(@NotNull SolidBlocks solid, @NotNull double[] cell, int x, int y, int z,
+                             int width, int height, int maxY) {
+        for (int dy = 0; dy < height && y + dy <= maxY; dy++) {
+            final double ty = (double) dy / height;
+            final double d00 = lerp(cell[0], cell[2], ty);
+            final double d10 = lerp(cell[1], cell[3], ty);
+            final double d01 = lerp(cell[4], cell[6], ty);
+            final double d11 = lerp(cell[5], cell[7], ty);
+            for (int dz = 0; dz < width; dz++) {
+                final double tz = (double) dz / width;
+                final double d0 = lerp(d00, d01, tz);
+                final double d1 = lerp(d10, d11, tz);
+                for (int dx = 0; dx < width; dx++) {
+                    if (lerp(d0, d1, (double) dx / width) > 0) solid.set(x + dx, y + dy, z + dz);
+                }
+            }
+        }
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + t * (b - a);
+    }
+
+    private int cellWidth() {
+        return cellWidth > 0 ? cellWidth : 4;
+    }
+
+    private int cellHeight() {
+        return cellHeight > 0 ? cellHeight : 8;
+    }
+
+    /**
+     * Receives the blocks of a chunk that are solid, in coordinates relative to the chunk.
+     */
+    @FunctionalInterface
+    interface SolidBlocks {
+        void set(int x, int y, int z);
+    }
+
+}
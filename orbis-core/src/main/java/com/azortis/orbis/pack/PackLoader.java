@@ -135,6 +135,11 @@ public final class PackLoader {
                         }
                     }
                 }
+            } else if (Collection.class.isAssignableFrom(field.getType())) {
+                field.setAccessible(true);
+                Collection<Object> fieldObject = (Collection<Object>) field.get(dimension);
+                field.setAccessible(false);
+                collectionInjection(world, dimension, fieldObject);
             } else if (shouldInject(field, dimension)) {
                 field.setAccessible(true);
                 Object fieldObject = field.get(dimension);
@@ -153,6 +158,19 @@ public final class PackLoader {
         return dimension;
     }
 
+    // Called for the collections of the dimension that are declared inline, like the stages
+    static void collectionInjection(@NotNull World world, @NotNull Dimension dimension,
+                                    @Nullable Collection<?> collection)
+            throws NoSuchFieldException, IllegalAccessException, InvocationTargetException,
+            IOException, NoSuchMethodException, InstantiationException {
+        if (collection == null) return;
+        for (Object collectionObject : collection) {
+            if (collectionObject != null && shouldInject(collectionObject.getClass())) {
+                classInjection(world, dimension, dimension, collectionObject, null);
+            }
+        }
+    }
+
     // Called if a Class has been annotated with @Inject
     @SuppressWarnings("unchecked")
     private static void classInjection(@NotNull World world, @NotNull Dimension dimension,
@@ -349,7 +367,7 @@ public final class PackLoader {
             if (superType == Object.class) {
                 superType = null;
             } else {
-                methods.addAll(new ArrayList<>(Arrays.asList(type.getDeclaredMethods())));
+                methods.addAll(new ArrayList<>(Arrays.asList(superType.getDeclaredMethods())));
             }
         }
         return methods;
@@ -151,6 +151,7 @@ public final class Project {
             Orbis.getLogger().info("Closing project {}, clearing viewers...", name);
             studioWorld.clearViewers();
             Orbis.getLogger().info("Unloading studio world...");
+            studioWorld.close();
             if (studioWorld.unload()) {
                 Orbis.getLogger().info("Successfully closed project!");
                 closed = true;
@@ -108,6 +108,18 @@ public abstract class World implements WorldAccess {
         }
     }
 
+    /**
+     * Releases the resources the generator holds on to, like the persisted biome tiles. Called when the world is
+     * unloaded, the world has to be loaded again before it can generate.
+     */
+    public void close() {
+        if (loaded) {
+            // Studio worlds count as loaded before a dimension is set.
+            if (dimension != null) dimension.distributor().close();
+            loaded = false;
+        }
+    }
+
     public @NotNull String name() {
         return name;
     }
@@ -39,6 +39,8 @@ public interface WorldAccess {
 
     int maxHeight();
 
+    int viewDistance();
+
     @Unmodifiable @NotNull Set<Player> getPlayers();
 
     boolean isChunkGenerated(int chunkX, int chunkZ);
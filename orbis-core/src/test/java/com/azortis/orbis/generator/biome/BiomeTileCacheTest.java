@@ -0,0 +1,78 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reading the tiles must never create them, only writes do, and ids that were written must be read back after the
+ * tiles are closed.
+ */
+public class BiomeTileCacheTest {
+
+    @Test
+    public void testReadsDontCreateTiles() throws IOException {
+        final Path directory = Files.createTempDirectory("biome-cache");
+        try {
+            final BiomeTileCache cache = new BiomeTileCache(directory.toFile(), "test", 42L, 7L, 4,
+                    BiomeLayout.HYBRID, -16, 96);
+            assertEquals(-1, cache.getBiomeId(1000, -1000));
+            assertEquals(-1, cache.getBiomeId(1000, 3, -1000));
+            assertFalse(Files.exists(directory.resolve("test")) && hasTiles(directory.resolve("test")));
+
+            cache.putBiomeId(1000, -1000, 2);
+            cache.putBiomeId(1000, 3, -1000, 1);
+            cache.close();
+            assertTrue(hasTiles(directory.resolve("test")));
+
+            final BiomeTileCache reopened = new BiomeTileCache(directory.toFile(), "test", 42L, 7L, 4,
+                    BiomeLayout.HYBRID, -16, 96);
+            assertEquals(2, reopened.getBiomeId(1000, -1000));
+            assertEquals(1, reopened.getBiomeId(1000, 3, -1000));
+            assertEquals(-1, reopened.getBiomeId(1001, -1000));
+            reopened.close();
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static boolean hasTiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findAny().isPresent();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+}
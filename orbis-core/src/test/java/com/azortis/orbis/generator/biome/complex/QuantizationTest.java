@@ -0,0 +1,106 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.biome.complex;
+
+import com.azortis.orbis.generator.biome.complex.modifier.Modifier;
+import com.azortis.orbis.generator.biome.complex.modifier.RangedLinearModifier;
+import com.azortis.orbis.generator.biome.complex.requirement.MaxStrength;
+import com.azortis.orbis.generator.biome.complex.requirement.MinStrength;
+import com.azortis.orbis.generator.biome.complex.requirement.NoiseRanges;
+import com.azortis.orbis.generator.biome.complex.requirement.Requirement;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The tables of the requirements & modifiers must give the same results as computing them, for values that are
+ * quantized by any precision and for values that aren't quantized at all. Also when a shared instance is quantized
+ * in contexts where its tag has different precisions.
+ */
+public class QuantizationTest {
+
+    private static final String TAG = "test";
+    private static final int[] PRECISIONS = {10, 37, 100, 333, 1000};
+
+    @Test
+    public void testTablesMatchComputed() throws ReflectiveOperationException {
+        for (int precision : PRECISIONS) {
+            assertMatches(new int[]{precision}, new Random(precision));
+        }
+    }
+
+    @Test
+    public void testConflictingPrecisions() throws ReflectiveOperationException {
+        assertMatches(new int[]{1000, 10}, new Random(1));
+        assertMatches(new int[]{37, 100, 37}, new Random(2));
+    }
+
+    private static void assertMatches(int[] precisions, Random random) throws ReflectiveOperationException {
+        final Requirement[] computed = requirements();
+        final Requirement[] quantized = requirements();
+        final Modifier computedModifier = modifier();
+        final Modifier quantizedModifier = modifier();
+        for (int precision : precisions) {
+            final Map<String, Quantization> quantizations = Map.of(TAG, new Quantization(precision));
+            for (Requirement requirement : quantized) requirement.quantize(quantizations);
+            quantizedModifier.quantize(quantizations);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            final double raw = random.nextDouble() * 2.4 - 1.2;
+            final int precision = PRECISIONS[random.nextInt(PRECISIONS.length)];
+            for (double value : new double[]{raw, new Quantization(precision).quantize(raw)}) {
+                final Map<String, Double> context = Map.of(TAG, value);
+                for (int j = 0; j < computed.length; j++) {
+                    assertEquals(computed[j].isAchieved(context), quantized[j].isAchieved(context),
+                            quantized[j].getClass().getSimpleName() + " differs at " + value);
+                }
+                assertEquals(computedModifier.modify(0.8, context, Map.of()),
+                        quantizedModifier.modify(0.8, context, Map.of()), "Modifier differs at " + value);
+            }
+        }
+    }
+
+    private static Requirement[] requirements() throws ReflectiveOperationException {
+        final Constructor<NoiseRanges> noiseRanges = NoiseRanges.class.getDeclaredConstructor(Key.class,
+                String.class, Set.class);
+        noiseRanges.setAccessible(true);
+        return new Requirement[]{
+                new MinStrength(Key.key("complex:min-strength"), TAG, 0.123),
+                new MaxStrength(Key.key("complex:max-strength"), TAG, -0.45),
+                noiseRanges.newInstance(Key.key("complex:noise-ranges"), TAG, Set.of(
+                        new NoiseRanges.Range(-0.71, -0.2), new NoiseRanges.Range(0.3337, 0.5)))
+        };
+    }
+
+    private static Modifier modifier() throws ReflectiveOperationException {
+        final Constructor<RangedLinearModifier> constructor = RangedLinearModifier.class.getDeclaredConstructor(
+                Key.class, String.class, double[].class, double.class, double.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(Key.key("complex:ranged-linear"), TAG, new double[]{-0.1, 0.25}, -0.6,
+                0.77);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.framework;
+
+import com.azortis.orbis.generator.biome.Biome;
+import com.azortis.orbis.generator.biome.BiomeSection;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * A chunk only has a uniform biome if every section of the arrays its biome layout uses has the same biome at full
+ * strength, a blended border or a second biome anywhere in the chunk means the stages have to look up every column.
+ */
+public class ChunkSnapshotTest {
+
+    private static final int COLUMN_HEIGHT = 96;
+
+    private static final Biome PLAINS = new Biome("plains", Key.key("minecraft:plains"), "plains", 64, null, null);
+    private static final Biome DESERT = new Biome("desert", Key.key("minecraft:desert"), "desert", 64, null, null);
+
+    @Test
+    public void testSurface() {
+        assertSame(PLAINS, ChunkSnapshot.uniformBiome(map(full(PLAINS)), null));
+        assertNull(ChunkSnapshot.uniformBiome(map(blended()), null));
+        assertNull(ChunkSnapshot.uniformBiome(map(full(DESERT)), null));
+        assertNull(ChunkSnapshot.uniformBiome(new BiomeSection[16], null));
+    }
+
+    @Test
+    public void testHybrid() {
+        assertSame(PLAINS, ChunkSnapshot.uniformBiome(map(full(PLAINS)), sections(full(PLAINS))));
+
+        // The 2D map and the 3D sections must agree, a chunk with caves of another biome isn't uniform.
+        assertNull(ChunkSnapshot.uniformBiome(map(full(PLAINS)), sections(full(DESERT))));
+        assertNull(ChunkSnapshot.uniformBiome(map(full(PLAINS)), sections(blended())));
+        assertNull(ChunkSnapshot.uniformBiome(map(blended()), sections(full(PLAINS))));
+
+        final BiomeSection[] mixed = filled(16 * COLUMN_HEIGHT, full(PLAINS));
+        mixed[mixed.length - 1] = full(DESERT);
+        assertNull(ChunkSnapshot.uniformBiome(map(full(PLAINS)), mixed));
+    }
+
+    // A chunk of plains with a single section on its border that blends into the desert.
+    private static BiomeSection[] map(BiomeSection border) {
+        final BiomeSection[] map = filled(16, full(PLAINS));
+        map[15] = border;
+        return map;
+    }
+
+    private static BiomeSection[] sections(BiomeSection border) {
+        final BiomeSection[] sections = filled(16 * COLUMN_HEIGHT, full(PLAINS));
+        sections[15] = border;
+        return sections;
+    }
+
+    private static BiomeSection[] filled(int length, BiomeSection section) {
+        final BiomeSection[] sections = new BiomeSection[length];
+        Arrays.fill(sections, section);
+        return sections;
+    }
+
+    private static BiomeSection full(Biome biome) {
+        return new BiomeSection(biome, 1d, Map.of(biome, 1d), Map.of());
+    }
+
+    private static BiomeSection blended() {
+        return new BiomeSection(PLAINS, 0.75d, Map.of(PLAINS, 0.75d, DESERT, 0.25d), Map.of());
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.interpolation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The chunk interpolator must produce exactly the same heights as interpolating every column on its own.
+ */
+public class InterpolatorTest {
+
+    private static final HeightProvider PROVIDER = (x, z) -> {
+        long hash = Double.doubleToLongBits(x) * 0x9E3779B97F4A7C15L ^ Double.doubleToLongBits(z) * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 29;
+        return 64 + (hash & 0xFFFF) / 1024d;
+    };
+
+    @Test
+    public void testEqualToColumns() {
+        final int[] heights = new int[256];
+        for (double scale : new double[]{1, 2.5, 4, 7, 16, 33.3}) {
+            for (int chunkX = -3; chunkX < 3; chunkX++) {
+                for (int chunkZ = -3; chunkZ < 3; chunkZ++) {
+                    Interpolator.getFinalHeights(chunkX, chunkZ, scale, PROVIDER, heights);
+                    for (int z = 0; z < 16; z++) {
+                        for (int x = 0; x < 16; x++) {
+                            assertEquals(Interpolator.getFinalHeight((chunkX << 4) + x, (chunkZ << 4) + z, scale,
+                                    PROVIDER), heights[x + (z << 4)]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLatticeSampledOnce() {
+        final int[] calls = new int[1];
+        Interpolator.getFinalHeights(5, -7, 8, (x, z) -> {
+            calls[0]++;
+            return PROVIDER.getHeight(x, z);
+        }, new int[256]);
+        // The star casts span 16 + 2 * 8 * sqrt(2) blocks, which covers 7 lattice points on each axis.
+        assertEquals(7 * 7, calls[0]);
+    }
+
+}
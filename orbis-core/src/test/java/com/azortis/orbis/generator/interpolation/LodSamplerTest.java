@@ -0,0 +1,99 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.interpolation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The interpolated grid must go through the exact values at the grid points, stay within the error the step was
+ * selected for, and neighbouring chunks mustn't evict each other from the cache.
+ */
+public class LodSamplerTest {
+
+    private static final HeightProvider HILLS = (x, z) -> Math.sin(x / 90d) * Math.cos(z / 70d) * 20;
+
+    @Test
+    public void testExactAtGridPoints() {
+        final LodSampler sampler = new LodSampler(HILLS, 8);
+        for (int z = -64; z < 64; z += 8) {
+            for (int x = -64; x < 64; x += 8) {
+                assertEquals(HILLS.getHeight(x, z), sampler.sample(x, z), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testSelectedStepWithinError() {
+        final double maxError = 0.01;
+        // The third derivative along the z-axis is the largest.
+        final int step = LodSampler.selectStep(20 / (70d * 70 * 70), maxError);
+        assertTrue(step > 1, "Smooth function should be interpolated");
+        final LodSampler sampler = new LodSampler(HILLS, step);
+        for (int z = -2000; z < 2000; z += 7) {
+            for (int x = -2000; x < 2000; x += 3) {
+                assertEquals(HILLS.getHeight(x, z), sampler.sample(x, z), maxError);
+            }
+        }
+    }
+
+    @Test
+    public void testNeighbourChunksStayCached() {
+        final int[] calls = new int[1];
+        final LodSampler sampler = new LodSampler((x, z) -> {
+            calls[0]++;
+            return HILLS.getHeight(x, z);
+        }, 8);
+
+        // The cell corners of a chunk include the first columns of the neighbouring chunks.
+        final double[] values = new double[25];
+        for (int pass = 0; pass < 2; pass++) {
+            for (int z = 0, i = 0; z <= 16; z += 4) {
+                for (int x = 0; x <= 16; x += 4, i++) {
+                    final double value = sampler.sample(-32 + x, 64 + z);
+                    if (pass == 0) values[i] = value;
+                    else assertEquals(values[i], value);
+                }
+            }
+        }
+        // Each of the 2x2 chunks is only filled once, with a grid of 5x5 points.
+        assertEquals(4 * 25, calls[0]);
+
+        final LodSampler fresh = new LodSampler(HILLS, 8);
+        for (int z = 0, i = 0; z <= 16; z += 4) {
+            for (int x = 0; x <= 16; x += 4, i++) {
+                assertEquals(fresh.sample(-32 + x, 64 + z), values[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testHighFrequencyPerColumn() {
+        assertEquals(1, LodSampler.selectStep(1.3 * 1.3 * 1.3, 0.01));
+    }
+
+    @Test
+    public void testUnknownBoundPerColumn() {
+        assertEquals(1, LodSampler.selectStep(Double.POSITIVE_INFINITY, 0.01));
+        assertEquals(1, LodSampler.selectStep(Double.NaN, 0.01));
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Grids of cellular noise look up the gathered feature points instead of hashing every neighbourhood, which must
+ * produce exactly the same values as sampling every position on its own.
+ */
+public class FastNoiseCellularTest {
+
+    private static final double[] FREQUENCIES = {0.005, 0.05, 0.5, 4};
+
+    @Test
+    public void testGrid2D() {
+        final double[] out = new double[256];
+        for (FastNoise noise : noises()) {
+            noise.fillGrid2D(-1234, 5678, 16, 16, 1, out);
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    assertEquals(noise.getNoise(-1234 + x, 5678 + z), out[x + z * 16]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGrid3D() {
+        final double[] out = new double[8 * 8 * 8];
+        for (FastNoise noise : noises()) {
+            noise.fillGrid3D(-77, 10, 3000, 8, 8, 8, 2, out);
+            for (int y = 0, i = 0; y < 8; y++) {
+                for (int z = 0; z < 8; z++) {
+                    for (int x = 0; x < 8; x++, i++) {
+                        assertEquals(noise.getNoise(-77 + x * 2, 10 + y * 2, 3000 + z * 2), out[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static FastNoise[] noises() {
+        final FastNoise.CellularDistanceFunction[] distanceFunctions = FastNoise.CellularDistanceFunction.values();
+        final FastNoise.CellularReturnType[] returnTypes = FastNoise.CellularReturnType.values();
+        final FastNoise[] noises = new FastNoise[distanceFunctions.length * returnTypes.length * FREQUENCIES.length];
+        int i = 0;
+        for (FastNoise.CellularDistanceFunction distanceFunction : distanceFunctions) {
+            for (FastNoise.CellularReturnType returnType : returnTypes) {
+                for (double frequency : FREQUENCIES) {
+                    final FastNoise noise = new FastNoise(i);
+                    noise.setNoiseType(FastNoise.NoiseType.Cellular);
+                    noise.setFrequency(frequency);
+                    noise.setCellularDistanceFunction(distanceFunction);
+                    noise.setCellularReturnType(returnType);
+                    noises[i++] = noise;
+                }
+            }
+        }
+        return noises;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The third derivative of the 2D noise, measured with finite differences along both axes, must stay within the bound
+ * the interpolation steps are selected with.
+ */
+public class FastNoiseDerivativeTest {
+
+    private static final double FREQUENCY = 0.01;
+    // Small enough for the truncation error of the differences, large enough to not be drowned out by rounding.
+    private static final double H = 0.1;
+
+    @Test
+    public void testThirdDerivativeWithinBound() {
+        final Random random = new Random(5318008L);
+        for (FastNoise.NoiseType noiseType : new FastNoise.NoiseType[]{FastNoise.NoiseType.OpenSimplex2,
+                FastNoise.NoiseType.OpenSimplex2S}) {
+            for (FastNoise.FractalType fractalType : new FastNoise.FractalType[]{FastNoise.FractalType.None,
+                    FastNoise.FractalType.FBm}) {
+                final FastNoise noise = new FastNoise(random.nextLong());
+                noise.setNoiseType(noiseType);
+                noise.setFrequency(FREQUENCY);
+                noise.setFractalType(fractalType);
+                noise.setFractalOctaves(4);
+                final double bound = FastNoise.thirdDerivativeBound(noiseType, fractalType, 4, FREQUENCY);
+                double largest = 0;
+                for (int i = 0; i < 20000; i++) {
+                    final double x = (random.nextDouble() - 0.5) * 2e4;
+                    final double z = (random.nextDouble() - 0.5) * 2e4;
+                    largest = Math.max(largest, Math.abs(noise.getNoise(x + 2 * H, z) - 2 * noise.getNoise(x + H, z)
+                            + 2 * noise.getNoise(x - H, z) - noise.getNoise(x - 2 * H, z)) / (2 * H * H * H));
+                    largest = Math.max(largest, Math.abs(noise.getNoise(x, z + 2 * H) - 2 * noise.getNoise(x, z + H)
+                            + 2 * noise.getNoise(x, z - H) - noise.getNoise(x, z - 2 * H)) / (2 * H * H * H));
+                }
+                assertTrue(largest <= bound, noiseType + " " + fractalType + " exceeds " + bound + " with " + largest);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Leaving out the last fractal octaves may only change the noise by as much as the octave cutoff allows.
+ */
+public class FastNoiseFractalTest {
+
+    private static final FastNoise.FractalType[] FRACTAL_TYPES = {FastNoise.FractalType.FBm,
+            FastNoise.FractalType.Ridged, FastNoise.FractalType.PingPong};
+    private static final double[] CUTOFFS = {0.02, 0.05, 0.2};
+
+    @Test
+    public void testCutoffWithinBound() {
+        final Random random = new Random(5318008L);
+        for (FastNoise.NoiseType noiseType : new FastNoise.NoiseType[]{FastNoise.NoiseType.OpenSimplex2,
+                FastNoise.NoiseType.OpenSimplex2S}) {
+            for (FastNoise.FractalType fractalType : FRACTAL_TYPES) {
+                for (double cutoff : CUTOFFS) {
+                    final long seed = random.nextLong();
+                    final FastNoise full = create(seed, noiseType, fractalType);
+                    final FastNoise culled = create(seed, noiseType, fractalType);
+                    culled.setFractalOctaveCutoff(cutoff);
+                    double largest = 0;
+                    for (int i = 0; i < 2000; i++) {
+                        final double x = (random.nextDouble() - 0.5) * 2e4;
+                        final double y = random.nextDouble() * 384 - 64;
+                        final double z = (random.nextDouble() - 0.5) * 2e4;
+                        largest = Math.max(largest, Math.abs(full.getNoise(x, z) - culled.getNoise(x, z)));
+                        largest = Math.max(largest, Math.abs(full.getNoise(x, y, z) - culled.getNoise(x, y, z)));
+                    }
+                    final String message = noiseType + " " + fractalType + " with cutoff " + cutoff;
+                    assertTrue(largest <= cutoff, message + " changed by " + largest);
+                    assertTrue(largest > 0, message + " didn't leave out any octaves");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloatCutoffWithinBound() {
+        final Random random = new Random(5318008L);
+        for (FastNoise.FractalType fractalType : FRACTAL_TYPES) {
+            for (double cutoff : CUTOFFS) {
+                final long seed = random.nextLong();
+                final FloatFastNoise full = new FloatFastNoise(seed);
+                full.setFrequency(0.01);
+                full.setFractalType(fractalType);
+                full.setFractalOctaves(6);
+                final FloatFastNoise culled = new FloatFastNoise(seed);
+                culled.setFrequency(0.01);
+                culled.setFractalType(fractalType);
+                culled.setFractalOctaves(6);
+                culled.setFractalOctaveCutoff((float) cutoff);
+                for (int i = 0; i < 2000; i++) {
+                    final double x = (random.nextDouble() - 0.5) * 2e4;
+                    final double z = (random.nextDouble() - 0.5) * 2e4;
+                    // The float sums round differently, which is well within a millionth.
+                    assertTrue(Math.abs(full.getNoise(x, z) - culled.getNoise(x, z)) <= cutoff + 1e-6,
+                            fractalType + " with cutoff " + cutoff + " at " + x + "," + z);
+                }
+            }
+        }
+    }
+
+    private static FastNoise create(long seed, FastNoise.NoiseType noiseType, FastNoise.FractalType fractalType) {
+        final FastNoise noise = new FastNoise(seed);
+        noise.setNoiseType(noiseType);
+        noise.setFrequency(0.01);
+        noise.setFractalType(fractalType);
+        noise.setFractalOctaves(6);
+        return noise;
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The SIMD grid fills must produce exactly the same bits as the scalar code, so results never depend on the
+ * platform a world is generated on.
+ */
+public class FastNoiseVectorTest {
+
+    private static final FastNoise.NoiseType[] NOISE_TYPES = {FastNoise.NoiseType.OpenSimplex2,
+            FastNoise.NoiseType.OpenSimplex2S};
+
+    private Random random;
+
+    @BeforeEach
+    public void setup() {
+        assumeTrue(FastNoise.isVectorAvailable(), "jdk.incubator.vector isn't available");
+        random = new Random(5318008L);
+    }
+
+    @Test
+    public void testGrid2D() {
+        for (FastNoise.NoiseType noiseType : NOISE_TYPES) {
+            for (FastNoise.FractalType fractalType : FastNoise.FractalType.values()) {
+                if (fractalType.name().startsWith("DomainWarp")) continue;
+                for (int i = 0; i < 25; i++) {
+                    final long seed = random.nextLong();
+                    final double frequency = randomFrequency();
+                    final FastNoise vector = create(seed, frequency, noiseType, fractalType,
+                            FastNoise.RotationType3D.None);
+                    final FastNoise scalar = create(seed, frequency, noiseType, fractalType,
+                            FastNoise.RotationType3D.None);
+                    scalar.setVectorized(false);
+
+                    final int width = 1 + random.nextInt(20);
+                    final int depth = 1 + random.nextInt(20);
+                    final double originX = (random.nextDouble() - 0.5) * 2e5;
+                    final double originZ = (random.nextDouble() - 0.5) * 2e5;
+                    final double step = random.nextDouble() * 8;
+                    final double[] expected = new double[width * depth];
+                    final double[] actual = new double[width * depth];
+                    scalar.fillGrid2D(originX, originZ, width, depth, step, expected);
+                    vector.fillGrid2D(originX, originZ, width, depth, step, actual);
+                    assertBitsEqual(expected, actual, noiseType + " " + fractalType);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGrid3D() {
+        for (FastNoise.NoiseType noiseType : NOISE_TYPES) {
+            for (FastNoise.FractalType fractalType : FastNoise.FractalType.values()) {
+                if (fractalType.name().startsWith("DomainWarp")) continue;
+                for (FastNoise.RotationType3D rotationType : FastNoise.RotationType3D.values()) {
+                    for (int i = 0; i < 10; i++) {
+                        final long seed = random.nextLong();
+                        final double frequency = randomFrequency();
+                        final FastNoise vector = create(seed, frequency, noiseType, fractalType, rotationType);
+                        final FastNoise scalar = create(seed, frequency, noiseType, fractalType, rotationType);
+                        scalar.setVectorized(false);
+
+                        final int width = 1 + random.nextInt(12);
+                        final int height = 1 + random.nextInt(12);
+                        final int depth = 1 + random.nextInt(12);
+                        final double originX = (random.nextDouble() - 0.5) * 2e5;
+                        final double originY = (random.nextDouble() - 0.5) * 600;
+                        final double originZ = (random.nextDouble() - 0.5) * 2e5;
+                        final double step = random.nextDouble() * 8;
+                        final double[] expected = new double[width * height * depth];
+                        final double[] actual = new double[width * height * depth];
+                        scalar.fillGrid3D(originX, originY, originZ, width, height, depth, step, expected);
+                        vector.fillGrid3D(originX, originY, originZ, width, height, depth, step, actual);
+                        assertBitsEqual(expected, actual, noiseType + " " + fractalType + " " + rotationType);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesSinglePoints() {
+        for (FastNoise.NoiseType noiseType : NOISE_TYPES) {
+            final FastNoise noise = create(random.nextLong(), randomFrequency(), noiseType,
+                    FastNoise.FractalType.FBm, FastNoise.RotationType3D.None);
+            final double[] grid2D = new double[17 * 17];
+            noise.fillGrid2D(-8.5, 1000, 17, 17, 1, grid2D);
+            for (int z = 0; z < 17; z++) {
+                for (int x = 0; x < 17; x++) {
+                    assertEquals(Double.doubleToLongBits(noise.getNoise(-8.5 + x, 1000 + z)),
+                            Double.doubleToLongBits(grid2D[z * 17 + x]), noiseType + " 2D at " + x + ", " + z);
+                }
+            }
+
+            final double[] grid3D = new double[9 * 9 * 9];
+            noise.fillGrid3D(-4.5, 64, 1000, 9, 9, 9, 1, grid3D);
+            for (int y = 0; y < 9; y++) {
+                for (int z = 0; z < 9; z++) {
+                    for (int x = 0; x < 9; x++) {
+                        assertEquals(Double.doubleToLongBits(noise.getNoise(-4.5 + x, 64 + y, 1000 + z)),
+                                Double.doubleToLongBits(grid3D[(y * 9 + z) * 9 + x]),
+                                noiseType + " 3D at " + x + ", " + y + ", " + z);
+                    }
+                }
+            }
+        }
+    }
+
+    private double randomFrequency() {
+        return Math.pow(10, -3 + 3 * random.nextDouble());
+    }
+
+    private static FastNoise create(long seed, double frequency, FastNoise.NoiseType noiseType,
+                                    FastNoise.FractalType fractalType, FastNoise.RotationType3D rotationType) {
+        final FastNoise noise = new FastNoise(seed);
+        noise.setNoiseType(noiseType);
+        noise.setFractalType(fractalType);
+        noise.setRotationType3D(rotationType);
+        noise.setFrequency(frequency);
+        noise.setFractalOctaves(3);
+        return noise;
+    }
+
+    private static void assertBitsEqual(double[] expected, double[] actual, String message) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(actual[i]),
+                    message + " at index " + i);
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Warping a batch of coordinates must produce exactly the same bits as warping every position on its own with the
+ * vector overloads, for every warp algorithm & fractal type.
+ */
+public class FastNoiseWarpTest {
+
+    private static final int SIZE = 64;
+
+    @Test
+    public void testBatchWarp2D() {
+        final Random random = new Random(5318008L);
+        for (FastNoise.DomainWarpType warpType : FastNoise.DomainWarpType.values()) {
+            for (FastNoise.FractalType fractalType : FastNoise.FractalType.values()) {
+                final FastNoise noise = create(random.nextLong(), warpType, fractalType);
+                final double[] xs = new double[SIZE];
+                final double[] ys = new double[SIZE];
+                final FastNoise.Vector2[] expected = new FastNoise.Vector2[SIZE];
+                for (int i = 0; i < SIZE; i++) {
+                    xs[i] = (random.nextDouble() - 0.5) * 2e4;
+                    ys[i] = (random.nextDouble() - 0.5) * 2e4;
+                    expected[i] = new FastNoise.Vector2(xs[i], ys[i]);
+                    noise.domainWarp(expected[i]);
+                }
+                noise.domainWarp(xs, ys, SIZE);
+                for (int i = 0; i < SIZE; i++) {
+                    final String message = warpType + " " + fractalType + " at index " + i;
+                    assertBitsEqual(expected[i].x, xs[i], message);
+                    assertBitsEqual(expected[i].y, ys[i], message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBatchWarp3D() {
+        final Random random = new Random(5318008L);
+        for (FastNoise.DomainWarpType warpType : FastNoise.DomainWarpType.values()) {
+            for (FastNoise.FractalType fractalType : FastNoise.FractalType.values()) {
+                final FastNoise noise = create(random.nextLong(), warpType, fractalType);
+                noise.setRotationType3D(FastNoise.RotationType3D.ImproveXZPlanes);
+                final double[] xs = new double[SIZE];
+                final double[] ys = new double[SIZE];
+                final double[] zs = new double[SIZE];
+                final FastNoise.Vector3[] expected = new FastNoise.Vector3[SIZE];
+                for (int i = 0; i < SIZE; i++) {
+                    xs[i] = (random.nextDouble() - 0.5) * 2e4;
+                    ys[i] = random.nextDouble() * 384 - 64;
+                    zs[i] = (random.nextDouble() - 0.5) * 2e4;
+                    expected[i] = new FastNoise.Vector3(xs[i], ys[i], zs[i]);
+                    noise.domainWarp(expected[i]);
+                }
+                noise.domainWarp(xs, ys, zs, SIZE);
+                for (int i = 0; i < SIZE; i++) {
+                    final String message = warpType + " " + fractalType + " at index " + i;
+                    assertBitsEqual(expected[i].x, xs[i], message);
+                    assertBitsEqual(expected[i].y, ys[i], message);
+                    assertBitsEqual(expected[i].z, zs[i], message);
+                }
+            }
+        }
+    }
+
+    private static FastNoise create(long seed, FastNoise.DomainWarpType warpType, FastNoise.FractalType fractalType) {
+        final FastNoise noise = new FastNoise(seed);
+        noise.setFrequency(0.005);
+        noise.setDomainWarpType(warpType);
+        noise.setDomainWarpAmp(30);
+        noise.setFractalType(fractalType);
+        noise.setFractalOctaves(3);
+        return noise;
+    }
+
+    private static void assertBitsEqual(double expected, double actual, String message) {
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), message);
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The single precision noise must stay close to the double precision noise near the origin, and its grid fills
+ * must match sampling the points one by one.
+ */
+public class FloatFastNoiseTest {
+    private static final FastNoise.NoiseType[] NOISE_TYPES = {FastNoise.NoiseType.OpenSimplex2,
+            FastNoise.NoiseType.OpenSimplex2S};
+
+    @Test
+    public void testCloseToDouble() {
+        final Random random = new Random(5318008L);
+        for (FastNoise.NoiseType noiseType : NOISE_TYPES) {
+            final long seed = random.nextLong();
+            final FastNoise noise = new FastNoise(seed);
+            noise.setNoiseType(noiseType);
+            noise.setFrequency(0.01);
+            final FloatFastNoise floatNoise = new FloatFastNoise(seed);
+            floatNoise.setNoiseType(noiseType);
+            floatNoise.setFrequency(0.01);
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 200 - 100;
+                final double y = random.nextDouble() * 200 - 100;
+                final double z = random.nextDouble() * 200 - 100;
+                assertTrue(Math.abs(noise.getNoise(x, z) - floatNoise.getNoise(x, z)) < 3e-6,
+                        noiseType + " 2D deviates at " + x + "," + z);
+                assertTrue(Math.abs(noise.getNoise(x, y, z) - floatNoise.getNoise(x, y, z)) < 3e-6,
+                        noiseType + " 3D deviates at " + x + "," + y + "," + z);
+            }
+        }
+    }
+
+    @Test
+    public void testWidenedGridMatchesFloatGrid() {
+        for (FastNoise.FractalType fractalType : new FastNoise.FractalType[]{FastNoise.FractalType.None,
+                FastNoise.FractalType.FBm}) {
+            final FloatFastNoise noise = new FloatFastNoise(42L);
+            noise.setNoiseType(FastNoise.NoiseType.OpenSimplex2);
+            noise.setFrequency(0.02);
+            noise.setFractalType(fractalType);
+
+            final float[] floats2D = new float[16 * 16];
+            final double[] doubles2D = new double[16 * 16];
+            noise.fillGrid2D(-1000, 512, 16, 16, 1, floats2D);
+            noise.fillGrid2D(-1000, 512, 16, 16, 1, doubles2D);
+            for (int i = 0; i < floats2D.length; i++) assertEquals(floats2D[i], doubles2D[i]);
+
+            final float[] floats3D = new float[4 * 4 * 4];
+            final double[] doubles3D = new double[4 * 4 * 4];
+            noise.fillGrid3D(8, -64, 8, 4, 4, 4, 4, floats3D);
+            noise.fillGrid3D(8, -64, 8, 4, 4, 4, 4, doubles3D);
+            for (int i = 0; i < floats3D.length; i++) assertEquals(floats3D[i], doubles3D[i]);
+        }
+    }
+
+    @Test
+    public void testGridMatchesSinglePoints() {
+        for (FastNoise.NoiseType noiseType : NOISE_TYPES) {
+            final FloatFastNoise noise = new FloatFastNoise(42L);
+            noise.setNoiseType(noiseType);
+            noise.setFrequency(0.02);
+            noise.setFractalType(FastNoise.FractalType.FBm);
+
+            final float[] grid2D = new float[16 * 16];
+            noise.fillGrid2D(-1000, 512, 16, 16, 1, grid2D);
+            for (int z = 0, i = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++, i++) {
+                    assertEquals(Float.floatToIntBits(noise.getNoise(-1000 + x, 512 + z)),
+                            Float.floatToIntBits(grid2D[i]));
+                }
+            }
+
+            final float[] grid3D = new float[4 * 4 * 4];
+            noise.fillGrid3D(8, -64, 8, 4, 4, 4, 4, grid3D);
+            for (int y = 0, i = 0; y < 4; y++) {
+                for (int z = 0; z < 4; z++) {
+                    for (int x = 0; x < 4; x++, i++) {
+                        assertEquals(Float.floatToIntBits(noise.getNoise(8 + x * 4, -64 + y * 4, 8 + z * 4)),
+                                Float.floatToIntBits(grid3D[i]));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsOtherNoiseTypes() {
+        final FloatFastNoise noise = new FloatFastNoise();
+        assertThrows(IllegalArgumentException.class, () -> noise.setNoiseType(FastNoise.NoiseType.Cellular));
+    }
+
+}
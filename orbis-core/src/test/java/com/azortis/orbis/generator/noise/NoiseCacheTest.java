@@ -0,0 +1,77 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every column of the chunk must only be sampled once per sampler, and columns outside of it must never be cached.
+ */
+public class NoiseCacheTest {
+
+    @Test
+    public void testColumnsSampledOnce() {
+        final CountingSampler sampler = new CountingSampler();
+        final NoiseCache cache = new NoiseCache(-2, 3);
+        for (int pass = 0; pass < 3; pass++) {
+            for (int x = -32; x < -16; x++) {
+                for (int z = 48; z < 64; z++) {
+                    assertEquals(x * 31d + z, cache.sample(sampler, x, z));
+                }
+            }
+        }
+        assertEquals(256, sampler.samples);
+    }
+
+    @Test
+    public void testOutsideChunk() {
+        final CountingSampler sampler = new CountingSampler();
+        final NoiseCache cache = new NoiseCache(0, 0);
+        cache.sample(sampler, 16, 0);
+        cache.sample(sampler, 16, 0);
+        cache.sample(sampler, -1, 0);
+        cache.sample(sampler, -1, 0);
+        assertEquals(4, sampler.samples);
+    }
+
+    @Test
+    public void testSeparatePerSampler() {
+        final CountingSampler first = new CountingSampler();
+        final CountingSampler second = new CountingSampler();
+        final NoiseCache cache = new NoiseCache(0, 0);
+        cache.sample(first, 1, 1);
+        cache.sample(second, 1, 1);
+        cache.sample(first, 1, 1);
+        assertEquals(1, first.samples);
+        assertEquals(1, second.samples);
+    }
+
+    private static final class CountingSampler implements NoiseCache.ColumnSampler {
+        private int samples;
+
+        @Override
+        public double sample(int x, int z) {
+            samples++;
+            return x * 31d + z;
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The grid & batch fills of the warped noise must match sampling the warped noise point by point.
+ */
+public class WarpedNoiseTest {
+
+    @Test
+    public void testGrid2D() throws ReflectiveOperationException {
+        for (FastNoise.DomainWarpType warpType : FastNoise.DomainWarpType.values()) {
+            for (int octaves = 1; octaves <= 3; octaves++) {
+                final WarpedNoise noise = warped(warpType, octaves);
+                final double[] grid = new double[9 * 7];
+                noise.fillGrid2D(-300, 1200, 9, 7, 2.5, grid);
+                for (int z = 0, i = 0; z < 7; z++) {
+                    for (int x = 0; x < 9; x++, i++) {
+                        assertBitsEqual(noise.noise(-300 + x * 2.5, 1200 + z * 2.5), grid[i],
+                                warpType + " " + octaves + " at index " + i);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGrid3D() throws ReflectiveOperationException {
+        for (FastNoise.DomainWarpType warpType : FastNoise.DomainWarpType.values()) {
+            for (int octaves = 1; octaves <= 3; octaves++) {
+                final WarpedNoise noise = warped(warpType, octaves);
+                final double[] grid = new double[5 * 4 * 6];
+                noise.fillGrid3D(64, -32, -90, 5, 4, 6, 4, grid);
+                for (int y = 0, i = 0; y < 4; y++) {
+                    for (int z = 0; z < 6; z++) {
+                        for (int x = 0; x < 5; x++, i++) {
+                            assertBitsEqual(noise.noise(64 + x * 4, -32 + y * 4, -90 + z * 4), grid[i],
+                                    warpType + " " + octaves + " at index " + i);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPoints() throws ReflectiveOperationException {
+        final WarpedNoise noise = warped(FastNoise.DomainWarpType.OpenSimplex2, 2);
+        final double[] xs = {0, 17.5, -4000, 123456};
+        final double[] ys = {-64, 0, 80, 300};
+        final double[] zs = {0, -9.25, 2500, -654321};
+        final double[] out2D = new double[xs.length];
+        final double[] out3D = new double[xs.length];
+        noise.fillPoints2D(xs, zs, xs.length, out2D);
+        noise.fillPoints3D(xs, ys, zs, xs.length, out3D);
+        for (int i = 0; i < xs.length; i++) {
+            assertBitsEqual(noise.noise(xs[i], zs[i]), out2D[i], "2D at index " + i);
+            assertBitsEqual(noise.noise(xs[i], ys[i], zs[i]), out3D[i], "3D at index " + i);
+        }
+        // The batch warps copies, the given positions stay as they were.
+        assertEquals(17.5, xs[1]);
+        assertEquals(-9.25, zs[1]);
+    }
+
+    private static WarpedNoise warped(FastNoise.DomainWarpType warpType, int octaves)
+            throws ReflectiveOperationException {
+        final Constructor<WarpedNoise> constructor = WarpedNoise.class.getDeclaredConstructor(String.class,
+                Key.class, long.class, double.class, String.class, FastNoise.DomainWarpType.class, double.class,
+                int.class);
+        constructor.setAccessible(true);
+        final WarpedNoise noise = constructor.newInstance("test", Key.key("orbis:warped"), 0L, 0.01, "test",
+                warpType, 20d, octaves);
+        final Field field = WarpedNoise.class.getDeclaredField("noise");
+        field.setAccessible(true);
+        field.set(noise, new TestNoise());
+        noise.setupWarp(1337L);
+        return noise;
+    }
+
+    private static void assertBitsEqual(double expected, double actual, String message) {
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), message);
+    }
+
+    private static final class TestNoise extends Noise {
+
+        private TestNoise() {
+            super("test", Key.key("orbis:test"), 0, 1);
+        }
+
+        @Override
+        public double bound() {
+            return 1;
+        }
+
+        @Override
+        public double noise(double x) {
+            return Math.sin(x * 0.1);
+        }
+
+        @Override
+        public double noise(double x, double z) {
+            return Math.sin(x * 0.13 + Math.cos(z * 0.07)) * Math.cos(z * 0.11);
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            return noise(x + y * 0.5, z - y * 0.3);
+        }
+    }
+
+}
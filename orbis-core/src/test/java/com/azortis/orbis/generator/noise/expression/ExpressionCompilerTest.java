@@ -0,0 +1,190 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise.expression;
+
+import com.azortis.orbis.generator.noise.Noise;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every node is compiled to method handles, which must give the same values as evaluating the node directly.
+ */
+public class ExpressionCompilerTest {
+
+    private static final double DELTA = 1e-12;
+    private static final double[] COORDINATES = {-1234.5, -17, -0.25, 0, 3, 64.75, 999};
+    private static final List<SplineExpression.Point> SPLINE = List.of(new SplineExpression.Point(0.5, 2, -1),
+            new SplineExpression.Point(-0.5, -1, 0.5), new SplineExpression.Point(0, 0.25, 3));
+
+    private final TestNoise noise = new TestNoise();
+
+    @Test
+    public void testConstant() {
+        assertCompiles(new ConstantExpression(4.5), (x, z) -> 4.5, (x, y, z) -> 4.5);
+    }
+
+    @Test
+    public void testAdd() {
+        assertCompiles(new AddExpression(List.of(noise(), new ConstantExpression(2), noise())),
+                (x, z) -> noise.noise(x, z) + 2 + noise.noise(x, z),
+                (x, y, z) -> noise.noise(x, y, z) + 2 + noise.noise(x, y, z));
+    }
+
+    @Test
+    public void testMul() {
+        assertCompiles(new MulExpression(List.of(noise(), new ConstantExpression(-3), noise())),
+                (x, z) -> noise.noise(x, z) * -3 * noise.noise(x, z),
+                (x, y, z) -> noise.noise(x, y, z) * -3 * noise.noise(x, y, z));
+    }
+
+    @Test
+    public void testScale() {
+        assertCompiles(new ScaleExpression(noise(), 40),
+                (x, z) -> noise.noise(x / 40, z / 40),
+                (x, y, z) -> noise.noise(x / 40, y / 40, z / 40));
+    }
+
+    @Test
+    public void testClamp() {
+        assertCompiles(new ClampExpression(noise(), -0.3, 0.4),
+                (x, z) -> Math.min(0.4, Math.max(-0.3, noise.noise(x, z))),
+                (x, y, z) -> Math.min(0.4, Math.max(-0.3, noise.noise(x, y, z))));
+    }
+
+    @Test
+    public void testAbs() {
+        assertCompiles(new AbsExpression(noise()),
+                (x, z) -> Math.abs(noise.noise(x, z)),
+                (x, y, z) -> Math.abs(noise.noise(x, y, z)));
+    }
+
+    @Test
+    public void testWarp() {
+        final TestNoise warp = new TestNoise();
+        assertCompiles(new WarpExpression(noise(), new NoiseExpression(warp), 4),
+                (x, z) -> noise.noise(x + 4 * warp.noise(x, z), z + 4 * warp.noise(x + 5.2, z + 5.2)),
+                (x, y, z) -> noise.noise(x + 4 * warp.noise(x, y, z),
+                        y + 4 * warp.noise(x + 5.2, y + 5.2, z + 5.2),
+                        z + 4 * warp.noise(x + 1.3, y + 1.3, z + 1.3)));
+    }
+
+    @Test
+    public void testSpline() {
+        assertCompiles(new SplineExpression(noise(), SPLINE),
+                (x, z) -> spline(noise.noise(x, z)),
+                (x, y, z) -> spline(noise.noise(x, y, z)));
+    }
+
+    @Test
+    public void testSplineKnots() {
+        // At the knots, and beyond the first and last knot where the spline is extended linearly.
+        for (double input : new double[]{-2, -0.5, -0.25, 0, 0.5, 0.75, 3}) {
+            final CompiledExpression compiled = ExpressionCompiler.compile(new SplineExpression(
+                    new ConstantExpression(input), SPLINE));
+            assertEquals(spline(input), compiled.sample(1, 2), DELTA);
+            assertEquals(spline(input), compiled.sample(1, 2, 3), DELTA);
+        }
+        assertEquals(-1, spline(-0.5));
+        assertEquals(-1 + 0.5 * -1.5, spline(-2));
+        assertEquals(2 - 2.5, spline(3));
+    }
+
+    @Test
+    public void testNested() {
+        final Expression expression = new AddExpression(List.of(
+                new MulExpression(List.of(new ScaleExpression(noise(), 100), new ConstantExpression(20))),
+                new ClampExpression(new AbsExpression(new ScaleExpression(noise(), 7)), 0, 0.5)));
+        assertCompiles(expression,
+                (x, z) -> noise.noise(x / 100, z / 100) * 20 +
+                        Math.min(0.5, Math.max(0, Math.abs(noise.noise(x / 7, z / 7)))),
+                (x, y, z) -> noise.noise(x / 100, y / 100, z / 100) * 20 +
+                        Math.min(0.5, Math.max(0, Math.abs(noise.noise(x / 7, y / 7, z / 7)))));
+    }
+
+    private NoiseExpression noise() {
+        return new NoiseExpression(noise);
+    }
+
+    private static void assertCompiles(Expression expression, Function2D expected2D, Function3D expected3D) {
+        final CompiledExpression compiled = ExpressionCompiler.compile(expression);
+        for (double x : COORDINATES) {
+            for (double z : COORDINATES) {
+                assertEquals(expected2D.apply(x, z), compiled.sample(x, z), DELTA);
+                for (double y : COORDINATES) {
+                    assertEquals(expected3D.apply(x, y, z), compiled.sample(x, y, z), DELTA);
+                }
+            }
+        }
+    }
+
+    // A straightforward cubic Hermite spline, searching the segment linearly.
+    private static double spline(double value) {
+        final double[] locations = {-0.5, 0, 0.5};
+        final double[] values = {-1, 0.25, 2};
+        final double[] derivatives = {0.5, 3, -1};
+        if (value <= locations[0]) return values[0] + derivatives[0] * (value - locations[0]);
+        if (value >= locations[2]) return values[2] + derivatives[2] * (value - locations[2]);
+        int lower = 0;
+        while (locations[lower + 1] < value) lower++;
+        final int upper = lower + 1;
+        final double width = locations[upper] - locations[lower];
+        final double t = (value - locations[lower]) / width;
+        final double h00 = 2 * t * t * t - 3 * t * t + 1;
+        final double h10 = t * t * t - 2 * t * t + t;
+        final double h01 = -2 * t * t * t + 3 * t * t;
+        final double h11 = t * t * t - t * t;
+        return h00 * values[lower] + h10 * width * derivatives[lower] + h01 * values[upper] +
+                h11 * width * derivatives[upper];
+    }
+
+    private interface Function2D {
+        double apply(double x, double z);
+    }
+
+    private interface Function3D {
+        double apply(double x, double y, double z);
+    }
+
+    private static final class TestNoise extends Noise {
+
+        private TestNoise() {
+            super("test", Key.key("orbis:test"), 0, 1);
+        }
+
+        @Override
+        public double noise(double x) {
+            return Math.sin(x * 0.1);
+        }
+
+        @Override
+        public double noise(double x, double z) {
+            return Math.sin(x * 0.1) * Math.cos(z * 0.07);
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            return Math.sin(x * 0.1) * Math.cos(y * 0.05) * Math.cos(z * 0.07);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The list wrappers and the consumers must gather the same points, and filtering while gathering must keep the same
+ * points as removing the out of range points from the unfiltered list afterwards.
+ */
+public class ChunkPointGathererTest {
+
+    private static final double CHUNK_RADIUS_RATIO = Math.sqrt(1.0 / 2.0);
+    private static final int HALF_CHUNK_WIDTH = 8;
+
+    @Test
+    public void testListMatchesConsumer() {
+        for (double frequency : new double[]{0.003, 0.01, 0.05}) {
+            final PointGatherer<Void> gatherer = new PointGatherer<>(frequency, 100);
+            for (int x = -600; x < 600; x += 37) {
+                for (int z = -600; z < 600; z += 41) {
+                    final PointBuffer expected = new PointBuffer(gatherer.maxPoints());
+                    gatherer.gatherPoints(1234L, x, z, expected);
+                    assertSamePoints(expected, gatherer.getPoints(1234L, x, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsRemovingOutOfRange() {
+        for (double frequency : new double[]{0.003, 0.01, 0.05}) {
+            for (double radius : new double[]{0, 20, 100}) {
+                final ChunkPointGatherer<Void> gatherer = new ChunkPointGatherer<>(frequency, radius);
+                final PointGatherer<Void> unfiltered = new PointGatherer<>(frequency,
+                        radius + 16 * CHUNK_RADIUS_RATIO);
+                for (int chunkX = -40; chunkX < 40; chunkX += 3) {
+                    for (int chunkZ = -40; chunkZ < 40; chunkZ += 3) {
+                        final int centerX = (chunkX << 4) + HALF_CHUNK_WIDTH;
+                        final int centerZ = (chunkZ << 4) + HALF_CHUNK_WIDTH;
+                        final List<GatheredPoint<Void>> expected = removeOutOfRange(
+                                unfiltered.getPoints(1234L, centerX, centerZ), centerX, centerZ, radius);
+
+                        final PointBuffer points = new PointBuffer(gatherer.maxPoints());
+                        gatherer.gatherPointsFromChunkBase(1234L, chunkX << 4, chunkZ << 4, points);
+                        assertSamePoints(points, expected);
+                        assertSamePoints(points, gatherer.getPointsFromChunkBase(1234L, chunkX << 4,
+                                chunkZ << 4));
+                        assertSamePoints(points, gatherer.getPointsFromChunkCenter(1234L, centerX, centerZ));
+                    }
+                }
+            }
+        }
+    }
+
+    // The filter the chunk gatherer used before it filtered while gathering, swaps out of range points with the last.
+    private static List<GatheredPoint<Void>> removeOutOfRange(List<GatheredPoint<Void>> points, int centerX,
+                                                              int centerZ, double radius) {
+        final List<GatheredPoint<Void>> worldPoints = new ArrayList<>(points);
+        for (int i = 0; i < worldPoints.size(); i++) {
+            final GatheredPoint<Void> point = worldPoints.get(i);
+            final double axisX = Math.abs(point.getX() - centerX) - HALF_CHUNK_WIDTH;
+            final double axisZ = Math.abs(point.getZ() - centerZ) - HALF_CHUNK_WIDTH;
+            if (axisX >= radius || axisZ >= radius || (axisX > 0 && axisZ > 0 &&
+                    axisX * axisX + axisZ * axisZ >= radius * radius)) {
+                final int lastIndex = worldPoints.size() - 1;
+                worldPoints.set(i, worldPoints.get(lastIndex));
+                worldPoints.remove(lastIndex);
+                i--;
+            }
+        }
+        return worldPoints;
+    }
+
+    private static void assertSamePoints(PointBuffer expected, List<GatheredPoint<Void>> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (GatheredPoint<Void> point : actual) {
+            assertTrue(contains(expected, point.getX(), point.getZ(), point.getHash()));
+        }
+    }
+
+    private static boolean contains(PointBuffer points, double x, double z, int hash) {
+        for (int i = 0; i < points.size(); i++) {
+            if (points.hashes()[i] == hash && points.xs()[i] == x && points.zs()[i] == z) return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The grid queries only search the cells around a position, which must give the same distances as comparing every
+ * point, also for positions outside the grid.
+ */
+public class PointGridTest {
+
+    private static final int K = 4;
+
+    @Test
+    public void testNearest() {
+        final Random random = new Random(42);
+        for (PointGrid grid : grids(random)) {
+            final int[] out = new int[K];
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 600 - 300;
+                final double z = random.nextDouble() * 600 - 300;
+                final double[] distances = sortedDistances(grid, x, z);
+                final int nearest = grid.nearest(x, z);
+                assertEquals(distances[0], nearest < 0 ? Double.POSITIVE_INFINITY :
+                        grid.distanceSquared(nearest, x, z));
+
+                final int count = grid.nearestK(x, z, K, out);
+                assertEquals(Math.min(K, grid.size()), count);
+                for (int j = 0; j < count; j++) {
+                    assertEquals(distances[j], grid.distanceSquared(out[j], x, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFilteredNearest() {
+        final Random random = new Random(7);
+        for (PointGrid grid : grids(random)) {
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 600 - 300;
+                final double z = random.nextDouble() * 600 - 300;
+                double expected = Double.POSITIVE_INFINITY;
+                for (int j = 0; j < grid.size(); j++) {
+                    if ((grid.hash(j) & 3) == 0) expected = Math.min(expected, grid.distanceSquared(j, x, z));
+                }
+                final int nearest = grid.nearest(x, z, j -> (grid.hash(j) & 3) == 0);
+                assertEquals(expected, nearest < 0 ? Double.POSITIVE_INFINITY :
+                        grid.distanceSquared(nearest, x, z));
+            }
+        }
+    }
+
+    @Test
+    public void testNearestExcluding() {
+        final Random random = new Random(11);
+        for (PointGrid grid : grids(random)) {
+            final int[] labels = new int[grid.size()];
+            for (int j = 0; j < grid.size(); j++) {
+                labels[j] = grid.hash(j) & 3;
+            }
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 600 - 300;
+                final double z = random.nextDouble() * 600 - 300;
+                final int excluded = random.nextInt(4);
+                final int expected = grid.nearest(x, z, j -> labels[j] != excluded);
+                final int nearest = grid.nearestExcluding(x, z, labels, excluded);
+                assertEquals(expected < 0 ? Double.POSITIVE_INFINITY : grid.distanceSquared(expected, x, z),
+                        nearest < 0 ? Double.POSITIVE_INFINITY : grid.distanceSquared(nearest, x, z));
+            }
+        }
+    }
+
+    @Test
+    public void testWithinRadius() {
+        final Random random = new Random(3);
+        for (PointGrid grid : grids(random)) {
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 600 - 300;
+                final double z = random.nextDouble() * 600 - 300;
+                final double radius = random.nextDouble() * 80;
+                int expected = 0;
+                for (int j = 0; j < grid.size(); j++) {
+                    if (grid.distanceSquared(j, x, z) <= radius * radius) expected++;
+                }
+                final PointBuffer points = new PointBuffer(16);
+                grid.withinRadius(x, z, radius, points);
+                assertEquals(expected, points.size());
+            }
+        }
+    }
+
+    private static PointGrid[] grids(Random random) {
+        final PointGrid[] grids = new PointGrid[4];
+        for (int i = 0; i < grids.length; i++) {
+            final PointBuffer points = new PointBuffer(16);
+            final int size = i * i * 50;
+            for (int j = 0; j < size; j++) {
+                points.accept(random.nextDouble() * 400 - 200, random.nextDouble() * 400 - 200, random.nextInt());
+            }
+            grids[i] = PointGrid.of(points, 8 << i);
+        }
+        return grids;
+    }
+
+    private static double[] sortedDistances(PointGrid grid, double x, double z) {
+        final double[] distances = new double[Math.max(1, grid.size())];
+        distances[0] = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < grid.size(); i++) {
+            distances[i] = grid.distanceSquared(i, x, z);
+        }
+        Arrays.sort(distances);
+        return distances;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.point;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The region cache positions points from their absolute lattice vertex instead of relative to the chunk, so the
+ * coordinates may differ in the last bits, but it must gather the same points as the chunk gatherer.
+ */
+public class PointRegionCacheTest {
+
+    private static final double TOLERANCE = 1e-7;
+
+    @Test
+    public void testSamePoints() {
+        for (double frequency : new double[]{0.003, 0.01, 0.05}) {
+            for (double radius : new double[]{0, 20, 100}) {
+                final ChunkPointGatherer<Void> gatherer = new ChunkPointGatherer<>(frequency, radius);
+                final PointRegionCache cache = new PointRegionCache(frequency, radius);
+                for (int chunkX = -40; chunkX < 40; chunkX += 3) {
+                    for (int chunkZ = -40; chunkZ < 40; chunkZ += 3) {
+                        final PointBuffer expected = new PointBuffer(16);
+                        final PointBuffer actual = new PointBuffer(16);
+                        gatherer.gatherPointsFromChunkBase(1234L, chunkX << 4, chunkZ << 4, expected);
+                        cache.gatherPointsFromChunkBase(1234L, chunkX << 4, chunkZ << 4, actual);
+                        assertEquals(expected.size(), actual.size());
+                        for (int i = 0; i < expected.size(); i++) {
+                            assertTrue(contains(actual, expected.xs()[i], expected.zs()[i], expected.hashes()[i]));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean contains(PointBuffer points, double x, double z, int hash) {
+        for (int i = 0; i < points.size(); i++) {
+            if (points.hashes()[i] == hash && Math.abs(points.xs()[i] - x) < TOLERANCE &&
+                    Math.abs(points.zs()[i] - z) < TOLERANCE) return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.surface.defaults;
+
+import com.azortis.orbis.generator.biome.Biome;
+import com.azortis.orbis.generator.noise.Noise;
+import com.azortis.orbis.generator.surface.Surface;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The layers of a config surface are compiled to a single expression when the pack is loaded, which must give the
+ * same heights as summing the layers one by one.
+ */
+public class ConfigSurfaceTest {
+
+    private static final int BASE_HEIGHT = 64;
+    private static final double[][] LAYERS = {{40, 400}, {12, 120}, {-6, 45}, {3, 20}, {1.5, 9}, {0.5, 3}};
+
+    @Test
+    public void testCompiledLayers() throws ReflectiveOperationException {
+        final TestNoise noise = new TestNoise();
+        final ConfigSurface surface = surface(noise, LAYERS, 0d);
+        for (int x = -300; x < 300; x += 7) {
+            for (int z = -300; z < 300; z += 11) {
+                double height = 0;
+                for (double[] layer : LAYERS) {
+                    height += (noise.noise(x / layer[1], z / layer[1]) * layer[0]);
+                }
+                assertEquals(BASE_HEIGHT + height, surface.sampleHeight(x, z));
+            }
+        }
+    }
+
+    @Test
+    public void testInterpolatedWithinError() throws ReflectiveOperationException {
+        final TestNoise noise = new TestNoise();
+        final ConfigSurface surface = surface(noise, LAYERS, 0.05);
+        final Field samplers = ConfigSurface.class.getDeclaredField("samplers");
+        samplers.setAccessible(true);
+        assertTrue(((Object[]) samplers.get(surface)).length > 0, "No layers were interpolated");
+        for (int x = -2000; x < 2000; x += 7) {
+            for (int z = -2000; z < 2000; z += 11) {
+                double height = 0;
+                for (double[] layer : LAYERS) {
+                    height += (noise.noise(x / layer[1], z / layer[1]) * layer[0]);
+                }
+                assertEquals(BASE_HEIGHT + height, surface.sampleHeight(x, z), 0.05);
+            }
+        }
+    }
+
+    @Test
+    public void testBlockHeightIsFloorOfSurfaceHeight() throws ReflectiveOperationException {
+        final double[][][] layerSets = {
+                {{40, 400}, {-16, 150}, {8, 60}, {4, 25}, {2, 11}},
+                {{32, 400}, {16, 150}, {-8, 60}, {4, 25}, {2, 11}, {1, 5}, {0.5, 3}, {0.25, 2}},
+                {{24, 300}, {12, 90}, {6, 40}, {-3, 17}, {1.5, 7}, {0.75, 3}}
+        };
+        final QuantizedNoise noise = new QuantizedNoise();
+        for (double[][] layers : layerSets) {
+            for (Double interpolationError : new Double[]{0d, null}) {
+                final ConfigSurface surface = surface(noise, layers, interpolationError);
+                int nearInteger = 0;
+                for (int x = -600; x < 600; x += 3) {
+                    for (int z = -600; z < 600; z += 5) {
+                        final double height = surface.sampleHeight(x, z);
+                        if (Math.abs(height - Math.rint(height)) < 1e-9) nearInteger++;
+                        assertEquals((int) Math.floor(height), surface.blockHeight(x, z),
+                                layers.length + " layers at " + x + "," + z + " with height " + height);
+                    }
+                }
+                assertTrue(nearInteger > 0, "No heights near a block boundary were tested");
+            }
+        }
+    }
+
+    static ConfigSurface surface(Noise noise, double[][] layers, Double interpolationError)
+            throws ReflectiveOperationException {
+        final Constructor<?> layerConstructor = Class.forName(ConfigSurface.class.getName() + "$NoiseLayer")
+                .getDeclaredConstructor();
+        layerConstructor.setAccessible(true);
+        final List<Object> layerList = new ArrayList<>();
+        for (double[] layer : layers) {
+            final Object noiseLayer = layerConstructor.newInstance();
+            set(noiseLayer, "coefficient", layer[0]);
+            set(noiseLayer, "zoom", layer[1]);
+            layerList.add(noiseLayer);
+        }
+
+        final Constructor<ConfigSurface> constructor = ConfigSurface.class.getDeclaredConstructor(String.class,
+                Key.class, String.class, List.class, Double.class);
+        constructor.setAccessible(true);
+        final ConfigSurface surface = constructor.newInstance("test", Key.key("orbis:config"), "test", layerList,
+                interpolationError);
+        set(surface, "noise", noise);
+        final Field biome = Surface.class.getDeclaredField("biome");
+        biome.setAccessible(true);
+        biome.set(surface, new Biome("test", Key.key("orbis:test"), "test", BASE_HEIGHT, null, null));
+
+        final Method compile = ConfigSurface.class.getDeclaredMethod("compileLayers");
+        compile.setAccessible(true);
+        compile.invoke(surface);
+        return surface;
+    }
+
+    private static void set(Object object, String name, Object value) throws ReflectiveOperationException {
+        final Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(object, value);
+    }
+
+    // Noise in steps of an eighth, so the layers add up to whole blocks often. Those heights are then moved off the
+    // block boundary by a few ulps, where the order the layers are summed in decides the block.
+    static final class QuantizedNoise extends Noise {
+
+        QuantizedNoise() {
+            super("test", Key.key("orbis:test"), 0, 1);
+        }
+
+        @Override
+        public double bound() {
+            return 1;
+        }
+
+        @Override
+        public double noise(double x) {
+            return noise(x, 0);
+        }
+
+        @Override
+        public double noise(double x, double z) {
+            final double value = Math.rint(7 * Math.sin(x * 1.9 + Math.cos(z * 1.1)) * Math.cos(z * 1.3)) / 8;
+            final long bits = Double.doubleToLongBits(x * 31 + z);
+            return value + ((bits >>> 7) % 5 - 2) * 1e-16;
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            return noise(x + y, z);
+        }
+    }
+
+    // Bounded like the simplex noises, so the layers can be culled and interpolated in the same way.
+    static final class TestNoise extends Noise {
+
+        TestNoise() {
+            super("test", Key.key("orbis:test"), 0, 1);
+        }
+
+        @Override
+        public double bound() {
+            return 1;
+        }
+
+        // Worked out with the product & chain rule, the z-axis has the largest third derivative.
+        @Override
+        public double thirdDerivativeBound() {
+            return 15;
+        }
+
+        @Override
+        public double noise(double x) {
+            return Math.sin(x);
+        }
+
+        @Override
+        public double noise(double x, double z) {
+            return 0.6 * Math.sin(x * 1.7 + Math.cos(z * 0.9)) * Math.cos(z * 1.3) +
+                    0.4 * Math.sin(z * 2.3 - x * 0.7);
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            return noise(x + y, z);
+        }
+    }
+
+}
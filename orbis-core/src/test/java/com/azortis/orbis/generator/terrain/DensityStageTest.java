@@ -0,0 +1,183 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.terrain;
+
+import com.azortis.orbis.block.ConfiguredBlock;
+import com.azortis.orbis.generator.noise.Noise;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The interpolated terrain must match evaluating the density directly, and cells away from the surface must not
+ * sample the noise.
+ */
+public class DensityStageTest {
+
+    private static final int ORIGIN_X = 32;
+    private static final int ORIGIN_Z = -16;
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 319;
+    private static final double AMPLITUDE = 12;
+
+    @Test
+    public void testLinearDensityMatchesDirect() throws ReflectiveOperationException {
+        // Trilinear interpolation of a linear density is exact, so every block must match the direct density.
+        final TestNoise noise = new TestNoise((x, y, z) -> 0.002 * x + 0.002 * y - 0.003 * z);
+        final DoubleBinaryOperator surface = (x, z) -> 70 + 0.5 * x - 0.25 * z;
+        for (int[] cellSize : new int[][]{{4, 8}, {2, 4}, {8, 16}, {16, 3}}) {
+            final DensityStage stage = stage(noise, cellSize[0], cellSize[1]);
+            final boolean[] solid = generate(stage, surface, cellSize[0]);
+            for (int y = MIN_Y; y <= MAX_Y; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        final int blockX = ORIGIN_X + x;
+                        final int blockZ = ORIGIN_Z + z;
+                        final double density = surface.applyAsDouble(blockX, blockZ) - y +
+                                AMPLITUDE * noise.noise(blockX, y, blockZ);
+                        if (Math.abs(density) < 1e-9) continue;
+                        assertEquals(density > 0, solid[index(x, y, z)],
+                                "Cell size " + cellSize[0] + "x" + cellSize[1] + " at " + x + "," + y + "," + z);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCornersMatchDirect() throws ReflectiveOperationException {
+        final TestNoise noise = new TestNoise((x, y, z) -> Math.sin(x * 0.21 + y * 0.17) * Math.cos(z * 0.13 - y * 0.05));
+        final DoubleBinaryOperator surface = (x, z) -> 64 + 9 * Math.sin(x * 0.1) + 7 * Math.cos(z * 0.08);
+        final DensityStage stage = stage(noise, 4, 8);
+        final boolean[] solid = generate(stage, surface, 4);
+        for (int y = MIN_Y; y <= MAX_Y; y += 8) {
+            for (int z = 0; z < 16; z += 4) {
+                for (int x = 0; x < 16; x += 4) {
+                    final int blockX = ORIGIN_X + x;
+                    final int blockZ = ORIGIN_Z + z;
+                    final double density = surface.applyAsDouble(blockX, blockZ) - y +
+                            AMPLITUDE * noise.noise(blockX, y, blockZ);
+                    assertEquals(density > 0, solid[index(x, y, z)], "Corner at " + x + "," + y + "," + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSkipsCellsAwayFromSurface() throws ReflectiveOperationException {
+        final TestNoise noise = new TestNoise((x, y, z) -> Math.sin(x + y + z));
+        final DensityStage stage = stage(noise, 4, 8);
+        final boolean[] solid = generate(stage, (x, z) -> 64, 4);
+
+        // The surface is flat at 64, so only the cells from 48 up to 80 can contain both solid & air blocks.
+        assertTrue(noise.samples > 0);
+        assertEquals(48, noise.minY);
+        assertEquals(80, noise.maxY);
+        for (int y = MIN_Y; y <= MAX_Y; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (y < 48) assertTrue(solid[index(x, y, z)], "Air below the surface at " + x + "," + y + "," + z);
+                    else if (y >= 80) assertFalse(solid[index(x, y, z)], "Solid above the surface at " + y);
+                }
+            }
+        }
+    }
+
+    private static boolean[] generate(DensityStage stage, DoubleBinaryOperator surface, int cellWidth) {
+        final int cornersXZ = 16 / cellWidth + 1;
+        final double[] surfaces = new double[cornersXZ * cornersXZ];
+        for (int cz = 0, i = 0; cz < cornersXZ; cz++) {
+            for (int cx = 0; cx < cornersXZ; cx++, i++) {
+                surfaces[i] = surface.applyAsDouble(ORIGIN_X + cx * cellWidth, ORIGIN_Z + cz * cellWidth);
+            }
+        }
+        final boolean[] solid = new boolean[16 * 16 * (MAX_Y - MIN_Y + 1)];
+        stage.generate(ORIGIN_X, ORIGIN_Z, MIN_Y, MAX_Y, surfaces, (x, y, z) -> {
+            assertTrue(x >= 0 && x < 16 && z >= 0 && z < 16 && y >= MIN_Y && y <= MAX_Y,
+                    "Block outside of the chunk at " + x + "," + y + "," + z);
+            solid[index(x, y, z)] = true;
+        });
+        return solid;
+    }
+
+    private static int index(int x, int y, int z) {
+        return ((y - MIN_Y) * 16 + z) * 16 + x;
+    }
+
+    private static DensityStage stage(Noise noise, int cellWidth, int cellHeight) throws ReflectiveOperationException {
+        final Constructor<DensityStage> constructor = DensityStage.class.getDeclaredConstructor(Key.class,
+                String.class, double.class, ConfiguredBlock.class, int.class, int.class);
+        constructor.setAccessible(true);
+        final DensityStage stage = constructor.newInstance(Key.key("orbis:density"), "test", AMPLITUDE, null,
+                cellWidth, cellHeight);
+        final Field field = DensityStage.class.getDeclaredField("noise");
+        field.setAccessible(true);
+        field.set(stage, noise);
+        return stage;
+    }
+
+    @FunctionalInterface
+    private interface Density {
+        double sample(double x, double y, double z);
+    }
+
+    private static final class TestNoise extends Noise {
+
+        private final Density density;
+        private int samples;
+        private double minY = Double.POSITIVE_INFINITY;
+        private double maxY = Double.NEGATIVE_INFINITY;
+
+        private TestNoise(Density density) {
+            super("test", Key.key("orbis:test"), 0, 1);
+            this.density = density;
+        }
+
+        @Override
+        public double bound() {
+            return 1;
+        }
+
+        @Override
+        public double noise(double x) {
+            return density.sample(x, 0, 0);
+        }
+
+        @Override
+        public double noise(double x, double z) {
+            return density.sample(x, 0, z);
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            samples++;
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+            return density.sample(x, y, z);
+        }
+    }
+
+}
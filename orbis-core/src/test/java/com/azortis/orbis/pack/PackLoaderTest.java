@@ -0,0 +1,150 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.pack;
+
+import com.azortis.orbis.entity.Player;
+import com.azortis.orbis.generator.Dimension;
+import com.azortis.orbis.generator.framework.ChunkSnapshot;
+import com.azortis.orbis.generator.framework.ChunkStage;
+import com.azortis.orbis.world.ChunkAccess;
+import com.azortis.orbis.world.World;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The elements of the collections that are declared inline in the dimension, like the stages, must be injected.
+ */
+public class PackLoaderTest {
+
+    @Test
+    public void testCollectionInjection() throws ReflectiveOperationException, IOException {
+        final World world = new TestWorld();
+        final Dimension dimension = new Dimension("test");
+        final TestStage first = new TestStage();
+        final TestStage second = new TestStage();
+        final List<Object> stages = new ArrayList<>();
+        stages.add(first);
+        stages.add(null);
+        stages.add("not injected");
+        stages.add(second);
+
+        PackLoader.collectionInjection(world, dimension, stages);
+        for (TestStage stage : List.of(first, second)) {
+            assertSame(world, stage.world);
+            assertSame(dimension, stage.dimension);
+            assertEquals(1, stage.setups);
+        }
+    }
+
+    @Test
+    public void testMissingCollection() throws ReflectiveOperationException, IOException {
+        // Collections that aren't in the dimension file are null, which isn't an error.
+        PackLoader.collectionInjection(new TestWorld(), new Dimension("test"), null);
+    }
+
+    private static final class TestStage extends ChunkStage {
+
+        @Inject
+        private transient World world;
+
+        @Inject
+        private transient Dimension dimension;
+
+        private int setups;
+
+        private TestStage() {
+            super(Key.key("orbis:test"));
+        }
+
+        @Invoke
+        @SuppressWarnings("unused")
+        private void setup() {
+            setups++;
+        }
+
+        @Override
+        public void apply(@NotNull ChunkSnapshot snapshot, @NotNull RandomGenerator random) {
+        }
+    }
+
+    private static final class TestWorld extends World {
+
+        private TestWorld() {
+            super("test", new File("build/tmp/pack-loader-test"));
+        }
+
+        @Override
+        public boolean isWorldLoaded() {
+            return false;
+        }
+
+        @Override
+        public int minHeight() {
+            return -64;
+        }
+
+        @Override
+        public int maxHeight() {
+            return 319;
+        }
+
+        @Override
+        public int viewDistance() {
+            return 0;
+        }
+
+        @Override
+        public @NotNull Set<Player> getPlayers() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isChunkGenerated(int chunkX, int chunkZ) {
+            return false;
+        }
+
+        @Override
+        public boolean isChunkLoaded(int chunkX, int chunkZ) {
+            return false;
+        }
+
+        @Override
+        public @NotNull Set<ChunkAccess> getLoadedChunks() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public @NotNull ChunkAccess getChunk(int chunkX, int chunkZ) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -0,0 +1,492 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.generator.noise;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static com.azortis.orbis.generator.noise.FastNoise.Gradients2D;
+import static com.azortis.orbis.generator.noise.FastNoise.Gradients3D;
+import static com.azortis.orbis.generator.noise.FastNoise.PrimeX;
+import static com.azortis.orbis.generator.noise.FastNoise.PrimeY;
+import static com.azortis.orbis.generator.noise.FastNoise.PrimeZ;
+
+/**
+ * The {@link VectorKernels} implementation using the Vector API. Lattice coordinates and hashes are kept in long
+ * lanes so they line up with the double lanes, only the lower 32 bits are used so the int arithmetic of the scalar
+ * code is reproduced exactly. Branches of the scalar code are evaluated for every lane and blended, which selects
+ * the exact same values.
+ * <p>
+ * The kernels are written out in full on purpose, C2 stops inlining once a method grows large and vectors passed to
+ * a call that isn't inlined are boxed on the heap, which is slower than the scalar code. Only the gradient lookups
+ * are calls, and those only exchange arrays. For the same reason conversions between doubles and longs, which aren't
+ * intrinsified on every JDK, are replaced by rounding with {@link #ROUND_MAGIC}. This is exact as long as the lattice
+ * coordinates fit in an int, which is the range in which the scalar code doesn't overflow either.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+final class VectorizedNoise implements VectorKernels {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    // Adding 1.5 * 2^52 rounds to the nearest integer and leaves it in the low mantissa bits.
+    private static final double ROUND_MAGIC = 0x1.8p52;
+    private static final long ROUND_MAGIC_BITS = Double.doubleToRawLongBits(ROUND_MAGIC);
+
+    // OpenSimplex2 2D, see FastNoise#singleSimplex
+    private static final double SIMPLEX_SQRT3 = 1.7320508075688772935274463415059f;
+    private static final double SIMPLEX_G2 = (3 - SIMPLEX_SQRT3) / 6;
+    private static final double SIMPLEX_C_T = (double) (2 * (1 - 2 * SIMPLEX_G2) * (1 / SIMPLEX_G2 - 2));
+    private static final double SIMPLEX_C_A = (double) (-2 * (1 - 2 * SIMPLEX_G2) * (1 - 2 * SIMPLEX_G2));
+
+    // OpenSimplex2S 2D, see FastNoise#singleOpenSimplex2S
+    private static final double S_SQRT3 = (double) 1.7320508075688772935274463415059;
+    private static final double S_G2 = (3 - S_SQRT3) / 6;
+    private static final double S_C_T = (double) (2 * (1 - 2 * S_G2) * (1 / S_G2 - 2));
+    private static final double S_C_A = (double) (-2 * (1 - 2 * S_G2) * (1 - 2 * S_G2));
+    private static final double S_A = 2.0f / 3.0f;
+
+    VectorizedNoise() {
+        if (DOUBLES.length() != LONGS.length()) {
+            throw new IllegalStateException("Double and long vectors don't have the same amount of lanes");
+        }
+    }
+
+    @Override
+    public int lanes() {
+        return DOUBLES.length();
+    }
+
+    @Override
+    public void openSimplex2(long seed, @NotNull double[] xs, @NotNull double[] ys, @NotNull double[] out,
+                             int size) {
+        final Scratch scratch = new Scratch();
+        final int bound = DOUBLES.loopBound(size);
+        simplex(seed, xs, ys, out, bound, scratch);
+        if (bound < size) {
+            final double[] tail = new double[DOUBLES.length()];
+            simplex(seed, pad(xs, bound), pad(ys, bound), tail, tail.length, scratch);
+            System.arraycopy(tail, 0, out, bound, size - bound);
+        }
+    }
+
+    @Override
+    public void openSimplex2S(long seed, @NotNull double[] xs, @NotNull double[] ys, @NotNull double[] out,
+                              int size) {
+        final Scratch scratch = new Scratch();
+        final int bound = DOUBLES.loopBound(size);
+        openSimplex2S(seed, xs, ys, out, bound, scratch);
+        if (bound < size) {
+            final double[] tail = new double[DOUBLES.length()];
+            openSimplex2S(seed, pad(xs, bound), pad(ys, bound), tail, tail.length, scratch);
+            System.arraycopy(tail, 0, out, bound, size - bound);
+        }
+    }
+
+    @Override
+    public void openSimplex2(long seed, @NotNull double[] xs, @NotNull double[] ys, @NotNull double[] zs,
+                             @NotNull double[] out, int size) {
+        final Scratch scratch = new Scratch();
+        final int bound = DOUBLES.loopBound(size);
+        openSimplex2(seed, xs, ys, zs, out, bound, scratch);
+        if (bound < size) {
+            final double[] tail = new double[DOUBLES.length()];
+            openSimplex2(seed, pad(xs, bound), pad(ys, bound), pad(zs, bound), tail, tail.length, scratch);
+            System.arraycopy(tail, 0, out, bound, size - bound);
+        }
+    }
+
+    // Copies the remaining coordinates into an array of exactly one vector, padded with zeroes.
+    private static double[] pad(@NotNull double[] values, int from) {
+        return Arrays.copyOfRange(values, from, from + DOUBLES.length());
+    }
+
+    private static void simplex(long seed, double[] xs, double[] ys, double[] out, int bound, Scratch scratch) {
+        final long seedA = (int) (seed & 0xFFFFFFFFL);
+        final long seedB = (int) (seed >> 32);
+        for (int index = 0; index < bound; index += DOUBLES.length()) {
+            final DoubleVector x = DoubleVector.fromArray(DOUBLES, xs, index);
+            final DoubleVector y = DoubleVector.fromArray(DOUBLES, ys, index);
+
+            // fastFloor, f >= 0 ? (int) f : (int) f - 1
+            DoubleVector xNearest = x.add(ROUND_MAGIC).sub(ROUND_MAGIC);
+            DoubleVector yNearest = y.add(ROUND_MAGIC).sub(ROUND_MAGIC);
+            xNearest = xNearest.sub(1, xNearest.compare(VectorOperators.GT, x)
+                    .or(xNearest.compare(VectorOperators.EQ, x).and(x.compare(VectorOperators.LT, 0))));
+            yNearest = yNearest.sub(1, yNearest.compare(VectorOperators.GT, y)
+                    .or(yNearest.compare(VectorOperators.EQ, y).and(y.compare(VectorOperators.LT, 0))));
+            final DoubleVector xi = x.sub(xNearest);
+            final DoubleVector yi = y.sub(yNearest);
+
+            final DoubleVector t = xi.add(yi).mul(SIMPLEX_G2);
+            final DoubleVector x0 = xi.sub(t);
+            final DoubleVector y0 = yi.sub(t);
+
+            final LongVector i = ((LongVector) xNearest.add(ROUND_MAGIC).viewAsIntegralLanes())
+                    .sub(ROUND_MAGIC_BITS).mul(PrimeX);
+            final LongVector j = ((LongVector) yNearest.add(ROUND_MAGIC).viewAsIntegralLanes())
+                    .sub(ROUND_MAGIC_BITS).mul(PrimeY);
+
+            // First vertex
+            final DoubleVector a = DoubleVector.broadcast(DOUBLES, 0.5f).sub(x0.mul(x0)).sub(y0.mul(y0));
+            LongVector hash = i.lanewise(VectorOperators.XOR, j);
+            hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                    .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1)
+                    .intoArray(scratch.hashes, 0);
+            scratch.gradients2D();
+            final DoubleVector xg0 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+            final DoubleVector yg0 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+            final DoubleVector aa = a.mul(a);
+            final DoubleVector n0 = DoubleVector.zero(DOUBLES).blend(aa.mul(aa).mul(x0.mul(xg0).add(y0.mul(yg0))),
+                    a.compare(VectorOperators.GT, 0));
+
+            // Third vertex
+            final DoubleVector c = t.mul(SIMPLEX_C_T).add(a.add(SIMPLEX_C_A));
+            final DoubleVector x2 = x0.add(2 * (double) SIMPLEX_G2 - 1);
+            final DoubleVector y2 = y0.add(2 * (double) SIMPLEX_G2 - 1);
+            hash = i.add(PrimeX).lanewise(VectorOperators.XOR, j.add(PrimeY));
+            hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                    .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1)
+                    .intoArray(scratch.hashes, 0);
+            scratch.gradients2D();
+            final DoubleVector xg1 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+            final DoubleVector yg1 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+            final DoubleVector cc = c.mul(c);
+            final DoubleVector n2 = DoubleVector.zero(DOUBLES).blend(cc.mul(cc).mul(x2.mul(xg1).add(y2.mul(yg1))),
+                    c.compare(VectorOperators.GT, 0));
+
+            // Second vertex, either above or below the diagonal
+            final VectorMask<Double> upper = y0.compare(VectorOperators.GT, x0);
+            final DoubleVector x1 = x0.add(DoubleVector.broadcast(DOUBLES, (double) SIMPLEX_G2 - 1)
+                    .blend(SIMPLEX_G2, upper));
+            final DoubleVector y1 = y0.add(DoubleVector.broadcast(DOUBLES, (double) SIMPLEX_G2)
+                    .blend((double) SIMPLEX_G2 - 1, upper));
+            final DoubleVector b = DoubleVector.broadcast(DOUBLES, 0.5f).sub(x1.mul(x1)).sub(y1.mul(y1));
+            final VectorMask<Long> upperLong = upper.cast(LONGS);
+            hash = i.add(LongVector.broadcast(LONGS, PrimeX).blend(0, upperLong))
+                    .lanewise(VectorOperators.XOR, j.add(LongVector.zero(LONGS).blend(PrimeY, upperLong)));
+            hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                    .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1)
+                    .intoArray(scratch.hashes, 0);
+            scratch.gradients2D();
+            final DoubleVector xg2 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+            final DoubleVector yg2 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+            final DoubleVector bb = b.mul(b);
+            final DoubleVector n1 = DoubleVector.zero(DOUBLES).blend(bb.mul(bb).mul(x1.mul(xg2).add(y1.mul(yg2))),
+                    b.compare(VectorOperators.GT, 0));
+
+            n0.add(n1).add(n2).mul(99.83685446303647f).intoArray(out, index);
+        }
+    }
+
+    private static void openSimplex2S(long seed, double[] xs, double[] ys, double[] out, int bound,
+                                      Scratch scratch) {
+        final long seedA = (int) (seed & 0xFFFFFFFFL);
+        final long seedB = (int) (seed >> 32);
+        for (int index = 0; index < bound; index += DOUBLES.length()) {
+            final DoubleVector x = DoubleVector.fromArray(DOUBLES, xs, index);
+            final DoubleVector y = DoubleVector.fromArray(DOUBLES, ys, index);
+
+            // fastFloor, f >= 0 ? (int) f : (int) f - 1
+            DoubleVector xNearest = x.add(ROUND_MAGIC).sub(ROUND_MAGIC);
+            DoubleVector yNearest = y.add(ROUND_MAGIC).sub(ROUND_MAGIC);
+            xNearest = xNearest.sub(1, xNearest.compare(VectorOperators.GT, x)
+                    .or(xNearest.compare(VectorOperators.EQ, x).and(x.compare(VectorOperators.LT, 0))));
+            yNearest = yNearest.sub(1, yNearest.compare(VectorOperators.GT, y)
+                    .or(yNearest.compare(VectorOperators.EQ, y).and(y.compare(VectorOperators.LT, 0))));
+            final DoubleVector xi = x.sub(xNearest);
+            final DoubleVector yi = y.sub(yNearest);
+
+            final LongVector i = ((LongVector) xNearest.add(ROUND_MAGIC).viewAsIntegralLanes())
+                    .sub(ROUND_MAGIC_BITS).mul(PrimeX);
+            final LongVector j = ((LongVector) yNearest.add(ROUND_MAGIC).viewAsIntegralLanes())
+                    .sub(ROUND_MAGIC_BITS).mul(PrimeY);
+
+            final DoubleVector t = xi.add(yi).mul((double) S_G2);
+            final DoubleVector x0 = xi.sub(t);
+            final DoubleVector y0 = yi.sub(t);
+
+            // First vertex
+            final DoubleVector a0 = DoubleVector.broadcast(DOUBLES, S_A).sub(x0.mul(x0)).sub(y0.mul(y0));
+            LongVector hash = i.lanewise(VectorOperators.XOR, j);
+            hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                    .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1)
+                    .intoArray(scratch.hashes, 0);
+            scratch.gradients2D();
+            final DoubleVector xg0 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+            final DoubleVector yg0 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+            final DoubleVector aa0 = a0.mul(a0);
+            DoubleVector value = aa0.mul(aa0).mul(x0.mul(xg0).add(y0.mul(yg0)));
+
+            // Second vertex
+            final DoubleVector a1 = t.mul(S_C_T).add(a0.add(S_C_A));
+            final DoubleVector x1 = x0.sub((double) (1 - 2 * S_G2));
+            final DoubleVector y1 = y0.sub((double) (1 - 2 * S_G2));
+            hash = i.add(PrimeX).lanewise(VectorOperators.XOR, j.add(PrimeY));
+            hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                    .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1)
+                    .intoArray(scratch.hashes, 0);
+            scratch.gradients2D();
+            final DoubleVector xg1 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+            final DoubleVector yg1 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+            final DoubleVector aa1 = a1.mul(a1);
+            value = value.add(aa1.mul(aa1).mul(x1.mul(xg1).add(y1.mul(yg1))));
+
+            // The four cases of the scalar code, each lane selects the offsets of its case.
+            final DoubleVector xmyi = xi.sub(yi);
+            final VectorMask<Double> upper = t.compare(VectorOperators.GT, S_G2);
+            final VectorMask<Double> lower = upper.not();
+            final VectorMask<Long> upperLong = upper.cast(LONGS);
+
+            // Third vertex
+            final VectorMask<Double> thirdFar = upper.and(xi.add(xmyi).compare(VectorOperators.GT, 1))
+                    .or(lower.and(xi.add(xmyi).compare(VectorOperators.LT, 0)));
+            final VectorMask<Long> thirdFarLong = thirdFar.cast(LONGS);
+            // upper far (3 * G2 - 2, 3 * G2 - 1), upper near (G2, G2 - 1),
+            // lower far (1 - G2, -G2), lower near (G2 - 1, G2)
+            final DoubleVector x2 = x0.add(DoubleVector.broadcast(DOUBLES, (double) (S_G2 - 1))
+                    .blend((double) S_G2, upper).blend((double) (1 - S_G2), thirdFar.and(lower))
+                    .blend((double) (3 * S_G2 - 2), thirdFar.and(upper)));
+            final DoubleVector y2 = y0.add(DoubleVector.broadcast(DOUBLES, (double) S_G2)
+                    .blend((double) (S_G2 - 1), upper).blend(-(double) S_G2, thirdFar.and(lower))
+                    .blend((double) (3 * S_G2 - 1), thirdFar.and(upper)));
+            final DoubleVector a2 = DoubleVector.broadcast(DOUBLES, S_A).sub(x2.mul(x2)).sub(y2.mul(y2));
+            hash = i.add(LongVector.broadcast(LONGS, PrimeX).blend(0, upperLong)
+                            .blend(-PrimeX, thirdFarLong.andNot(upperLong))
+                            .blend(PrimeX << 1, thirdFarLong.and(upperLong)))
+                    .lanewise(VectorOperators.XOR, j.add(LongVector.zero(LONGS).blend(PrimeY, upperLong)));
+            hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                    .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1)
+                    .intoArray(scratch.hashes, 0);
+            scratch.gradients2D();
+            final DoubleVector xg2 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+            final DoubleVector yg2 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+            final DoubleVector aa2 = a2.mul(a2);
+            value = value.add(aa2.mul(aa2).mul(x2.mul(xg2).add(y2.mul(yg2))),
+                    a2.compare(VectorOperators.GT, 0));
+
+            // Fourth vertex
+            final VectorMask<Double> fourthFar = upper.and(yi.sub(xmyi).compare(VectorOperators.GT, 1))
+                    .or(lower.and(yi.compare(VectorOperators.LT, xmyi)));
+            final VectorMask<Long> fourthFarLong = fourthFar.cast(LONGS);
+            // upper far (3 * G2 - 1, 3 * G2 - 2), upper near (G2 - 1, G2),
+            // lower far (-G2, -(G2 - 1)), lower near (G2, G2 - 1)
+            final DoubleVector x3 = x0.add(DoubleVector.broadcast(DOUBLES, (double) S_G2)
+                    .blend((double) (S_G2 - 1), upper).blend(-(double) S_G2, fourthFar.and(lower))
+                    .blend((double) (3 * S_G2 - 1), fourthFar.and(upper)));
+            final DoubleVector y3 = y0.add(DoubleVector.broadcast(DOUBLES, (double) (S_G2 - 1))
+                    .blend((double) S_G2, upper).blend(-(double) (S_G2 - 1), fourthFar.and(lower))
+                    .blend((double) (3 * S_G2 - 2), fourthFar.and(upper)));
+            final DoubleVector a3 = DoubleVector.broadcast(DOUBLES, S_A).sub(x3.mul(x3)).sub(y3.mul(y3));
+            hash = i.add(LongVector.zero(LONGS).blend(PrimeX, upperLong))
+                    .lanewise(VectorOperators.XOR, j.add(LongVector.broadcast(LONGS, PrimeY).blend(0, upperLong)
+                            .blend(-PrimeY, fourthFarLong.andNot(upperLong))
+                            .blend(PrimeY << 1, fourthFarLong.and(upperLong))));
+            hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                    .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1)
+                    .intoArray(scratch.hashes, 0);
+            scratch.gradients2D();
+            final DoubleVector xg3 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+            final DoubleVector yg3 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+            final DoubleVector aa3 = a3.mul(a3);
+            value = value.add(aa3.mul(aa3).mul(x3.mul(xg3).add(y3.mul(yg3))),
+                    a3.compare(VectorOperators.GT, 0));
+
+            value.mul(18.24196194486065f).intoArray(out, index);
+        }
+    }
+
+    private static void openSimplex2(long seed, double[] xs, double[] ys, double[] zs, double[] out, int bound,
+                                     Scratch scratch) {
+        for (int index = 0; index < bound; index += DOUBLES.length()) {
+            final DoubleVector x = DoubleVector.fromArray(DOUBLES, xs, index);
+            final DoubleVector y = DoubleVector.fromArray(DOUBLES, ys, index);
+            final DoubleVector z = DoubleVector.fromArray(DOUBLES, zs, index);
+
+            // fastRound, f >= 0 ? (int) (f + 0.5f) : (int) (f - 0.5f)
+            final DoubleVector xHalf = x.add(DoubleVector.broadcast(DOUBLES, -0.5f)
+                    .blend(0.5f, x.compare(VectorOperators.GE, 0)));
+            final DoubleVector yHalf = y.add(DoubleVector.broadcast(DOUBLES, -0.5f)
+                    .blend(0.5f, y.compare(VectorOperators.GE, 0)));
+            final DoubleVector zHalf = z.add(DoubleVector.broadcast(DOUBLES, -0.5f)
+                    .blend(0.5f, z.compare(VectorOperators.GE, 0)));
+            DoubleVector xRounded = xHalf.add(ROUND_MAGIC).sub(ROUND_MAGIC);
+            DoubleVector yRounded = yHalf.add(ROUND_MAGIC).sub(ROUND_MAGIC);
+            DoubleVector zRounded = zHalf.add(ROUND_MAGIC).sub(ROUND_MAGIC);
+            xRounded = xRounded.sub(1, xRounded.compare(VectorOperators.GT, xHalf)
+                    .and(xHalf.compare(VectorOperators.GE, 0)))
+                    .add(1, xRounded.compare(VectorOperators.LT, xHalf).and(xHalf.compare(VectorOperators.LT, 0)));
+            yRounded = yRounded.sub(1, yRounded.compare(VectorOperators.GT, yHalf)
+                    .and(yHalf.compare(VectorOperators.GE, 0)))
+                    .add(1, yRounded.compare(VectorOperators.LT, yHalf).and(yHalf.compare(VectorOperators.LT, 0)));
+            zRounded = zRounded.sub(1, zRounded.compare(VectorOperators.GT, zHalf)
+                    .and(zHalf.compare(VectorOperators.GE, 0)))
+                    .add(1, zRounded.compare(VectorOperators.LT, zHalf).and(zHalf.compare(VectorOperators.LT, 0)));
+            DoubleVector x0 = x.sub(xRounded);
+            DoubleVector y0 = y.sub(yRounded);
+            DoubleVector z0 = z.sub(zRounded);
+
+            // (int) (-1.0f - x0) | 1 is -1 where x0 >= 0 and 1 otherwise, as x0 lies within [-0.5, 0.5].
+            VectorMask<Double> xNegative = x0.compare(VectorOperators.GE, 0);
+            VectorMask<Double> yNegative = y0.compare(VectorOperators.GE, 0);
+            VectorMask<Double> zNegative = z0.compare(VectorOperators.GE, 0);
+
+            DoubleVector ax0 = x0.neg().blend(x0, xNegative);
+            DoubleVector ay0 = y0.neg().blend(y0, yNegative);
+            DoubleVector az0 = z0.neg().blend(z0, zNegative);
+
+            LongVector i = ((LongVector) xRounded.add(ROUND_MAGIC).viewAsIntegralLanes())
+                    .sub(ROUND_MAGIC_BITS).mul(PrimeX);
+            LongVector j = ((LongVector) yRounded.add(ROUND_MAGIC).viewAsIntegralLanes())
+                    .sub(ROUND_MAGIC_BITS).mul(PrimeY);
+            LongVector k = ((LongVector) zRounded.add(ROUND_MAGIC).viewAsIntegralLanes())
+                    .sub(ROUND_MAGIC_BITS).mul(PrimeZ);
+
+            DoubleVector value = DoubleVector.zero(DOUBLES);
+            DoubleVector a = DoubleVector.broadcast(DOUBLES, 0.6f).sub(x0.mul(x0)).sub(y0.mul(y0).add(z0.mul(z0)));
+
+            long octaveSeed = seed;
+            for (int l = 0; ; l++) {
+                final long seedA = (int) (octaveSeed & 0xFFFFFFFFL);
+                final long seedB = (int) (octaveSeed >> 32);
+
+                // Closest vertex of this lattice
+                LongVector hash = i.lanewise(VectorOperators.XOR, j).lanewise(VectorOperators.XOR, k);
+                hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                        .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+                hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(63 << 2)
+                        .intoArray(scratch.hashes, 0);
+                scratch.gradients3D();
+                final DoubleVector xg0 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+                final DoubleVector yg0 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+                final DoubleVector zg0 = DoubleVector.fromArray(DOUBLES, scratch.zGradients, 0);
+                final DoubleVector aa = a.mul(a);
+                value = value.add(aa.mul(aa).mul(x0.mul(xg0).add(y0.mul(yg0))
+                        .add(z0.mul(zg0))), a.compare(VectorOperators.GT, 0));
+
+                // Second closest vertex, along the axis with the largest offset
+                final VectorMask<Double> xAxis = ax0.compare(VectorOperators.GE, ay0)
+                        .and(ax0.compare(VectorOperators.GE, az0));
+                final VectorMask<Double> yAxis = xAxis.not().and(ay0.compare(VectorOperators.GT, ax0))
+                        .and(ay0.compare(VectorOperators.GE, az0));
+                final VectorMask<Double> zAxis = xAxis.or(yAxis).not();
+                final DoubleVector axis = az0.blend(ay0, yAxis).blend(ax0, xAxis);
+                final DoubleVector b = a.add(axis).add(axis);
+                final DoubleVector b1 = b.sub(1);
+
+                // i - xNSign * PrimeX and x0 + xNSign on the chosen axis
+                final DoubleVector xb = x0.blend(x0.add(DoubleVector.broadcast(DOUBLES, 1)
+                        .blend(-1, xNegative)), xAxis);
+                final DoubleVector yb = y0.blend(y0.add(DoubleVector.broadcast(DOUBLES, 1)
+                        .blend(-1, yNegative)), yAxis);
+                final DoubleVector zb = z0.blend(z0.add(DoubleVector.broadcast(DOUBLES, 1)
+                        .blend(-1, zNegative)), zAxis);
+                final LongVector ib = i.add(LongVector.broadcast(LONGS, -PrimeX)
+                        .blend(PrimeX, xNegative.cast(LONGS)).blend(0, xAxis.not().cast(LONGS)));
+                final LongVector jb = j.add(LongVector.broadcast(LONGS, -PrimeY)
+                        .blend(PrimeY, yNegative.cast(LONGS)).blend(0, yAxis.not().cast(LONGS)));
+                final LongVector kb = k.add(LongVector.broadcast(LONGS, -PrimeZ)
+                        .blend(PrimeZ, zNegative.cast(LONGS)).blend(0, zAxis.not().cast(LONGS)));
+                hash = ib.lanewise(VectorOperators.XOR, jb).lanewise(VectorOperators.XOR, kb);
+                hash = hash.lanewise(VectorOperators.XOR, seedA).mul(668908897L)
+                        .lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.XOR, seedB).mul(35311L));
+                hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(63 << 2)
+                        .intoArray(scratch.hashes, 0);
+                scratch.gradients3D();
+                final DoubleVector xg1 = DoubleVector.fromArray(DOUBLES, scratch.xGradients, 0);
+                final DoubleVector yg1 = DoubleVector.fromArray(DOUBLES, scratch.yGradients, 0);
+                final DoubleVector zg1 = DoubleVector.fromArray(DOUBLES, scratch.zGradients, 0);
+                final DoubleVector bb = b1.mul(b1);
+                value = value.add(bb.mul(bb).mul(xb.mul(xg1).add(yb.mul(yg1))
+                        .add(zb.mul(zg1))), b.compare(VectorOperators.GT, 1));
+
+                if (l == 1) break;
+
+                ax0 = DoubleVector.broadcast(DOUBLES, 0.5f).sub(ax0);
+                ay0 = DoubleVector.broadcast(DOUBLES, 0.5f).sub(ay0);
+                az0 = DoubleVector.broadcast(DOUBLES, 0.5f).sub(az0);
+
+                // xNSign * ax0
+                x0 = ax0.blend(ax0.neg(), xNegative);
+                y0 = ay0.blend(ay0.neg(), yNegative);
+                z0 = az0.blend(az0.neg(), zNegative);
+
+                a = a.add(DoubleVector.broadcast(DOUBLES, 0.75f).sub(ax0).sub(ay0.add(az0)));
+
+                // (xNSign >> 1) & PrimeX
+                i = i.add(PrimeX, xNegative.cast(LONGS));
+                j = j.add(PrimeY, yNegative.cast(LONGS));
+                k = k.add(PrimeZ, zNegative.cast(LONGS));
+
+                xNegative = xNegative.not();
+                yNegative = yNegative.not();
+                zNegative = zNegative.not();
+
+                octaveSeed = ~octaveSeed;
+            }
+
+            value.mul(32.69428253173828125f).intoArray(out, index);
+        }
+    }
+
+    /**
+     * Scratch space for the gradient lookups, gathers are done per lane as they are only as fast as the scalar loads.
+     * This isn't thread safe, so every call of a kernel uses its own instance.
+     */
+    private static final class Scratch {
+        private final long[] hashes = new long[LONGS.length()];
+        private final double[] xGradients = new double[DOUBLES.length()];
+        private final double[] yGradients = new double[DOUBLES.length()];
+        private final double[] zGradients = new double[DOUBLES.length()];
+
+        private void gradients2D() {
+            for (int lane = 0; lane < hashes.length; lane++) {
+                final int hash = (int) hashes[lane];
+                xGradients[lane] = Gradients2D[hash];
+                yGradients[lane] = Gradients2D[hash | 1];
+            }
+        }
+
+        private void gradients3D() {
+            for (int lane = 0; lane < hashes.length; lane++) {
+                final int hash = (int) hashes[lane];
+                xGradients[lane] = Gradients3D[hash];
+                yGradients[lane] = Gradients3D[hash | 1];
+                zGradients[lane] = Gradients3D[hash | 2];
+            }
+        }
+
+    }
+
+}
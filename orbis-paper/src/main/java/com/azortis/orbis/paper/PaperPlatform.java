@@ -137,7 +137,8 @@ public class PaperPlatform implements Platform, Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     private void onWorldUnload(@NotNull WorldUnloadEvent event) {
         org.bukkit.World world = event.getWorld();
-        worldMap.remove(world.getName());
+        PaperWorld paperWorld = worldMap.remove(world.getName());
+        if (paperWorld != null) paperWorld.close();
         worldAccessMap.remove(world.getName());
     }
 
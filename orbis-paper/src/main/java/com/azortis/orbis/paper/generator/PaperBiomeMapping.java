@@ -0,0 +1,90 @@
+/*
+ * A dynamic data-driven world generator plugin/library for Minecraft servers.
+ *     Copyright (C) 2023 Azortis
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.azortis.orbis.paper.generator;
+
+import com.azortis.orbis.generator.biome.Distributor;
+import org.apiguardian.api.API;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.block.Biome;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps the dense biome ids of a {@link Distributor} to Paper biomes. The mapping is built once per loaded
+ * distributor, so resolving the Paper biome of a position is a single array lookup.
+ *
+ * @author Jake Nijssen
+ * @since 0.3-Alpha
+ */
+@API(status = API.Status.INTERNAL, since = "0.3-Alpha")
+public final class PaperBiomeMapping {
+
+    private final Distributor distributor;
+    private final Biome[] biomes;
+    private final List<Biome> biomeList;
+
+    public PaperBiomeMapping(@NotNull Distributor distributor) throws IllegalArgumentException {
+        this.distributor = distributor;
+        this.biomes = new Biome[distributor.biomeCount()];
+        for (com.azortis.orbis.generator.biome.Biome biome : distributor.biomeList()) {
+            Biome paperBiome = Registry.BIOME.get(new NamespacedKey(biome.derivative().namespace(),
+                    biome.derivative().value()));
+            if (paperBiome == null) {
+                throw new IllegalArgumentException("Biome " + biome.name() + " has an unknown derivative "
+                        + biome.derivative().asString());
+            }
+            biomes[biome.id()] = paperBiome;
+        }
+        // Several biomes can share a derivative, Paper only needs each of its biomes once.
+        this.biomeList = Arrays.stream(biomes).distinct().toList();
+    }
+
+    /**
+     * Get the mapping for given distributor, reusing the current mapping if it was built for the same instance.
+     *
+     * @param current     The mapping currently in use, may be null.
+     * @param distributor The distributor that is currently loaded.
+     * @return A mapping for given distributor.
+     */
+    public static @NotNull PaperBiomeMapping of(PaperBiomeMapping current, @NotNull Distributor distributor) {
+        if (current != null && current.distributor == distributor) return current;
+        return new PaperBiomeMapping(distributor);
+    }
+
+    public @NotNull Distributor distributor() {
+        return distributor;
+    }
+
+    public @NotNull Biome getBiome(int id) {
+        return biomes[id];
+    }
+
+    public @NotNull Biome getBiome(int x, int y, int z) {
+        return biomes[distributor.getBiome(x, y, z).id()];
+    }
+
+    public @Unmodifiable @NotNull List<Biome> biomes() {
+        return biomeList;
+    }
+
+}
@@ -18,19 +18,17 @@
 
 package com.azortis.orbis.paper.generator;
 
-import net.kyori.adventure.key.Key;
 import org.bukkit.block.Biome;
 import org.bukkit.generator.BiomeProvider;
 import org.bukkit.generator.WorldInfo;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
 
 public final class PaperBiomeProvider extends BiomeProvider {
 
     private final PaperChunkGenerator chunkGenerator;
+    private volatile PaperBiomeMapping biomeMapping;
 
     public PaperBiomeProvider(PaperChunkGenerator chunkGenerator) {
         this.chunkGenerator = chunkGenerator;
@@ -38,28 +36,18 @@ public final class PaperBiomeProvider extends BiomeProvider {
 
     @Override
     public @NotNull Biome getBiome(@NotNull WorldInfo worldInfo, int x, int y, int z) {
-        return null;
+        return biomeMapping().getBiome(x, y, z);
     }
 
     @Override
     public @NotNull List<Biome> getBiomes(@NotNull WorldInfo worldInfo) {
-        return null;
+        return biomeMapping().biomes();
     }
 
-
-
-    /*@Override
-    public @NotNull Biome getBiome(@NotNull WorldInfo worldInfo, int x, int y, int z) {
-        if (chunkGenerator.requiresLoading()) chunkGenerator.load(worldInfo);
-        return Biome.valueOf(chunkGenerator.getWorld().getDimension().distributor()
-                .getBiome(x, y, z).derivative().value().toUpperCase(Locale.ROOT));
+    private @NotNull PaperBiomeMapping biomeMapping() {
+        PaperBiomeMapping mapping = PaperBiomeMapping.of(biomeMapping,
+                chunkGenerator.world().getDimension().distributor());
+        this.biomeMapping = mapping;
+        return mapping;
     }
-
-    @Override
-    public @NotNull List<Biome> getBiomes(@NotNull WorldInfo worldInfo) {
-        if (chunkGenerator.requiresLoading()) chunkGenerator.load(worldInfo);
-        return chunkGenerator.getWorld().getDimension().distributor().biomes()
-                .stream().map(com.azortis.orbis.generator.biome.Biome::derivative).map(Key::value)
-                .map(String::toUpperCase).map(Biome::valueOf).collect(Collectors.toList());
-    }*/
 }
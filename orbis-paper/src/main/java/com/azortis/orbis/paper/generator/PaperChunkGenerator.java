@@ -52,6 +52,10 @@ public final class PaperChunkGenerator extends ChunkGenerator {
         this.delegate = delegate;
     }
 
+    public @NotNull PaperWorld world() {
+        return world;
+    }
+
     @Override
     public @NotNull CompletableFuture<ChunkAccess> fillFromNoise(@NotNull Executor executor, @NotNull Blender blender,
                                                                  @NotNull RandomState noiseConfig,
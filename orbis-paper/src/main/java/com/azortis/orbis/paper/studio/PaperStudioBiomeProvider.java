@@ -19,7 +19,7 @@
 package com.azortis.orbis.paper.studio;
 
 import com.azortis.orbis.pack.studio.Project;
-import net.kyori.adventure.key.Key;
+import com.azortis.orbis.paper.generator.PaperBiomeMapping;
 import org.bukkit.block.Biome;
 import org.bukkit.generator.BiomeProvider;
 import org.bukkit.generator.WorldInfo;
@@ -27,13 +27,12 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
 
 public final class PaperStudioBiomeProvider extends BiomeProvider {
 
     private final PaperStudioChunkGenerator chunkGenerator;
     private final Project project;
+    private volatile PaperBiomeMapping biomeMapping;
 
     public PaperStudioBiomeProvider(PaperStudioChunkGenerator chunkGenerator, Project project) {
         this.chunkGenerator = chunkGenerator;
@@ -44,17 +43,22 @@ public final class PaperStudioBiomeProvider extends BiomeProvider {
     public @NotNull Biome getBiome(@NotNull WorldInfo worldInfo, int x, int y, int z) {
         if (chunkGenerator.requiresLoading()) chunkGenerator.load(worldInfo);
         if (!project.studioWorld().shouldRender()) return Biome.PLAINS;
-        return Biome.valueOf(project.studioWorld().getDimension().distributor()
-                .getBiome(x, y, z).derivative().value().toUpperCase(Locale.ROOT));
+        return biomeMapping().getBiome(x, y, z);
     }
 
     @Override
     public @NotNull List<Biome> getBiomes(@NotNull WorldInfo worldInfo) {
         if (chunkGenerator.requiresLoading()) chunkGenerator.load(worldInfo);
         if (!project.studioWorld().shouldRender()) return Collections.singletonList(Biome.PLAINS);
-        return project.studioWorld().getDimension().distributor().biomes()
-                .stream().map(com.azortis.orbis.generator.biome.Biome::derivative).map(Key::value)
-                .map(String::toUpperCase).map(Biome::valueOf).collect(Collectors.toList());
+        return biomeMapping().biomes();
+    }
+
+    // The distributor instance changes on every hot reload, so rebuild the mapping when it does.
+    private @NotNull PaperBiomeMapping biomeMapping() {
+        PaperBiomeMapping mapping = PaperBiomeMapping.of(biomeMapping,
+                project.studioWorld().getDimension().distributor());
+        this.biomeMapping = mapping;
+        return mapping;
     }
 
 }
@@ -180,6 +180,11 @@ public final class PaperStudioWorld extends StudioWorld implements Listener {
         return worldAccess.maxHeight();
     }
 
+    @Override
+    public int viewDistance() {
+        return worldAccess.viewDistance();
+    }
+
     @Override
     public @NotNull Set<Player> getPlayers() {
         return worldAccess.getPlayers();
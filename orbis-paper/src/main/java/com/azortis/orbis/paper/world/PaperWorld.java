@@ -82,6 +82,11 @@ public final class PaperWorld extends World {
         return worldAccess.maxHeight();
     }
 
+    @Override
+    public int viewDistance() {
+        return worldAccess.viewDistance();
+    }
+
     /**
      * {@inheritDoc}
      */
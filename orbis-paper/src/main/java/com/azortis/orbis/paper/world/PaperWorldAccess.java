@@ -66,6 +66,11 @@ public final class PaperWorldAccess implements WorldAccess, Listener {
         return handle.getMaxHeight();
     }
 
+    @Override
+    public int viewDistance() {
+        return handle.getViewDistance();
+    }
+
     @Override
     public @NotNull Set<Player> getPlayers() {
         Set<Player> players = new HashSet<>();
@@ -24,3 +24,4 @@ include("orbis-core")
 include("orbis-paper")
 include("orbis-generators")
 include("orbis-cli")
+include("orbis-benchmarks")